@@ -0,0 +1,194 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: AssetCache keeps decoded map images (backgrounds and obstacle
+* sprites) so switching maps does not decode PNGs again. Images are evicted
+* least recently used first once their decoded size passes a memory budget
+* (-Dduel.assetCacheMB, 64 MB by default). An image can be prefetched on a
+* background thread ahead of the switch; asking for an image that is still
+* loading waits for that load instead of decoding it a second time.
+* Images are kept as Sprites prepares them: in the screen's pixel layout and,
+* when a size is asked for, already resized to it. Only that copy is kept, so
+* a 1920x1080 background drawn at 1000x600 costs the smaller size in memory.
+*/
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import javax.imageio.ImageIO;
+
+public class AssetCache {
+    public static final long DEFAULT_BUDGET_BYTES = 64L << 20;
+    private static final AssetCache shared = new AssetCache(
+        Long.getLong("duel.assetCacheMB", DEFAULT_BUDGET_BYTES >> 20) << 20);
+    private final long budgetBytes;
+    // Decoded images in least to most recently used order
+    private final LinkedHashMap<String, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    // Loads in progress, on the loader thread or on a caller's
+    private final HashMap<String, FutureTask<BufferedImage>> loading = new HashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "Asset loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    // The cache shared by the whole game
+    public static AssetCache getShared() {
+        return shared;
+    }
+
+    public AssetCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    // Returns an image at its own size, decoding it on this thread unless it is cached or already loading
+    public BufferedImage get(String name) throws IOException {
+        return get(name, 0, 0);
+    }
+
+    // Returns an image resized to width x height (0 x 0 for its own size)
+    public BufferedImage get(String name, int width, int height) throws IOException {
+        String key = key(name, width, height);
+        FutureTask<BufferedImage> task;
+        boolean decodeHere = false;
+        synchronized (this) {
+            BufferedImage image = images.get(key);
+            if (image != null) {
+                hits++;
+                return image;
+            }
+            task = loading.get(key);
+            if (task == null) {
+                task = newLoad(key, name, width, height);
+                loading.put(key, task);
+                decodeHere = true;
+            }
+            misses++;
+        }
+        if (decodeHere) {
+            task.run();
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while loading " + name);
+        }
+    }
+
+    // Starts decoding an image on the loader thread if it is neither cached nor loading
+    public void prefetch(String name) {
+        prefetch(name, 0, 0);
+    }
+
+    // Starts decoding and resizing an image on the loader thread if it is neither cached nor loading
+    public synchronized void prefetch(String name, int width, int height) {
+        String key = key(name, width, height);
+        if (images.containsKey(key) || loading.containsKey(key)) {
+            return;
+        }
+        FutureTask<BufferedImage> task = newLoad(key, name, width, height);
+        loading.put(key, task);
+        loader.execute(task);
+    }
+
+    // Cache key of an image at a size
+    private static String key(String name, int width, int height) {
+        return width == 0 ? name : name + "@" + width + "x" + height;
+    }
+
+    // A load that decodes and prepares the image and adds it to the cache
+    private FutureTask<BufferedImage> newLoad(String key, String name, int width, int height) {
+        return new FutureTask<>(() -> {
+            try {
+                BufferedImage decoded = decode(name);
+                BufferedImage image = width == 0 ? Sprites.prepare(decoded)
+                    : Sprites.prepare(decoded, width, height);
+                synchronized (this) {
+                    add(key, image);
+                }
+                return image;
+            } finally {
+                synchronized (this) {
+                    loading.remove(key);
+                }
+            }
+        });
+    }
+
+    private static BufferedImage decode(String name) throws IOException {
+        InputStream in = AssetCache.class.getResourceAsStream(name);
+        if (in == null) {
+            throw new IOException("missing asset " + name);
+        }
+        try (InputStream stream = in) {
+            BufferedImage image = ImageIO.read(stream);
+            if (image == null) {
+                throw new IOException("unreadable asset " + name);
+            }
+            return image;
+        }
+    }
+
+    // Adds an image and evicts the least recently used ones until the cache fits its budget again
+    private void add(String name, BufferedImage image) {
+        BufferedImage replaced = images.put(name, image);
+        if (replaced != null) {
+            bytes -= sizeOf(replaced);
+        }
+        bytes += sizeOf(image);
+        Iterator<Map.Entry<String, BufferedImage>> oldest = images.entrySet().iterator();
+        while (bytes > budgetBytes && images.size() > 1) {
+            Map.Entry<String, BufferedImage> entry = oldest.next();
+            if (entry.getKey().equals(name)) {
+                continue; // Never evict the image just added
+            }
+            bytes -= sizeOf(entry.getValue());
+            oldest.remove();
+            evictions++;
+        }
+    }
+
+    // Bytes held by an image's pixels
+    private static long sizeOf(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+    }
+
+    // True if an image is decoded and cached at that size, 0 x 0 for its own (does not count as a use)
+    public synchronized boolean isCached(String name, int width, int height) {
+        return images.containsKey(key(name, width, height));
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    // Requests that had to decode, or wait for a load still in progress
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
@@ -6,23 +6,36 @@
 */
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.imageio.ImageIO;
 
 public class Bullet extends Rectangle {
+    // Position and velocity in 16.16 fixed point (see FixedPoint); x and y are the whole pixels of the position
+    private int fixedX;
+    private int fixedY;
     private int xVelocity;
     private int yVelocity;
     private final int BASE_SPEED = 10;
-    private final double MIN_HORIZONTAL_RATIO = 0.2; // Minimum horizontal component of velocity, stops bullets getting stuck going up and down
+    private final int MIN_HORIZONTAL_RATIO = FixedPoint.ONE / 5; // Minimum horizontal component of velocity (0.2), stops bullets getting stuck going up and down
+    private final int MAX_VERTICAL_RATIO = 64212; // sqrt(1 - 0.2 * 0.2), the vertical component that goes with it
     private BufferedImage bulletImage;
+    // Decoded and resized once per bullet size, and shared by every bullet of that size
+    private static final Map<Long, BufferedImage> sharedImages = new ConcurrentHashMap<>();
     private boolean isFromLeftPlayer;
     private double rotation;
     private int previousX;
     private int previousY;
     private final int TOP_MARGIN; // Top margin constant only
-    private ArrayList<Bullet> splitBullets; // List of split bullets, used when Bomb powerup is activated
+    private ArrayList<Bullet> splitBullets; // Split bullets from a Bomb powerup, waiting to be added to the match
+    private int id = -1; // Projectile id assigned by the match
+    private int parentId = -1; // Id of the bullet this one split from, -1 for a fired bullet
     private double scale = 1.0; // Scaler for bullet size, used by Big Bullet powerup
     private boolean hasFreezeEffect = false; // Used for Freeze powerup
     private Player playerToUnfreeze; // Track player to unfreeze
@@ -35,7 +48,9 @@ public class Bullet extends Rectangle {
         loadBulletImage();
 
         // Set initial velocities
-        xVelocity = isFromLeftPlayer ? BASE_SPEED : -BASE_SPEED;
+        fixedX = FixedPoint.fromInt(x);
+        fixedY = FixedPoint.fromInt(y);
+        xVelocity = FixedPoint.fromInt(isFromLeftPlayer ? BASE_SPEED : -BASE_SPEED);
         yVelocity = 0;
         
         // Set initial rotation based on player
@@ -51,27 +66,22 @@ public class Bullet extends Rectangle {
         }
     }
 
-    // Loads and resizes the bullet image from resources
+    // Loads the bullet image from resources, prepared at this bullet's size
     private void loadBulletImage() {
+        long size = ((long) width << 32) | height;
+        bulletImage = sharedImages.get(size);
+        if (bulletImage != null) {
+            return;
+        }
         try {
-            bulletImage = ImageIO.read(getClass().getResourceAsStream("bullet.png"));
-            bulletImage = resizeImage(bulletImage, width, height);
+            bulletImage = Sprites.prepare(ImageIO.read(getClass().getResourceAsStream("bullet.png")), width, height);
+            sharedImages.put(size, bulletImage);
         } catch (IOException e) {
             System.err.println("Error loading bullet image: " + e.getMessage());
             bulletImage = null;
         }
     }
 
-    // Resizes an image to specified dimensions while maintaining aspect ratio
-    private BufferedImage resizeImage(BufferedImage img, int newW, int newH) {
-        Image tmp = img.getScaledInstance(newW, newH, Image.SCALE_SMOOTH);
-        BufferedImage dimg = new BufferedImage(newW, newH, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = dimg.createGraphics();
-        g2d.drawImage(tmp, 0, 0, null);
-        g2d.dispose();
-        return dimg;
-    }
-
     // Updates bullet position and handles bouncing off screen boundaries
     public void move() {
     // Store current position before moving
@@ -79,113 +89,103 @@ public class Bullet extends Rectangle {
     previousY = y;
     
     // Update position
-    x += xVelocity;
-    y += yVelocity;
+    fixedX += xVelocity;
+    fixedY += yVelocity;
 
     // Bounce off top margin and bottom screen edge
-    if (y < TOP_MARGIN || y > GamePanel.GAME_HEIGHT - height) {
-        // When bouncing, maintain horizontal velocity while reversing vertical
-        setDirection(
-            (double)xVelocity / BASE_SPEED,
-            -(double)yVelocity / BASE_SPEED
-        );
+    int top = FixedPoint.fromInt(TOP_MARGIN);
+    int bottom = FixedPoint.fromInt(GamePanel.GAME_HEIGHT - height);
+    if (fixedY < top || fixedY > bottom) {
+        // When bouncing, maintain horizontal velocity while reversing vertical (the speed stays exact)
+        yVelocity = -yVelocity;
+        updateRotation();
         
         // Adjust position to prevent sticking
-        if (y < TOP_MARGIN) y = TOP_MARGIN;
-        if (y > GamePanel.GAME_HEIGHT - height) y = GamePanel.GAME_HEIGHT - height;
-    }
-    
-    // Move split bullets independently
-    if (splitBullets != null) {
-        for (Bullet splitBullet : splitBullets) {
-            splitBullet.move(); // Each split bullet handles its own movement
-        }
+        if (fixedY < top) fixedY = top;
+        if (fixedY > bottom) fixedY = bottom;
     }
+    x = FixedPoint.toInt(fixedX);
+    y = FixedPoint.toInt(fixedY);
 }
 
-    // Sets the bullet's direction while ensuring minimum horizontal movement
-    public void setDirection(double dx, double dy) {
+    // Sets the bullet's direction from any vector (of any length) while ensuring minimum horizontal movement
+    public void setDirection(long dx, long dy) {
+        int[] unit = new int[2];
+        if (!FixedPoint.normalize(dx, dy, unit)) {
+            unit[0] = 0;
+            unit[1] = 0;
+        }
+        int ux = unit[0];
+        int uy = unit[1];
+
         // Ensure minimum horizontal velocity component
-        if (Math.abs(dx) < MIN_HORIZONTAL_RATIO) {
+        if (Math.abs(ux) < MIN_HORIZONTAL_RATIO) {
             // Maintain direction but adjust magnitude
-            double currentDirection = Math.signum(dx);
+            int currentDirection = Integer.signum(ux);
             if (currentDirection == 0) {
                 // If dx is 0, use the initial direction based on player
                 currentDirection = isFromLeftPlayer ? 1 : -1;
             }
-            dx = currentDirection * MIN_HORIZONTAL_RATIO;
+            ux = currentDirection * MIN_HORIZONTAL_RATIO;
             
             // Adjust vertical component to maintain proper speed
-            double maxVerticalComponent = Math.sqrt(1 - MIN_HORIZONTAL_RATIO * MIN_HORIZONTAL_RATIO);
-            dy = Math.signum(dy) * Math.min(Math.abs(dy), maxVerticalComponent);
+            uy = Integer.signum(uy) * Math.min(Math.abs(uy), MAX_VERTICAL_RATIO);
+            FixedPoint.normalize(ux, uy, unit);
+            ux = unit[0];
+            uy = unit[1];
         }
 
-        // Normalize the direction vector
-        double magnitude = Math.sqrt(dx * dx + dy * dy);
-        dx = dx / magnitude;
-        dy = dy / magnitude;
-
-        // Calculate new velocity based on normalized direction and base speed
-        xVelocity = (int)(dx * BASE_SPEED);
-        yVelocity = (int)(dy * BASE_SPEED);
+        // Calculate new velocity based on normalized direction and base speed, keeping the fraction
+        xVelocity = ux * BASE_SPEED;
+        yVelocity = uy * BASE_SPEED;
         
         // Update rotation to match new direction
         updateRotation();
     }
 
-    // Handles bullet collision and bouncing off obstacles
-    public Boolean bulletBounce(Point obstacleCenter, Point obstaclePosition, Obstacle obstacle, Bullet bullet){
-        Point bulletCenter = new Point(
-                x + width / 2,
-                y + height / 2
-            );
-            Point bulletPrevCenter = new Point(
-                getPreviousX() + width / 2,
-                getPreviousY() + height / 2
-            );
-
-            if (obstacle.lineIntersectsCircle(obstacleCenter, bulletPrevCenter, bulletCenter)) {
-                // Calculate reflection vector
-                double dx = bulletCenter.x - obstacleCenter.x;
-                double dy = bulletCenter.y - obstacleCenter.y;
-                double length = Math.sqrt(dx * dx + dy * dy);
-                
-                if (length > 0) {
-                    // Normalize the vector
-                    dx /= length;
-                    dy /= length;
-
-                    if(dx <= 0 && dx >= -0.1) dx = -0.1;
-                    else if (dx > 0 && dx <= 0.1) dx = 0.1;
-                    
-                    // Set new bullet direction based on reflection
-                    bullet.setDirection(dx, dy);
-                }
-                
-                obstacle.breakObstacle(obstaclePosition);
-                return true;
-            }
-            return false;
+    // Sends the bullet away from an obstacle's center, as seen from the bullet's center
+    public void reflect(Point bulletCenter, Point obstacleCenter) {
+        // Calculate reflection vector, normalized with integer math
+        int[] unit = new int[2];
+        if (FixedPoint.normalize(bulletCenter.x - obstacleCenter.x, bulletCenter.y - obstacleCenter.y, unit)) {
+            int dx = unit[0];
+            int dy = unit[1];
+            int tenth = FixedPoint.ONE / 10;
+
+            if(dx <= 0 && dx >= -tenth) dx = -tenth;
+            else if (dx > 0 && dx <= tenth) dx = tenth;
+            
+            // Set new bullet direction based on reflection
+            setDirection(dx, dy);
+        }
     }
 
     // Updates bullet rotation based on current velocity
     private void updateRotation() {
-        // Calculate rotation based on velocity vector
-        rotation = Math.atan2(yVelocity, xVelocity);
+        // Calculate rotation based on velocity vector (StrictMath, since it is saved with the match)
+        rotation = StrictMath.atan2(yVelocity, xVelocity);
     }
 
-    // Create split bullets for Bomb powerup
-    public void createSplitBullets(double angle1, double angle2) {
-    splitBullets = new ArrayList<>();
+    // Create split bullets for Bomb powerup, 30 degrees either side of this one (collected by the match with takeSplitBullets)
+    public void createSplitBullets() {
+    if (splitBullets == null) {
+        splitBullets = new ArrayList<>();
+    }
+    long c = FixedPoint.COS_30;
+    long s = FixedPoint.SIN_30;
     
-    // Create new bullets with same properties as parent
+    // Create new bullets with same properties as parent, turned up and down by rotating the velocity
     Bullet bullet1 = new Bullet(x, y, width, height, isFromLeftPlayer);
     bullet1.bulletImage = this.bulletImage; // Share the same bullet image
-    bullet1.setDirection(Math.cos(angle1), Math.sin(angle1));
+    bullet1.fixedX = fixedX;
+    bullet1.fixedY = fixedY;
+    bullet1.setDirection(xVelocity * c + yVelocity * s, yVelocity * c - xVelocity * s);
     
     Bullet bullet2 = new Bullet(x, y, width, height, isFromLeftPlayer);
     bullet2.bulletImage = this.bulletImage; // Share the same bullet image
-    bullet2.setDirection(Math.cos(angle2), Math.sin(angle2));
+    bullet2.fixedX = fixedX;
+    bullet2.fixedY = fixedY;
+    bullet2.setDirection(xVelocity * c - yVelocity * s, yVelocity * c + xVelocity * s);
     
     splitBullets.add(bullet1);
     splitBullets.add(bullet2);
@@ -197,7 +197,7 @@ public class Bullet extends Rectangle {
         width *= scaleFactor;
         height *= scaleFactor;
         if (bulletImage != null) {
-            bulletImage = resizeImage(bulletImage, width, height);
+            loadBulletImage(); // Shared per size, so a Big Bullet does not rescale the sprite each time
         }
     }
 
@@ -211,13 +211,23 @@ public class Bullet extends Rectangle {
         return previousY;
     }
     
-    // Returns the current X velocity of the bullet
+    // Returns the current X velocity of the bullet, to the nearest pixel per tick
     public int getxVelocity() {
-        return xVelocity;
+        return FixedPoint.round(xVelocity);
     }
     
-    // Returns the current Y velocity of the bullet
+    // Returns the current Y velocity of the bullet, to the nearest pixel per tick
     public int getyVelocity() {
+        return FixedPoint.round(yVelocity);
+    }
+
+    // Returns the exact X velocity in fixed point
+    public int getFixedXVelocity() {
+        return xVelocity;
+    }
+
+    // Returns the exact Y velocity in fixed point
+    public int getFixedYVelocity() {
         return yVelocity;
     }
 
@@ -231,50 +241,72 @@ public class Bullet extends Rectangle {
         return this.intersects(player);
     }
 
-    // Returns the list of split bullets created by Bomb powerup
-    public ArrayList<Bullet> getSplitBullets() {
-        return splitBullets;
+    // Hands over the split bullets created since the last call (empty if none)
+    public void takeSplitBullets(ArrayList<Bullet> into) {
+        if (splitBullets != null) {
+            into.addAll(splitBullets);
+            splitBullets.clear();
+        }
     }
-    
-    // Checks if bullet has any active split bullets
-    public boolean hasSplitBullets() {
-        return splitBullets != null && !splitBullets.isEmpty();
+
+    // Sets the ids that place this bullet in the match's projectile list
+    public void setIds(int id, int parentId) {
+        this.id = id;
+        this.parentId = parentId;
     }
-    
-    // Checks collision for both main bullet and any split bullets
-    public boolean collidesWithAny(Player player) {
-        // Check main bullet collision
-        if (this.intersects(player)) {
-            return true;
-        }
-        
-        // Check split bullets collisions if they exist
-        if (hasSplitBullets()) {
-            for (Bullet splitBullet : splitBullets) {
-                if (splitBullet.intersects(player)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+
+    // Returns the projectile id assigned by the match
+    public int getId() {
+        return id;
     }
-    
-    // Checks if main bullet or any split bullets are out of bounds
-    public boolean isAnyBulletOutOfBounds(int screenWidth) {
-        // Check main bullet
-        if (isOutOfBounds(screenWidth)) {
-            return true;
-        }
-        
-        // Check split bullets if they exist
-        if (hasSplitBullets()) {
-            for (Bullet splitBullet : splitBullets) {
-                if (splitBullet.isOutOfBounds(screenWidth)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+
+    // Returns the id of the bullet this one split from, or -1 for a fired bullet
+    public int getParentId() {
+        return parentId;
+    }
+
+    // Writes everything about this bullet; the frozen player is saved as 0 (none), 1 (left) or 2 (right)
+    public void writeState(DataOutput out, Player leftPlayer) throws IOException {
+        out.writeInt(id);
+        out.writeInt(parentId);
+        out.writeBoolean(isFromLeftPlayer);
+        out.writeInt(fixedX);
+        out.writeInt(fixedY);
+        out.writeShort(width);
+        out.writeShort(height);
+        out.writeShort(previousX);
+        out.writeShort(previousY);
+        out.writeInt(xVelocity);
+        out.writeInt(yVelocity);
+        out.writeDouble(scale);
+        out.writeBoolean(hasFreezeEffect);
+        out.writeByte(playerToUnfreeze == null ? 0 : playerToUnfreeze == leftPlayer ? 1 : 2);
+    }
+
+    // Creates a bullet from state written by writeState
+    public static Bullet readState(DataInput in, Player leftPlayer, Player rightPlayer) throws IOException {
+        int id = in.readInt();
+        int parentId = in.readInt();
+        boolean fromLeft = in.readBoolean();
+        int fixedX = in.readInt();
+        int fixedY = in.readInt();
+        int width = in.readShort();
+        int height = in.readShort();
+        Bullet bullet = new Bullet(FixedPoint.toInt(fixedX), FixedPoint.toInt(fixedY), width, height, fromLeft);
+        bullet.fixedX = fixedX;
+        bullet.fixedY = fixedY;
+        bullet.setIds(id, parentId);
+        bullet.previousX = in.readShort();
+        bullet.previousY = in.readShort();
+        bullet.xVelocity = in.readInt();
+        bullet.yVelocity = in.readInt();
+        bullet.updateRotation();
+        bullet.scale = in.readDouble();
+        // Restored without freezing the player again; the player's own state already says whether it is frozen
+        bullet.hasFreezeEffect = in.readBoolean();
+        int frozen = in.readByte();
+        bullet.playerToUnfreeze = frozen == 1 ? leftPlayer : frozen == 2 ? rightPlayer : null;
+        return bullet;
     }
 
     // Returns the collision bounds of the bullet
@@ -306,25 +338,34 @@ public class Bullet extends Rectangle {
         return playerToUnfreeze;
     }
 
-    // Renders the bullet and any split bullets to the screen
-    public void draw(Graphics g) {
-        if (bulletImage != null) {
-            Graphics2D g2d = (Graphics2D) g.create();
+    // Returns the current rotation of the bullet sprite in radians
+    public double getRotation() {
+        return rotation;
+    }
+
+    // Returns the (possibly resized) bullet sprite
+    public BufferedImage getImage() {
+        return bulletImage;
+    }
+
+    // Draws a bullet sprite at a given position and rotation (used when drawing from a FrameState)
+    public static void draw(Graphics g, BufferedImage image, int x, int y, int width, int height, double rotation) {
+        if (image != null) {
+            Graphics2D g2d = (Graphics2D) g;
+            AffineTransform saved = g2d.getTransform();
             g2d.translate(x + width/2, y + height/2);
             g2d.rotate(rotation);
             g2d.translate(-width/2, -height/2);
-            g2d.drawImage(bulletImage, 0, 0, width, height, null);
-            g2d.dispose();
+            g2d.drawImage(image, 0, 0, width, height, null);
+            g2d.setTransform(saved);
         } else {
             g.setColor(Color.WHITE);
             g.fillRect(x, y, width, height);
         }
-        
-        // Draw split bullets if they exist
-        if (splitBullets != null) {
-            for (Bullet bullet : splitBullets) {
-                bullet.draw(g);
-            }
-        }
+    }
+
+    // Renders the bullet to the screen
+    public void draw(Graphics g) {
+        draw(g, bulletImage, x, y, width, height, rotation);
     }
 }
\ No newline at end of file
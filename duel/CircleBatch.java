@@ -0,0 +1,114 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: CircleBatch packs the collision circles of every obstacle or
+* every powerup into flat arrays, so a bullet's path this tick can be tested
+* against all of them in one loop with no Points, list copies or center
+* lookups. Slot i belongs to the i-th position in the owner's list; a circle
+* that cannot be hit right now (an invincible spawn) keeps its slot but is
+* marked inactive, so a hit index is also an index into that list. The test
+* is the same exact integer one as FixedPoint.segmentIntersectsCircle, with
+* the parts that depend only on the bullet worked out once per call and a
+* bounds check in front that throws out distant circles with four integer
+* compares, so the batch gives the same answers and matches replay bit for bit.
+* The owner repacks the batch whenever its circles change (see
+* Obstacle.packCircles and Powerup.packCircles).
+*/
+
+import java.util.Arrays;
+
+public class CircleBatch {
+    private static final long INACTIVE = -1; // Radius squared of a circle that cannot be hit
+    private int[] centerX = new int[8];
+    private int[] centerY = new int[8];
+    private int[] radius = new int[8];
+    private long[] radiusSquared = new long[8];
+    private int count = 0;
+
+    // Removes every circle (the arrays are kept)
+    public void clear() {
+        count = 0;
+    }
+
+    // Adds a circle in the next slot
+    public void add(int x, int y, int radius) {
+        if (count == centerX.length) {
+            centerX = Arrays.copyOf(centerX, count * 2);
+            centerY = Arrays.copyOf(centerY, count * 2);
+            this.radius = Arrays.copyOf(this.radius, count * 2);
+            radiusSquared = Arrays.copyOf(radiusSquared, count * 2);
+        }
+        centerX[count] = x;
+        centerY[count] = y;
+        this.radius[count] = radius;
+        radiusSquared[count] = (long) radius * radius;
+        count++;
+    }
+
+    // Adds a slot that is never hit, keeping later slots in line with the owner's list
+    public void addInactive() {
+        add(0, 0, 0);
+        radiusSquared[count - 1] = INACTIVE;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Index of the first circle the segment from (startX, startY) to (endX, endY) passes within, or -1
+    public int firstHit(int startX, int startY, int endX, int endY) {
+        long dx = endX - startX;
+        long dy = endY - startY;
+        long lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return -1; // A bullet that did not move cannot cross anything
+        }
+        int minX = Math.min(startX, endX);
+        int maxX = Math.max(startX, endX);
+        int minY = Math.min(startY, endY);
+        int maxY = Math.max(startY, endY);
+        for (int i = 0; i < count; i++) {
+            // A circle outside the segment's bounds grown by its radius cannot touch it; most are rejected here
+            int r = radius[i];
+            int x = centerX[i];
+            int y = centerY[i];
+            if (x + r < minX || x - r > maxX || y + r < minY || y - r > maxY) {
+                continue;
+            }
+            long r2 = radiusSquared[i];
+            if (r2 == INACTIVE) {
+                continue;
+            }
+            long cx = x - startX;
+            long cy = y - startY;
+            long along = cx * dx + cy * dy;
+            long c2 = cx * cx + cy * cy;
+            boolean hit;
+            if (along <= 0) {
+                hit = c2 <= r2; // Closest to the start
+            } else if (along >= lengthSquared) {
+                long ex = cx - dx;
+                long ey = cy - dy;
+                hit = ex * ex + ey * ey <= r2; // Closest to the end
+            } else {
+                // Squared distance from the line is |c|^2 - along^2 / |d|^2, compared without dividing
+                hit = (c2 - r2) * lengthSquared <= along * along;
+            }
+            if (hit) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Same answer as firstHit(), one FixedPoint.segmentIntersectsCircle call per circle; kept as the reference
+    public int firstHitScalar(int startX, int startY, int endX, int endY) {
+        for (int i = 0; i < count; i++) {
+            if (radiusSquared[i] != INACTIVE && FixedPoint.segmentIntersectsCircle(centerX[i], centerY[i],
+                    radius[i], startX, startY, endX, endY)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: CollisionBenchmark times the test of bullet paths against
+* collision circles three ways, for a normal arena (8 circles) and for dense
+* ones: the per-circle lookup the match used before CircleBatch (a copy of the
+* position list, a center Point per circle, a search for the position with
+* that center and one FixedPoint.segmentIntersectsCircle call),
+* CircleBatch.firstHitScalar (the same test over the packed arrays) and
+* CircleBatch.firstHit (the batch loop). Every path is checked against the
+* others first, so a kernel that disagrees fails before it is timed. Bullet
+* paths are one tick long, like real ones, so most tests miss every circle.
+* Usage: java CollisionBenchmark [paths per pass] [passes]
+*/
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Random;
+
+public class CollisionBenchmark {
+    private static final int[] CIRCLE_COUNTS = {8, 64, 512};
+    private static final int RADIUS = 22; // About an obstacle's collision radius
+    private static final int MAX_STEP = 20; // A Big Bullet moves up to this far in a tick
+    private static volatile int sink;
+
+    public static void main(String[] args) {
+        int paths = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        Random random = new Random(42);
+
+        for (int circles : CIRCLE_COUNTS) {
+            ArrayList<Point> positions = new ArrayList<>();
+            CircleBatch batch = new CircleBatch();
+            for (int i = 0; i < circles; i++) {
+                Point position = new Point(random.nextInt(GamePanel.GAME_WIDTH), random.nextInt(GamePanel.GAME_HEIGHT));
+                positions.add(position);
+                batch.add(position.x + RADIUS, position.y + RADIUS, RADIUS);
+            }
+            int[] segments = new int[paths * 4];
+            for (int p = 0; p < paths; p++) {
+                int x = random.nextInt(GamePanel.GAME_WIDTH);
+                int y = random.nextInt(GamePanel.GAME_HEIGHT);
+                segments[p * 4] = x;
+                segments[p * 4 + 1] = y;
+                segments[p * 4 + 2] = x + random.nextInt(MAX_STEP * 2 + 1) - MAX_STEP;
+                segments[p * 4 + 3] = y + random.nextInt(MAX_STEP * 2 + 1) - MAX_STEP;
+            }
+
+            int hits = 0;
+            for (int p = 0; p < paths; p++) {
+                int expected = perCircle(positions, segments, p);
+                if (batch.firstHitScalar(segments[p * 4], segments[p * 4 + 1], segments[p * 4 + 2],
+                        segments[p * 4 + 3]) != expected
+                        || batch.firstHit(segments[p * 4], segments[p * 4 + 1], segments[p * 4 + 2],
+                        segments[p * 4 + 3]) != expected) {
+                    throw new IllegalStateException("Kernels disagree on path " + p + " with " + circles + " circles");
+                }
+                if (expected >= 0) {
+                    hits++;
+                }
+            }
+
+            // Fewer passes for the slow path on dense arenas, whose lookup is quadratic
+            int perCirclePasses = Math.max(1, passes * 8 / circles);
+            double perCircleNanos = time(perCirclePasses, paths, () -> {
+                int found = 0;
+                for (int p = 0; p < paths; p++) {
+                    found += perCircle(positions, segments, p);
+                }
+                sink = found;
+            });
+            double scalarNanos = time(passes, paths, () -> {
+                int found = 0;
+                for (int p = 0; p < paths; p++) {
+                    found += batch.firstHitScalar(segments[p * 4], segments[p * 4 + 1], segments[p * 4 + 2],
+                        segments[p * 4 + 3]);
+                }
+                sink = found;
+            });
+            double batchNanos = time(passes, paths, () -> {
+                int found = 0;
+                for (int p = 0; p < paths; p++) {
+                    found += batch.firstHit(segments[p * 4], segments[p * 4 + 1], segments[p * 4 + 2],
+                        segments[p * 4 + 3]);
+                }
+                sink = found;
+            });
+            System.out.printf("%d circles, %.1f%% of paths hit: per-circle lookup %.1f ns, packed scalar %.1f ns, "
+                + "batch %.1f ns a path (%.1fx)%n", circles, 100.0 * hits / paths, perCircleNanos, scalarNanos,
+                batchNanos, perCircleNanos / batchNanos);
+        }
+    }
+
+    // The match's old test: a list copy, then per position a center Point, a search for that center and the test
+    private static int perCircle(ArrayList<Point> positions, int[] segments, int p) {
+        Point start = new Point(segments[p * 4], segments[p * 4 + 1]);
+        Point end = new Point(segments[p * 4 + 2], segments[p * 4 + 3]);
+        ArrayList<Point> copy = new ArrayList<>(positions);
+        for (int i = 0; i < copy.size(); i++) {
+            Point center = new Point(copy.get(i).x + RADIUS, copy.get(i).y + RADIUS);
+            Point found = null;
+            for (Point candidate : positions) {
+                if (new Point(candidate.x + RADIUS, candidate.y + RADIUS).equals(center)) {
+                    found = candidate;
+                    break;
+                }
+            }
+            if (found != null && FixedPoint.segmentIntersectsCircle(center.x, center.y, RADIUS,
+                    start.x, start.y, end.x, end.y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Average nanoseconds a path, after one untimed pass
+    private static double time(int passes, int paths, Runnable pass) {
+        pass.run();
+        long started = System.nanoTime();
+        for (int i = 0; i < passes; i++) {
+            pass.run();
+        }
+        return (System.nanoTime() - started) / (double) passes / paths;
+    }
+}
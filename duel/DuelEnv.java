@@ -0,0 +1,318 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: DuelEnv steps a batch of independent headless matches in
+* lockstep for training agents in the same process. reset(seeds) starts one
+* match per seed; step(actions) applies one action per player, advances every
+* match one tick and writes the results into the public arrays below, which
+* are allocated once and reused. An action is whether the player's shoot key
+* is held this tick (1) or not (0); a change from the last tick becomes a
+* press or release, exactly as from the keyboard.
+* The batch is split into contiguous slices, one per thread: the calling
+* thread steps the first slice and parked worker threads step the rest, so
+* a step hands out no tasks and allocates nothing of its own.
+* A match that ends (someone reaches WINNING_SCORE, or maxEpisodeTicks pass)
+* sets its done flag and starts a new match on a new map in the same step;
+* its observation is then the first of the new match.
+* Observation layout, per match, in pixels and pixels per tick:
+*   players (left, then right): y, y direction (-1, 0 or 1), has gun, frozen
+*   Match.MAX_PROJECTILES bullet slots: x, y, x velocity, y velocity, present
+*   Obstacle.TARGET_OBSTACLES obstacle slots: x, y, present
+*   Powerup.TARGET_POWERUPS powerup slots: x, y, present
+* Flags are 0 or 1, positions are top-left corners, and empty slots are zero.
+* Rewards are from the left player's side: +1 when they score, -1 when the
+* right player does.
+* Usage: java DuelEnv [matches] [threads] [steps] measures steps per second
+* with random actions.
+*/
+
+import java.awt.Point;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+public class DuelEnv implements AutoCloseable {
+    public static final int PLAYER_SIZE = 4;
+    public static final int BULLET_SIZE = 5;
+    public static final int SPAWN_SIZE = 3;
+    public static final int PLAYERS = 0;
+    public static final int BULLETS = PLAYERS + 2 * PLAYER_SIZE;
+    public static final int OBSTACLES = BULLETS + Match.MAX_PROJECTILES * BULLET_SIZE;
+    public static final int POWERUPS = OBSTACLES + Obstacle.TARGET_OBSTACLES * SPAWN_SIZE;
+    public static final int OBSERVATION_SIZE = POWERUPS + Powerup.TARGET_POWERUPS * SPAWN_SIZE;
+    private static final float VELOCITY_SCALE = 1f / FixedPoint.ONE;
+    // Results of the last reset or step, matchCount * OBSERVATION_SIZE and matchCount long
+    public final float[] observations;
+    public final float[] rewards;
+    public final boolean[] dones;
+    private final int matchCount;
+    private final long maxEpisodeTicks;
+    private final Match[] matches;
+    private final long[] episodeStart; // Tick each match's current episode began on
+    private final boolean[] keyDown; // Shoot key state per player, left then right
+    private final int[] leftScores;
+    private final int[] rightScores;
+    private int[] actions; // The step being run; read by the workers
+    // Worker hand-off: a worker steps its slice once for every new generation
+    private final Thread[] workers;
+    private final int[] sliceStart; // Slice i is [sliceStart[i], sliceStart[i + 1])
+    private final AtomicInteger workersLeft = new AtomicInteger();
+    private volatile int generation = 0;
+    private volatile Thread caller;
+    private volatile boolean closed = false;
+
+    // Creates an environment for a batch of matches stepped by that many threads (the caller is one of them);
+    // maxEpisodeTicks ends an episode early, 0 for no limit
+    public DuelEnv(int matchCount, int threadCount, long maxEpisodeTicks) {
+        if (matchCount < 1 || threadCount < 1) {
+            throw new IllegalArgumentException("Need at least one match and one thread");
+        }
+        this.matchCount = matchCount;
+        this.maxEpisodeTicks = maxEpisodeTicks;
+        observations = new float[matchCount * OBSERVATION_SIZE];
+        rewards = new float[matchCount];
+        dones = new boolean[matchCount];
+        matches = new Match[matchCount];
+        episodeStart = new long[matchCount];
+        keyDown = new boolean[matchCount * 2];
+        leftScores = new int[matchCount];
+        rightScores = new int[matchCount];
+
+        int slices = Math.min(threadCount, matchCount);
+        sliceStart = new int[slices + 1];
+        for (int i = 0; i <= slices; i++) {
+            sliceStart[i] = (int) ((long) matchCount * i / slices);
+        }
+        workers = new Thread[slices - 1];
+        for (int i = 0; i < workers.length; i++) {
+            int slice = i + 1;
+            workers[i] = new Thread(() -> work(slice), "DuelEnv worker " + slice);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    // The match behind one slot, for inspection between steps
+    public Match getMatch(int index) {
+        return matches[index];
+    }
+
+    // Starts a new match in every slot, one seed each, and writes their first observations
+    public void reset(long[] seeds) {
+        if (seeds.length != matchCount) {
+            throw new IllegalArgumentException("Expected " + matchCount + " seeds, got " + seeds.length);
+        }
+        for (int i = 0; i < matchCount; i++) {
+            matches[i] = new Match(seeds[i]);
+            episodeStart[i] = 0;
+            keyDown[i * 2] = false;
+            keyDown[i * 2 + 1] = false;
+            leftScores[i] = 0;
+            rightScores[i] = 0;
+            rewards[i] = 0;
+            dones[i] = false;
+            observe(i);
+        }
+    }
+
+    // Applies actions[2 * i] (left) and actions[2 * i + 1] (right) to match i, advances every match one tick,
+    // and fills observations, rewards and dones
+    public void step(int[] actions) {
+        if (actions.length != matchCount * 2) {
+            throw new IllegalArgumentException("Expected " + matchCount * 2 + " actions, got " + actions.length);
+        }
+        if (matches[0] == null) {
+            throw new IllegalStateException("reset() must be called before step()");
+        }
+        this.actions = actions;
+        caller = Thread.currentThread();
+        workersLeft.set(workers.length);
+        generation++; // Publishes actions to the workers
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        stepSlice(0);
+        while (workersLeft.get() != 0) {
+            LockSupport.park(this);
+        }
+    }
+
+    // Stops the worker threads; the environment cannot be stepped afterwards
+    public void close() {
+        closed = true;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    // Worker thread: steps its slice every time the generation moves on
+    private void work(int slice) {
+        int seen = 0;
+        while (true) {
+            while (generation == seen && !closed) {
+                LockSupport.park(this);
+            }
+            if (closed) {
+                return;
+            }
+            seen = generation;
+            stepSlice(slice);
+            if (workersLeft.decrementAndGet() == 0) {
+                LockSupport.unpark(caller);
+            }
+        }
+    }
+
+    private void stepSlice(int slice) {
+        for (int i = sliceStart[slice]; i < sliceStart[slice + 1]; i++) {
+            stepMatch(i);
+        }
+    }
+
+    private void stepMatch(int i) {
+        Match match = matches[i];
+        press(match, i * 2, KeyEvent.VK_W, actions[i * 2] != 0);
+        press(match, i * 2 + 1, KeyEvent.VK_UP, actions[i * 2 + 1] != 0);
+        match.tick();
+
+        Score score = match.getScore();
+        int left = score.getLeftPlayerScore();
+        int right = score.getRightPlayerScore();
+        rewards[i] = (left - leftScores[i]) - (right - rightScores[i]);
+        leftScores[i] = left;
+        rightScores[i] = right;
+
+        boolean done = match.isOver()
+            || (maxEpisodeTicks > 0 && match.getTickCount() - episodeStart[i] >= maxEpisodeTicks);
+        dones[i] = done;
+        if (done) {
+            match.startNewMatch(true);
+            match.clearInput();
+            episodeStart[i] = match.getTickCount();
+            keyDown[i * 2] = false;
+            keyDown[i * 2 + 1] = false;
+            leftScores[i] = 0;
+            rightScores[i] = 0;
+        }
+        observe(i);
+    }
+
+    // Turns a held or released shoot key into a key event when it changes
+    private void press(Match match, int player, int keyCode, boolean down) {
+        if (keyDown[player] != down) {
+            keyDown[player] = down;
+            match.offerInput(keyCode, down, 0);
+        }
+    }
+
+    // Writes match i's observation into its row
+    private void observe(int i) {
+        Match match = matches[i];
+        float[] obs = observations;
+        int row = i * OBSERVATION_SIZE;
+        observePlayer(match.getPlayerLeft(), obs, row + PLAYERS);
+        observePlayer(match.getPlayerRight(), obs, row + PLAYERS + PLAYER_SIZE);
+
+        ArrayList<Bullet> bullets = match.getProjectiles();
+        int count = Math.min(bullets.size(), Match.MAX_PROJECTILES);
+        int at = row + BULLETS;
+        for (int b = 0; b < count; b++, at += BULLET_SIZE) {
+            Bullet bullet = bullets.get(b);
+            obs[at] = bullet.x;
+            obs[at + 1] = bullet.y;
+            obs[at + 2] = bullet.getFixedXVelocity() * VELOCITY_SCALE;
+            obs[at + 3] = bullet.getFixedYVelocity() * VELOCITY_SCALE;
+            obs[at + 4] = 1;
+        }
+        clear(obs, at, row + OBSTACLES);
+
+        observePoints(match.getObstacle().getObstaclePositions(), obs, row + OBSTACLES, Obstacle.TARGET_OBSTACLES);
+        observePoints(match.getPowerup().getPowerupPositions(), obs, row + POWERUPS, Powerup.TARGET_POWERUPS);
+    }
+
+    private static void observePlayer(Player player, float[] obs, int at) {
+        obs[at] = player.y;
+        obs[at + 1] = player.getYDirection();
+        obs[at + 2] = player.hasGun() ? 1 : 0;
+        obs[at + 3] = player.isFrozen() ? 1 : 0;
+    }
+
+    private static void observePoints(ArrayList<Point> points, float[] obs, int at, int slots) {
+        int count = Math.min(points.size(), slots);
+        int end = at + slots * SPAWN_SIZE;
+        for (int p = 0; p < count; p++, at += SPAWN_SIZE) {
+            Point point = points.get(p);
+            obs[at] = point.x;
+            obs[at + 1] = point.y;
+            obs[at + 2] = 1;
+        }
+        clear(obs, at, end);
+    }
+
+    private static void clear(float[] obs, int from, int to) {
+        for (int k = from; k < to; k++) {
+            obs[k] = 0;
+        }
+    }
+
+    // Steps a batch with random held-or-not actions and reports throughput and allocation per step
+    public static void main(String[] args) throws Exception {
+        int matchCount = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int steps = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        Random random = new Random(1);
+        long[] seeds = new long[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            seeds[i] = random.nextLong();
+        }
+        int[] actions = new int[matchCount * 2];
+        // Each player flips their key now and then, a few presses a second like SoakTest
+        int[][] schedules = new int[64][actions.length];
+        for (int[] schedule : schedules) {
+            for (int a = 0; a < schedule.length; a++) {
+                schedule[a] = random.nextInt(20) == 0 ? 1 : 0;
+            }
+        }
+
+        try (DuelEnv env = new DuelEnv(matchCount, threads, 0)) {
+            env.reset(seeds);
+            long episodes = 0;
+            for (int phase = 0; phase < 2; phase++) { // Warm up, then measure
+                com.sun.management.ThreadMXBean threadBean =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                long allocatedBefore = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+                long started = System.nanoTime();
+                for (int s = 0; s < steps; s++) {
+                    int[] flips = schedules[s & 63];
+                    for (int a = 0; a < actions.length; a++) {
+                        actions[a] ^= flips[a];
+                    }
+                    env.step(actions);
+                    for (int i = 0; i < matchCount; i++) {
+                        if (env.dones[i]) {
+                            episodes++;
+                        }
+                    }
+                }
+                long elapsed = System.nanoTime() - started;
+                long allocated = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+                if (phase == 1) {
+                    double environmentSteps = (double) steps * matchCount;
+                    System.out.printf("%d matches, %d threads, %d steps: %.0f environment steps/s (%.2f us each)%n",
+                        matchCount, threads, steps, environmentSteps * 1e9 / elapsed, elapsed / environmentSteps / 1e3);
+                    System.out.printf("Allocated on the calling thread: %.0f bytes per environment step%n",
+                        allocated / environmentSteps);
+                    System.out.printf("Episodes finished: %d%n", episodes);
+                }
+            }
+        }
+    }
+}
@@ -1,85 +1,64 @@
 /*
 * Swapnil Kabir and Syed Bazif Shah
 * Date: January 17, 2025
-* Description: Manages the end game screen and functionality
+* Description: Manages the end game screen and functionality. Drawn by the
+* game panel over the last game frame once a match is won (see Ui).
 */
 
 import java.awt.*;
-import javax.swing.*;
 
-public class EndScreen extends JPanel {
+public class EndScreen {
+    private static final Font WINNER_FONT = new Font("Arial", Font.BOLD, 48);
+    private static final Font BUTTON_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final int BUTTON_WIDTH = 200;
+    private static final int BUTTON_HEIGHT = 50;
 	
     private GamePanel gamePanel;
-    private JButton resetButton;
-    private JButton mainMenuButton;
-    private JButton quitButton;
-    private String winnerText;
+    private final Ui.Label resetLabel = new Ui.Label("Reset", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label mainMenuLabel = new Ui.Label("Main Menu", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label quitLabel = new Ui.Label("Quit", BUTTON_FONT, Color.BLACK);
+    private Ui.Label winnerText;
+    private boolean showing = false;
     
     public EndScreen(GamePanel gamePanel) {
         this.gamePanel = gamePanel;
-        this.setLayout(null);
-        this.setOpaque(false);
-        
-        initializeButtons();
-        setVisible(false);
-    }
-    
-    private void initializeButtons() {
-        // Common button settings
-        int startY = 300;
-        int spacing = 70;
-        
-        // Initialize buttons
-        resetButton = createButton("Reset", startY);
-        mainMenuButton = createButton("Main Menu", startY + spacing);
-        quitButton = createButton("Quit", startY + spacing * 2);
-        
-        // Add action listeners
-        resetButton.addActionListener(e -> {
-            gamePanel.resetGame();
-            setVisible(false);
-        });
-        mainMenuButton.addActionListener(e -> {
-            gamePanel.returnToMainMenu();
-            setVisible(false);
-        });
-        quitButton.addActionListener(e -> System.exit(0));
-        
-        // Add buttons to panel
-        add(resetButton);
-        add(mainMenuButton);
-        add(quitButton);
-    }
-    
-    //Makes a template for a button
-    private JButton createButton(String text, int y) {
-        JButton button = new JButton(text);
-        button.setFont(new Font("Arial", Font.BOLD, 20));
-        button.setBounds((GamePanel.GAME_WIDTH - 200) / 2, y, 200, 50);
-        return button;
     }
     
     //Activates end screen
     public void showEndScreen(String winner) {
-        this.winnerText = winner + " Wins!";
-        setVisible(true);
-        repaint();
+        this.winnerText = new Ui.Label(winner + " Wins!", WINNER_FONT, Color.WHITE);
+        showing = true;
+    }
+
+    // Hides the end screen
+    public void hide() {
+        showing = false;
+    }
+
+    public boolean isShowing() {
+        return showing;
     }
     
-    //Draws over the screen to show endScreen
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    //Draws over the screen to show endScreen and handles its buttons
+    public void draw(Graphics g, Ui ui) {
+        // Draw winner text
+        winnerText.drawCentered(g, GamePanel.GAME_WIDTH / 2, 200);
         
-        // Draw translucent black background
-        g.setColor(new Color(0, 0, 0, 150));
-        g.fillRect(0, 0, getWidth(), getHeight());
+        // Common button settings
+        int x = (GamePanel.GAME_WIDTH - BUTTON_WIDTH) / 2;
+        int startY = 300;
+        int spacing = 70;
         
-        // Draw winner text
-        g.setColor(Color.WHITE);
-        g.setFont(new Font("Arial", Font.BOLD, 48));
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(winnerText);
-        g.drawString(winnerText, (getWidth() - textWidth) / 2, 200);
+        if (ui.button(g, resetLabel, x, startY, BUTTON_WIDTH, BUTTON_HEIGHT)) {
+            gamePanel.resetGame();
+            hide();
+        }
+        if (ui.button(g, mainMenuLabel, x, startY + spacing, BUTTON_WIDTH, BUTTON_HEIGHT)) {
+            gamePanel.returnToMainMenu();
+            hide();
+        }
+        if (ui.button(g, quitLabel, x, startY + spacing * 2, BUTTON_WIDTH, BUTTON_HEIGHT)) {
+            System.exit(0);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: EventDispatcher drains one GameEventQueue cursor on a background
+* daemon thread and forwards the events to a handler, so slow consumers such as
+* audio never run on the simulation thread. With nothing to deliver it parks
+* until the next event is published, so an idle game costs no wakeups.
+*/
+
+import java.util.concurrent.locks.LockSupport;
+
+public class EventDispatcher implements Runnable {
+    private final GameEventQueue.Cursor cursor;
+    private final GameEventHandler handler;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Creates a dispatcher for a new subscription on the given queue
+    public EventDispatcher(String name, GameEventQueue queue, GameEventHandler handler) {
+        this.cursor = queue.subscribe();
+        this.handler = handler;
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    // Starts delivering events
+    public void start() {
+        thread.start();
+    }
+
+    // Stops the dispatcher thread after its current batch
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    public void run() {
+        while (running) {
+            if (cursor.drain(handler) == 0) {
+                cursor.await(); // Woken by the next publish, or by stop()
+            }
+        }
+    }
+}
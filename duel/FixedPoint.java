@@ -0,0 +1,105 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: FixedPoint holds the integer math the simulation moves and
+* bounces bullets with. Positions and velocities are 16.16 fixed-point ints
+* (1 pixel is ONE), and square roots, normalizing and the distance tests use
+* only integer arithmetic, so a match plays out bit for bit the same on every
+* JVM and CPU given the same seed and inputs.
+*/
+
+public final class FixedPoint {
+    public static final int SHIFT = 16;
+    public static final int ONE = 1 << SHIFT;
+    // cos and sin of 30 degrees, for the Bomb split
+    public static final int COS_30 = 56756;
+    public static final int SIN_30 = ONE / 2;
+
+    private FixedPoint() {
+    }
+
+    // Whole pixels to fixed point
+    public static int fromInt(int pixels) {
+        return pixels << SHIFT;
+    }
+
+    // Fixed point to whole pixels, rounding down
+    public static int toInt(int fixed) {
+        return fixed >> SHIFT;
+    }
+
+    // Fixed point to whole pixels, rounding to the nearest
+    public static int round(int fixed) {
+        return (fixed + (ONE >> 1)) >> SHIFT;
+    }
+
+    // Largest r with r * r <= value, for value >= 0
+    public static long sqrt(long value) {
+        long root = 0;
+        long bit = 1L << 62;
+        while (bit > value) {
+            bit >>= 2;
+        }
+        while (bit != 0) {
+            if (value >= root + bit) {
+                value -= root + bit;
+                root = (root >> 1) + bit;
+            } else {
+                root >>= 1;
+            }
+            bit >>= 2;
+        }
+        return root;
+    }
+
+    // Scales (x, y) to length ONE and writes it to into[0] and into[1]; returns false for a zero vector
+    public static boolean normalize(long x, long y, int[] into) {
+        long largest = Math.max(Math.abs(x), Math.abs(y));
+        if (largest == 0) {
+            return false;
+        }
+        // Bring the larger component to between 2^29 and 2^30, so the root is precise and the squares fit in a long
+        int shift = 29 - (63 - Long.numberOfLeadingZeros(largest));
+        if (shift > 0) {
+            x <<= shift;
+            y <<= shift;
+        } else {
+            x >>= -shift;
+            y >>= -shift;
+        }
+        long length = sqrt(x * x + y * y);
+        into[0] = (int) (x * ONE / length);
+        into[1] = (int) (y * ONE / length);
+        return true;
+    }
+
+    // Square of the distance between two points
+    public static long distanceSquared(int x1, int y1, int x2, int y2) {
+        long dx = x2 - x1;
+        long dy = y2 - y1;
+        return dx * dx + dy * dy;
+    }
+
+    // True if the segment from (startX, startY) to (endX, endY) passes within radius of a center
+    public static boolean segmentIntersectsCircle(int centerX, int centerY, int radius,
+                                                  int startX, int startY, int endX, int endY) {
+        long cx = centerX - startX;
+        long cy = centerY - startY;
+        long dx = endX - startX;
+        long dy = endY - startY;
+        long lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return false; // A bullet that did not move cannot cross anything
+        }
+        long radiusSquared = (long) radius * radius;
+        long along = cx * dx + cy * dy;
+        if (along <= 0) {
+            return cx * cx + cy * cy <= radiusSquared; // Closest to the start
+        }
+        if (along >= lengthSquared) {
+            return distanceSquared(endX, endY, centerX, centerY) <= radiusSquared; // Closest to the end
+        }
+        // Squared distance from the line is |c|^2 - along^2 / |d|^2, compared without dividing
+        return (cx * cx + cy * cy - radiusSquared) * lengthSquared <= along * along;
+    }
+}
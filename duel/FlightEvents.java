@@ -0,0 +1,162 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: FlightEvents holds the game's Java Flight Recorder events:
+* simulation ticks, rendered frames, bullet bounces off obstacles, powerup
+* activations, obstacle and powerup spawns, and sound triggers. Every event is
+* disabled unless a recording turns it on, for example with
+*     java -XX:StartFlightRecording:filename=duel.jfr,settings=duel.jfc Main
+* where duel.jfc enables them all. A disabled event is one shouldCommit() or
+* isEnabled() check on an object the JIT never allocates, so the hooks can stay
+* in the tick and paint paths. Read a recording with
+*     jfr print --events duel.Tick duel.jfr
+*/
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+public final class FlightEvents {
+    private FlightEvents() {
+    }
+
+    @Name("duel.Tick")
+    @Label("Simulation Tick")
+    @Description("One fixed simulation tick of a match and the entities it moved")
+    @Category("Top-Down Duel")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Tick extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Projectiles")
+        public int projectiles;
+        @Label("Obstacles")
+        public int obstacles;
+        @Label("Powerups")
+        public int powerups;
+    }
+
+    @Name("duel.Frame")
+    @Label("Rendered Frame")
+    @Description("One paint of the game panel")
+    @Category("Top-Down Duel")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Frame extends Event {
+        @Label("Simulation Tick")
+        @Description("Tick of the snapshot drawn, or -1 in the main menu")
+        public long tick;
+        @Label("Still")
+        @Description("Paused or finished, so the dimmed last frame was reused")
+        public boolean still;
+        @Label("Render Scale")
+        @Description("Fraction of the game area's width the scene was drawn at")
+        public float renderScale;
+    }
+
+    @Name("duel.Bounce")
+    @Label("Obstacle Bounce")
+    @Category("Top-Down Duel")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Bounce extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("X")
+        public int x;
+        @Label("Y")
+        public int y;
+        @Label("Left Player's Bullet")
+        public boolean leftPlayer;
+    }
+
+    @Name("duel.PowerupActivated")
+    @Label("Powerup Activated")
+    @Category("Top-Down Duel")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class PowerupActivated extends Event {
+        @Label("Tick")
+        public long tick;
+        @Label("Type")
+        public String type;
+        @Label("Left Player's Bullet")
+        public boolean leftPlayer;
+    }
+
+    @Name("duel.Spawn")
+    @Label("Spawn")
+    @Description("One call that places obstacles or powerups, and how many random positions it tried")
+    @Category("Top-Down Duel")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Spawn extends Event {
+        @Label("Kind")
+        public String kind;
+        @Label("Requested")
+        public int requested;
+        @Label("Placed")
+        public int placed;
+        @Label("Attempts")
+        public int attempts;
+    }
+
+    @Name("duel.Sound")
+    @Label("Sound Triggered")
+    @Category("Top-Down Duel")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Sound extends Event {
+        @Label("Sound")
+        public String sound;
+    }
+
+    // Records a bounce off an obstacle if the event is enabled
+    public static void bounce(long tick, int x, int y, boolean leftPlayer) {
+        Bounce event = new Bounce();
+        if (event.isEnabled()) {
+            event.tick = tick;
+            event.x = x;
+            event.y = y;
+            event.leftPlayer = leftPlayer;
+            event.commit();
+        }
+    }
+
+    // Records a powerup activation if the event is enabled
+    public static void powerupActivated(long tick, String type, boolean leftPlayer) {
+        PowerupActivated event = new PowerupActivated();
+        if (event.isEnabled()) {
+            event.tick = tick;
+            event.type = type;
+            event.leftPlayer = leftPlayer;
+            event.commit();
+        }
+    }
+
+    // Ends and records a spawn pass the caller began before its placement loop
+    public static void spawn(Spawn event, String kind, int requested, int placed, int attempts) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.requested = requested;
+            event.placed = placed;
+            event.attempts = attempts;
+            event.commit();
+        }
+    }
+
+    // Records a sound trigger if the event is enabled
+    public static void sound(String sound) {
+        Sound event = new Sound();
+        if (event.isEnabled()) {
+            event.sound = sound;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: FrameExchange is a lock-free triple buffer of FrameStates.
+* The simulation thread always has a back buffer to capture into, the render
+* thread always has a complete front buffer to draw from, and the latest
+* finished snapshot waits in the middle. Neither side ever waits for the other.
+*/
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FrameExchange {
+    private FrameState back = new FrameState();   // Simulation thread only
+    private final AtomicReference<FrameState> middle = new AtomicReference<>(new FrameState());
+    private FrameState front = new FrameState();  // Render thread only
+
+    // Returns the buffer the simulation thread should capture into
+    public FrameState getBack() {
+        return back;
+    }
+
+    // Makes the captured back buffer the latest snapshot (simulation thread only)
+    public void publish() {
+        back.fresh = true;
+        back = middle.getAndSet(back);
+    }
+
+    // Returns the newest published snapshot (render thread only)
+    public FrameState acquire() {
+        if (middle.get().fresh) {
+            front = middle.getAndSet(front);
+            front.fresh = false;
+        }
+        return front;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: FrameRecorder captures every rendered frame of a match to disk
+* without stalling the game. The paint thread only copies the frame's pixels
+* into a preallocated ring of buffers; a background thread compresses them and
+* writes the file. If the encoder falls behind, frames are dropped (and counted)
+* instead of blocking the paint thread.
+* File format (all numbers big-endian):
+*   header  "DUELREC1", int width, int height, int keyframe interval
+*   frame   int sequence, long tick, long capture nanos, byte kind (0 key, 1 delta),
+*           int payload length, payload
+*   trailer int -1, long captured frames, long dropped frames
+* A key payload holds the RGB pixels, a delta payload holds them XORed with the
+* previous written frame; both as runs of (varint length, 3-byte RGB value).
+* Gaps in the sequence numbers are dropped frames.
+* Record with -Dduel.record=<file>; convert with java FrameRecorder <file> <png directory>.
+*/
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import javax.imageio.ImageIO;
+
+public class FrameRecorder implements Runnable {
+    private static final byte[] MAGIC = "DUELREC1".getBytes(StandardCharsets.US_ASCII);
+    private static final int KEY = 0;
+    private static final int DELTA = 1;
+    private static final int KEYFRAME_INTERVAL = 300;
+    private final int width;
+    private final int height;
+    private final DataOutputStream out;
+    // Ring of frame buffers filled by the paint thread and drained by the encoder thread
+    private final int[][] slots;
+    private final long[] slotTicks;
+    private final long[] slotNanos;
+    private final long[] slotSequence;
+    private final AtomicLong head = new AtomicLong(0); // Next slot the paint thread fills
+    private final AtomicLong tail = new AtomicLong(0); // Next slot the encoder writes
+    private long nextSequence = 0; // Paint thread only
+    private volatile long droppedFrames = 0;
+    private volatile boolean closing = false;
+    private boolean closed = false;
+    private final Thread encoderThread;
+    // Encoder thread state
+    private final int[] previous;
+    private byte[] payload;
+    private long framesWritten = 0;
+    private long reportedDrops = 0;
+    private long lastDropReport = 0;
+
+    // Returns a recorder writing to -Dduel.record, or null if recording is off
+    public static FrameRecorder fromSystemProperty(int width, int height) {
+        String file = System.getProperty("duel.record");
+        if (file == null) {
+            return null;
+        }
+        try {
+            FrameRecorder recorder = new FrameRecorder(Paths.get(file), width, height, 8);
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::close, "Recorder close"));
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("Error starting recording: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Starts recording width x height frames, buffering up to bufferCount frames in memory
+    public FrameRecorder(Path file, int width, int height, int bufferCount) throws IOException {
+        this.width = width;
+        this.height = height;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        slots = new int[bufferCount][width * height];
+        slotTicks = new long[bufferCount];
+        slotNanos = new long[bufferCount];
+        slotSequence = new long[bufferCount];
+        previous = new int[width * height];
+        payload = new byte[1 << 16];
+
+        out.write(MAGIC);
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeInt(KEYFRAME_INTERVAL);
+
+        encoderThread = new Thread(this, "Frame encoder");
+        encoderThread.setDaemon(true);
+        encoderThread.start();
+    }
+
+    // Copies the top-left width x height pixels of a rendered frame (paint thread only).
+    // Returns false if the frame was dropped because every buffer is still waiting to be written.
+    public boolean capture(BufferedImage image, long tick) {
+        long sequence = nextSequence++;
+        if (closing || image.getWidth() < width || image.getHeight() < height) {
+            droppedFrames++;
+            return false;
+        }
+        long h = head.get();
+        if (h - tail.get() >= slots.length) {
+            droppedFrames++;
+            return false;
+        }
+        int index = (int) (h % slots.length);
+        copyPixels(image, slots[index]);
+        slotTicks[index] = tick;
+        slotNanos[index] = System.nanoTime();
+        slotSequence[index] = sequence;
+        head.lazySet(h + 1);
+        return true;
+    }
+
+    // Copies pixels with a single bulk read when the image stores packed ints, as both renderers do
+    private void copyPixels(BufferedImage image, int[] into) {
+        Raster raster = image.getRaster();
+        if (raster.getDataBuffer() instanceof DataBufferInt
+                && raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+            raster.getDataElements(0, 0, width, height, into);
+        } else {
+            image.getRGB(0, 0, width, height, into, 0, width);
+        }
+    }
+
+    // Number of frames dropped so far
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    // Encoder loop: writes buffered frames as they arrive until closed and drained
+    public void run() {
+        try {
+            while (true) {
+                long t = tail.get();
+                if (t < head.get()) {
+                    int index = (int) (t % slots.length);
+                    writeFrame(slots[index], slotSequence[index], slotTicks[index], slotNanos[index]);
+                    tail.lazySet(t + 1);
+                    reportDrops();
+                } else if (closing) {
+                    return;
+                } else {
+                    LockSupport.parkNanos(1000000);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing recording: " + e.getMessage());
+            closing = true;
+        }
+    }
+
+    // Prints a warning at most once a second while frames are being dropped
+    private void reportDrops() {
+        long dropped = droppedFrames;
+        long now = System.nanoTime();
+        if (dropped != reportedDrops && now - lastDropReport > 1000000000L) {
+            System.err.println("Recorder fell behind: " + (dropped - reportedDrops) + " frames dropped");
+            reportedDrops = dropped;
+            lastDropReport = now;
+        }
+    }
+
+    // Encodes one frame as a key frame or as a delta against the previous written frame
+    private void writeFrame(int[] pixels, long sequence, long tick, long nanos) throws IOException {
+        boolean key = framesWritten % KEYFRAME_INTERVAL == 0;
+        int length = 0;
+        int i = 0;
+        int count = pixels.length;
+        while (i < count) {
+            int value = value(pixels, i, key);
+            int run = 1;
+            while (i + run < count && value(pixels, i + run, key) == value) {
+                run++;
+            }
+            if (payload.length - length < 8) {
+                payload = Arrays.copyOf(payload, payload.length * 2);
+            }
+            length = writeVarint(run, length);
+            payload[length++] = (byte) (value >>> 16);
+            payload[length++] = (byte) (value >>> 8);
+            payload[length++] = (byte) value;
+            i += run;
+        }
+        for (int p = 0; p < count; p++) {
+            previous[p] = pixels[p] & 0xFFFFFF;
+        }
+
+        out.writeInt((int) sequence);
+        out.writeLong(tick);
+        out.writeLong(nanos);
+        out.writeByte(key ? KEY : DELTA);
+        out.writeInt(length);
+        out.write(payload, 0, length);
+        framesWritten++;
+    }
+
+    // The stored value of a pixel: its RGB, or its RGB XOR the previous frame's
+    private int value(int[] pixels, int index, boolean key) {
+        int rgb = pixels[index] & 0xFFFFFF;
+        return key ? rgb : rgb ^ previous[index];
+    }
+
+    private int writeVarint(int value, int offset) {
+        while ((value & ~0x7F) != 0) {
+            payload[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        payload[offset++] = (byte) value;
+        return offset;
+    }
+
+    // Finishes writing buffered frames, writes the trailer and closes the file (safe to call twice)
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        closing = true;
+        try {
+            encoderThread.join();
+            out.writeInt(-1);
+            out.writeLong(framesWritten);
+            out.writeLong(droppedFrames);
+            out.close();
+            System.out.println("Recorded " + framesWritten + " frames, dropped " + droppedFrames);
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Error closing recording: " + e.getMessage());
+        }
+    }
+
+    // Converts a recording into numbered PNG files
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java FrameRecorder <recording> <png directory>");
+            return;
+        }
+        Path directory = Paths.get(args[1]);
+        Files.createDirectories(directory);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(Paths.get(args[0])), 1 << 16))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a recording: " + args[0]);
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            in.readInt(); // Keyframe interval
+            int[] pixels = new int[width * height];
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            int frames = 0;
+            int sequence;
+            while ((sequence = in.readInt()) >= 0) {
+                in.readLong(); // Tick
+                in.readLong(); // Capture time
+                boolean key = in.readByte() == KEY;
+                in.readInt(); // Payload length
+                int i = 0;
+                while (i < pixels.length) {
+                    int run = readVarint(in);
+                    int value = (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+                    for (int end = i + run; i < end; i++) {
+                        pixels[i] = key ? value : pixels[i] ^ value;
+                    }
+                }
+                image.setRGB(0, 0, width, height, pixels, 0, width);
+                ImageIO.write(image, "png", directory.resolve(String.format("frame_%06d.png", sequence)).toFile());
+                frames++;
+            }
+            long captured = in.readLong();
+            long dropped = in.readLong();
+            System.out.println("Wrote " + frames + " of " + captured + " recorded frames; "
+                + dropped + " frames were dropped while recording");
+        }
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
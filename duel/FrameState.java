@@ -0,0 +1,168 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: FrameState is a snapshot of everything the renderer draws,
+* captured by the simulation thread at the end of each tick. It holds both the
+* previous and current position of every moving object in primitive arrays so
+* the render thread can interpolate between ticks without ever reading live
+* game objects. Arrays are reused between ticks and only grow when needed.
+*/
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+public class FrameState {
+    // Simulation tick this snapshot was taken at, and when (System.nanoTime())
+    public long tick;
+    public long capturedNanos;
+
+    // Players: index 0 is the left player, 1 the right player
+    public final int[] playerX = new int[2];
+    public final int[] playerPrevY = new int[2];
+    public final int[] playerY = new int[2];
+    public final boolean[] playerFrozen = new boolean[2];
+    public final boolean[] playerHasGun = new boolean[2];
+    // Ticks left on each player's freeze and shot cooldown, for the HUD
+    public final long[] playerFreezeTicks = new long[2];
+    public final long[] playerCooldownTicks = new long[2];
+
+    // Bullets, including every split bullet, in projectile list order
+    public int bulletCount;
+    public int[] bulletPrevX = new int[8];
+    public int[] bulletPrevY = new int[8];
+    public int[] bulletX = new int[8];
+    public int[] bulletY = new int[8];
+    public int[] bulletWidth = new int[8];
+    public int[] bulletHeight = new int[8];
+    public double[] bulletRotation = new double[8];
+    public BufferedImage[] bulletImage = new BufferedImage[8];
+
+    // Obstacles and powerups do not move, so only their current positions are kept
+    public int obstacleCount;
+    public int[] obstacleX = new int[8];
+    public int[] obstacleY = new int[8];
+    public boolean[] obstacleInvincible = new boolean[8]; // Freshly spawned, bullets pass through it
+    public int powerupCount;
+    public int[] powerupX = new int[8];
+    public int[] powerupY = new int[8];
+    public BufferedImage[] powerupImage = new BufferedImage[8];
+    public boolean[] powerupInvincible = new boolean[8];
+    // Ticks until the next broken obstacle and used powerup come back (0 if none is pending)
+    public long obstacleRegenerationTicks;
+    public long powerupRegenerationTicks;
+
+    // Set by the producer when published, cleared by the consumer when taken
+    boolean fresh;
+
+    // Copies the drawable state of the game into this snapshot (simulation thread only)
+    public void capture(long tick, Player left, Player right, ArrayList<Bullet> projectiles,
+                        Obstacle obstacle, Powerup powerup) {
+        this.tick = tick;
+        this.capturedNanos = System.nanoTime();
+        capturePlayer(0, left);
+        capturePlayer(1, right);
+
+        bulletCount = 0;
+        for (int i = 0; i < projectiles.size(); i++) {
+            captureBullet(projectiles.get(i));
+        }
+
+        obstacleRegenerationTicks = obstacle.getNextRegenerationTicks();
+        powerupRegenerationTicks = powerup.getNextRegenerationTicks();
+        ArrayList<Point> obstacles = obstacle.getObstaclePositions();
+        obstacleCount = 0;
+        for (int i = 0; i < obstacles.size(); i++) {
+            if (obstacleCount == obstacleX.length) {
+                obstacleX = grow(obstacleX);
+                obstacleY = grow(obstacleY);
+                obstacleInvincible = grow(obstacleInvincible);
+            }
+            Point p = obstacles.get(i);
+            obstacleX[obstacleCount] = p.x;
+            obstacleY[obstacleCount] = p.y;
+            obstacleInvincible[obstacleCount] = obstacle.isInvincible(p);
+            obstacleCount++;
+        }
+
+        ArrayList<Point> powerups = powerup.getPowerupPositions();
+        powerupCount = 0;
+        for (int i = 0; i < powerups.size(); i++) {
+            if (powerupCount == powerupX.length) {
+                powerupX = grow(powerupX);
+                powerupY = grow(powerupY);
+                powerupImage = grow(powerupImage);
+                powerupInvincible = grow(powerupInvincible);
+            }
+            Point p = powerups.get(i);
+            powerupX[powerupCount] = p.x;
+            powerupY[powerupCount] = p.y;
+            powerupImage[powerupCount] = powerup.getPowerupImage(p);
+            powerupInvincible[powerupCount] = powerup.isInvincible(p);
+            powerupCount++;
+        }
+    }
+
+    // Copies one player's position and sprite state
+    private void capturePlayer(int index, Player player) {
+        playerX[index] = player.x;
+        playerPrevY[index] = player.getPreviousY();
+        playerY[index] = player.y;
+        playerFrozen[index] = player.isFrozen();
+        playerHasGun[index] = player.hasGun();
+        playerFreezeTicks[index] = player.getFreezeTicksLeft();
+        playerCooldownTicks[index] = player.getShotCooldownTicksLeft();
+    }
+
+    // Copies one bullet
+    private void captureBullet(Bullet bullet) {
+        if (bulletCount == bulletX.length) {
+            growBullets();
+        }
+        int i = bulletCount++;
+        bulletPrevX[i] = bullet.getPreviousX();
+        bulletPrevY[i] = bullet.getPreviousY();
+        bulletX[i] = bullet.x;
+        bulletY[i] = bullet.y;
+        bulletWidth[i] = bullet.width;
+        bulletHeight[i] = bullet.height;
+        bulletRotation[i] = bullet.getRotation();
+        bulletImage[i] = bullet.getImage();
+    }
+
+    // Linear interpolation between the previous and current tick
+    public static int lerp(int previous, int current, double alpha) {
+        return (int) Math.round(previous + (current - previous) * alpha);
+    }
+
+    private void growBullets() {
+        bulletPrevX = grow(bulletPrevX);
+        bulletPrevY = grow(bulletPrevY);
+        bulletX = grow(bulletX);
+        bulletY = grow(bulletY);
+        bulletWidth = grow(bulletWidth);
+        bulletHeight = grow(bulletHeight);
+        double[] rotation = new double[bulletRotation.length * 2];
+        System.arraycopy(bulletRotation, 0, rotation, 0, bulletRotation.length);
+        bulletRotation = rotation;
+        bulletImage = grow(bulletImage);
+    }
+
+    private static int[] grow(int[] array) {
+        int[] larger = new int[array.length * 2];
+        System.arraycopy(array, 0, larger, 0, array.length);
+        return larger;
+    }
+
+    private static boolean[] grow(boolean[] array) {
+        boolean[] larger = new boolean[array.length * 2];
+        System.arraycopy(array, 0, larger, 0, array.length);
+        return larger;
+    }
+
+    private static BufferedImage[] grow(BufferedImage[] array) {
+        BufferedImage[] larger = new BufferedImage[array.length * 2];
+        System.arraycopy(array, 0, larger, 0, array.length);
+        return larger;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: GameEvent is one preallocated slot in the GameEventQueue ring.
+* The simulation fills a slot when something happens during a tick and
+* the audio, statistics and HUD consumers read it back on their own threads.
+*/
+
+public class GameEvent {
+    // Kinds of gameplay events published by the simulation
+    public enum Type {
+        SHOT, BOUNCE, POWERUP_ACTIVATED, PLAYER_HIT, FROZEN, OBSTACLE_BROKEN, ROUND_RESET, MATCH_OVER
+    }
+
+    // Detail of a ROUND_RESET that starts a whole new match rather than the next turn
+    public static final String NEW_MATCH = "NewMatch";
+
+    public Type type;
+    public int x;                // Where the event happened
+    public int y;
+    public boolean leftPlayer;   // Player the event belongs to (shooter, player hit/frozen, or winner)
+    public String detail;        // Powerup type for POWERUP_ACTIVATED, NEW_MATCH, map name for MATCH_OVER, or null
+    public int leftScore;        // Score after the event, so the HUD never reads Score directly
+    public int rightScore;
+    public long timeNanos;       // System.nanoTime() when the event was published
+    public long tick;            // Simulation tick the event happened on
+
+    // Copies the given values into this slot (called by the producer only)
+    void set(Type type, int x, int y, boolean leftPlayer, String detail,
+             int leftScore, int rightScore, long timeNanos, long tick) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.leftPlayer = leftPlayer;
+        this.detail = detail;
+        this.leftScore = leftScore;
+        this.rightScore = rightScore;
+        this.timeNanos = timeNanos;
+        this.tick = tick;
+    }
+}
@@ -0,0 +1,12 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: Callback implemented by anything that consumes the gameplay
+* event stream (sound, statistics, HUD).
+*/
+
+public interface GameEventHandler {
+    // Called once per event, on the consumer's own thread.
+    // The event slot is reused after this returns, so do not keep a reference to it.
+    void onEvent(GameEvent event);
+}
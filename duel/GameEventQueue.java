@@ -0,0 +1,136 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: GameEventQueue is a single-producer, multi-consumer ring buffer
+* of preallocated GameEvent slots. The simulation thread is the only producer.
+* Each consumer owns a Cursor and reads the stream at its own pace, so adding
+* consumers costs the producer nothing but one extra sequence to compare.
+* The producer never blocks: if the slowest consumer is a full ring behind,
+* the new event is dropped and counted instead.
+* A consumer thread with nothing to read can park in Cursor.await(); the
+* producer only looks for parked consumers to wake while one has said it is
+* parked, so a publish with no one waiting costs a single extra read.
+*/
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+public class GameEventQueue {
+    private final GameEvent[] slots;
+    private final int mask;
+    // Sequence of the last event made visible to consumers
+    private final AtomicLong published = new AtomicLong(-1);
+    // Producer-only state
+    private long nextSequence = 0;
+    private long cachedGate = -1;
+    private long droppedEvents = 0;
+    // Copy-on-write array so the producer can scan it without locking
+    private volatile Cursor[] cursors = new Cursor[0];
+    // Consumers parked in Cursor.await(); the producer scans for them only while this is not zero
+    private final AtomicInteger parkedConsumers = new AtomicInteger();
+
+    // Creates a queue; capacity is rounded up to a power of two
+    public GameEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new GameEvent[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new GameEvent();
+        }
+        mask = size - 1;
+    }
+
+    // Publishes one event. Returns false if the ring was full and the event was dropped.
+    public boolean publish(GameEvent.Type type, int x, int y, boolean leftPlayer, String detail,
+                           int leftScore, int rightScore, long tick) {
+        long sequence = nextSequence;
+        if (sequence - cachedGate > slots.length) {
+            cachedGate = minimumCursor(sequence - 1);
+            if (sequence - cachedGate > slots.length) {
+                droppedEvents++;
+                return false;
+            }
+        }
+        slots[(int) (sequence & mask)].set(type, x, y, leftPlayer, detail,
+            leftScore, rightScore, System.nanoTime(), tick);
+        nextSequence = sequence + 1;
+        // A full write, not lazySet: a consumer that announced itself as parked must be seen after this
+        published.set(sequence);
+        if (parkedConsumers.get() > 0) {
+            wakeParkedConsumers();
+        }
+        return true;
+    }
+
+    // Unparks every consumer waiting in Cursor.await()
+    private void wakeParkedConsumers() {
+        for (Cursor cursor : cursors) {
+            Thread waiter = cursor.waiter;
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    // Registers a new consumer that will see every event published from now on
+    public synchronized Cursor subscribe() {
+        Cursor cursor = new Cursor(published.get());
+        Cursor[] current = cursors;
+        Cursor[] updated = new Cursor[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = cursor;
+        cursors = updated;
+        return cursor;
+    }
+
+    // Returns the number of events dropped because a consumer fell a full ring behind
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    // Finds the slowest consumer; with no consumers the ring never fills
+    private long minimumCursor(long fallback) {
+        long minimum = fallback;
+        for (Cursor cursor : cursors) {
+            minimum = Math.min(minimum, cursor.sequence.get());
+        }
+        return minimum;
+    }
+
+    // A single consumer's read position in the ring
+    public class Cursor {
+        private final AtomicLong sequence;
+        private volatile Thread waiter; // Set while the consumer is parked in await()
+
+        private Cursor(long start) {
+            sequence = new AtomicLong(start);
+        }
+
+        // Hands every event published since the last call to the handler; returns how many
+        public int drain(GameEventHandler handler) {
+            long current = sequence.get();
+            long available = published.get();
+            if (available <= current) {
+                return 0;
+            }
+            for (long s = current + 1; s <= available; s++) {
+                handler.onEvent(slots[(int) (s & mask)]);
+            }
+            sequence.lazySet(available);
+            return (int) (available - current);
+        }
+
+        // Parks the calling thread until an event is published that drain() has not handed out yet.
+        // It may also return early (when unparked, for example), so callers drain and check again.
+        public void await() {
+            waiter = Thread.currentThread();
+            parkedConsumers.incrementAndGet();
+            // Checked after announcing the park, so an event published meanwhile is either seen here or wakes us
+            if (published.get() == sequence.get()) {
+                LockSupport.park(this);
+            }
+            parkedConsumers.decrementAndGet();
+            waiter = null;
+        }
+    }
+}
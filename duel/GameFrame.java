@@ -4,21 +4,27 @@
 * Description: This class sets up the main game window for Top-Down Duel.
 * It initializes and embeds the GamePanel constructor, configures the frame's properties,
 * and ensures the window is displayed at the center of the screen.
+* The window can be resized, and F11 (or -Dduel.fullscreen=true at start)
+* switches to full screen; the panel scales the game to fit either way.
 */
 
 import java.awt.*;
 import javax.swing.*;
 public class GameFrame extends JFrame {
+   private final GamePanel panel;
+   private boolean fullscreen = false;
+
    // Constructor to initialize the game frame
    public GameFrame() {
        // Create an instance of GamePanel to handle the game logic and visuals
-       GamePanel panel = new GamePanel();
+       panel = new GamePanel();
        // Add the GamePanel to the frame
        add(panel);
        // Set the title of the game window
        setTitle("Top-Down Duel");
-       // Prevent the user from resizing the game window
-       setResizable(false);
+       // Let the user resize the game window; the game is scaled to fit
+       setResizable(true);
+       setMinimumSize(new Dimension(GamePanel.GAME_WIDTH / 4, GamePanel.GAME_HEIGHT / 4));
        // Set the background colour of the frame
        setBackground(Color.white);
        // Ensure the application closes when the window is closed
@@ -29,5 +35,33 @@ public class GameFrame extends JFrame {
        setVisible(true);
        // Position the frame at the center of the screen
        setLocationRelativeTo(null);
+       if (Boolean.getBoolean("duel.fullscreen")) {
+           toggleFullscreen();
+       }
+   }
+
+   // Switches between a normal window and full screen (exclusive if the display allows it, else a borderless maximized window)
+   public void toggleFullscreen() {
+       GraphicsDevice device = getGraphicsConfiguration().getDevice();
+       fullscreen = !fullscreen;
+       dispose(); // Decorations can only change while the frame is not displayable
+       setUndecorated(fullscreen);
+       if (fullscreen) {
+           if (device.isFullScreenSupported()) {
+               device.setFullScreenWindow(this);
+           } else {
+               setExtendedState(JFrame.MAXIMIZED_BOTH);
+               setVisible(true);
+           }
+       } else {
+           if (device.getFullScreenWindow() == this) {
+               device.setFullScreenWindow(null);
+           }
+           setExtendedState(JFrame.NORMAL);
+           pack();
+           setLocationRelativeTo(null);
+           setVisible(true);
+       }
+       panel.requestFocusInWindow();
    }
 }
\ No newline at end of file
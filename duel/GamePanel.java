@@ -7,55 +7,65 @@
 
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.ArrayList;
-import javax.imageio.ImageIO;
+import java.util.concurrent.locks.LockSupport;
 import javax.swing.*;
 
 public class GamePanel extends JPanel implements Runnable, KeyListener {
    // Screen dimensions
    public static final int GAME_WIDTH = 1000;
    public static final int GAME_HEIGHT = 600;
+   // Fixed simulation rate; rendering runs at its own rate on the render thread
+   public static final int TICKS_PER_SECOND = 60;
+   private static final double NANOS_PER_TICK = 1000000000.0 / TICKS_PER_SECOND;
    // Game thread and rendering
    public Thread gameThread;
    public Image image;
    public Graphics graphics;
-   // Game objects
-   public Player playerLeft;
-   public Player playerRight;
-   public Bullet bulletLeft;
-   public Bullet bulletRight;
-   public Score score;
+   // Simulation state, advanced only while holding simulationLock
+   private Match match;
+   private final Object simulationLock = new Object();
    private Obstacle obstacle;
-   private Powerup powerup;
+   private Score hudScore; // HUD copy of the score, fed only by gameplay events
+   private final Hud hud = new Hud(GAME_WIDTH);
+   private Player playerLeft; // Sprite sources for drawing snapshots
+   private Player playerRight;
+   private boolean winShown = false;
    // Menu and game state
    public Menu menu;
    private PauseMenu pauseMenu;
    private EndScreen endScreen;
+   private final Ui ui = new Ui(); // Menus are drawn in the same pass as the game
    private boolean isPaused = false;
    private boolean gameStarted = false;
    private SoundManager soundManager;
-   // Bullet dimensions
-   int bulletWidth = 50;
-   int bulletHeight = 50;
-   // Map management
-   private MapManager mapManager;
+   // Gameplay event consumers
+   private GameEventQueue.Cursor hudCursor;
+   private GameEventQueue.Cursor effectsCursor;
+   private final ParticleSystem particles = new ParticleSystem();
+   private MatchStats stats;
+   private LatencyTracer latencyTracer;
+   // Snapshots handed from the simulation to the render thread
+   private FrameExchange frames = new FrameExchange();
+   private RenderThread renderThread;
+   private SoftwareRenderer softwareRenderer; // Only with -Dduel.renderer=software
+   private RenderScale renderScale; // Resolution the scene is drawn at before it is stretched to the window
+   // Where the game area is drawn in the panel: letterboxed to keep its shape, then scaled
+   private int viewX = 0;
+   private int viewY = 0;
+   private double viewScale = 1.0;
+   private FrameRecorder recorder; // Only with -Dduel.record=<file>
+   private SpectatorServer spectators; // Only with -Dduel.spectatorPort=<port>
+   private MatchSave saves; // Only with -Dduel.save=<file>
+   private int savedRound; // Round of the last save
+   private boolean resumePending = false; // Next start resumes the loaded match instead of resetting it
+   // Aim training: each player's would-be bullet path, toggled with T
+   private volatile boolean showTrajectories = false;
+   private final TrajectoryPreview leftTrajectory = new TrajectoryPreview(true, new Color(230, 60, 60, 200));
+   private final TrajectoryPreview rightTrajectory = new TrajectoryPreview(false, new Color(60, 120, 230, 200));
    private BufferedImage backgroundImage;
-   // Turn and bullet management
-   private long lastBulletClearTime;
-   private static final long BULLET_RESET_DELAY = 1000; // 1 second delay
-   private boolean canShoot = true;
-   private boolean firstPlayerHasShot = false;
-   private boolean secondPlayerHasShot = false;
-   private Player firstShootingPlayer = null;
-   private Player secondShootingPlayer = null;
-   // Shooting animation timing
-   private boolean isLeftPlayerShooting = false;
-   private boolean isRightPlayerShooting = false;
-   private static final long SHOOT_PAUSE_DURATION = 500; // 0.5 seconds pause for shooting
-   private long leftPlayerShootStartTime = 0;
-   private long rightPlayerShootStartTime = 0;
    
    // Constructor initializes game panel and menu
    public GamePanel() {
@@ -63,113 +73,237 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
        soundManager = new SoundManager();
        soundManager.playBackgroundMusic(); 
 
-       // Initialize map manager and pass to Obstacle, Powerup
-       mapManager = new MapManager();
-       obstacle = new Obstacle(GAME_WIDTH, GAME_HEIGHT, mapManager);
-       powerup = new Powerup(GAME_WIDTH, GAME_HEIGHT, mapManager);
-       
-       obstacle.setPowerup(powerup);
-       powerup.setObstacle(obstacle);
+       // The simulation, resumed from the save if there is one, otherwise seeded differently for every session
+       saves = MatchSave.fromSystemProperty();
+       match = saves != null ? saves.load() : null;
+       resumePending = match != null;
+       if (match == null) {
+           match = new Match(System.nanoTime());
+       }
+       savedRound = match.getRoundCount();
+       obstacle = match.getObstacle();
+
+       // Event stream consumers: audio and statistics on their own threads, HUD on the paint thread
+       GameEventQueue events = match.getEvents();
+       stats = new MatchStats();
+       stats.setHistory(MatchHistory.fromSystemProperty());
+       new EventDispatcher("Audio events", events, soundManager).start();
+       new EventDispatcher("Stats events", events, stats).start();
+       hudCursor = events.subscribe();
+       effectsCursor = events.subscribe();
 
-       // Set initial positions
-       obstacle.generateObstaclePositions();
-       powerup.generatePowerupPositions(obstacle.getObstaclePositions());
+       // Input-to-display latency measurement, only when -Dduel.latencyLog is set
+       renderThread = new RenderThread(this);
+       if (SoftwareRenderer.isSelected()) {
+           softwareRenderer = new SoftwareRenderer(GAME_WIDTH, GAME_HEIGHT);
+       }
+       recorder = FrameRecorder.fromSystemProperty(GAME_WIDTH, GAME_HEIGHT);
+       // The software renderer and the recorder work on full-size frames only
+       long frameBudget = renderThread.getFrameNanos() > 0 ? renderThread.getFrameNanos() : (long) NANOS_PER_TICK;
+       renderScale = RenderScale.fromSystemProperties(softwareRenderer == null && recorder == null, frameBudget);
+       spectators = SpectatorServer.fromSystemProperty();
+       latencyTracer = LatencyTracer.fromSystemProperty(renderThread.getModeName(), TICKS_PER_SECOND);
+       soundManager.setLatencyTracer(latencyTracer);
+       match.setLatencyTracer(latencyTracer);
        
        // Panel configuration
        setPreferredSize(new Dimension(GAME_WIDTH, GAME_HEIGHT));
        setBackground(Color.WHITE);
        setFocusable(true);
        addKeyListener(this);
+       addUiMouseListener();
        
-       // Use null layout for proper overlay positioning
-       setLayout(null);
-       
-       // Create menu components
+       // Create menus, drawn over the game by paint()
        menu = new Menu(this);
        pauseMenu = new PauseMenu(this);
        endScreen = new EndScreen(this);
        
-       // Set bounds for all components
-       menu.setBounds(0, 0, GAME_WIDTH, GAME_HEIGHT);
-       pauseMenu.setBounds(0, 0, GAME_WIDTH, GAME_HEIGHT);
-       endScreen.setBounds(0, 0, GAME_WIDTH, GAME_HEIGHT);
-       
-       // Add components in correct order
-       add(menu);
-       add(pauseMenu);
-       add(endScreen);
-       
-       // Set initial visibility
-       menu.setVisible(true);
-       pauseMenu.setVisible(false);
-       endScreen.setVisible(false);
-       
        // Initialize score and thread
-       score = new Score();
+       hudScore = new Score();
+       hudScore.setScores(match.getScore().getLeftPlayerScore(), match.getScore().getRightPlayerScore());
        gameThread = new Thread(this);
        
        // Load map assets
        loadMapAssets();
-
-       // Initialize game objects (but don't start movement yet)
-       initializeGameObjects();
+       rememberPlayers();
    }
 
    // Starts the game thread when game begins and plays associated sound effects
    public void startGame() {
        soundManager.playGameStart();
        soundManager.adjustBackgroundMusicVolume(false);
-       menu.setVisible(false);
-       pauseMenu.setVisible(true); // Make pause menu visible but not paused
-       endScreen.setVisible(false);
+       endScreen.hide();
        gameStarted = true;
        isPaused = false;
        
        // Initialize/reset game state
-       initializeGameObjects();
-       score.reset();
+       synchronized (simulationLock) {
+           if (resumePending) {
+               resumePending = false;
+           } else {
+               match.startNewMatch(false);
+           }
+           rememberPlayers();
+       }
        
        // Start game thread if not already running
        if (!gameThread.isAlive()) {
            gameThread = new Thread(this);
            gameThread.start();
        }
+       renderThread.start();
        
        this.requestFocusInWindow();
    }
    
-// Initialize all game objects
-   private void initializeGameObjects() {
-       playerLeft = new Player(50, GAME_HEIGHT / 2, 25, 100, GAME_HEIGHT, true);
-       playerRight = new Player(GAME_WIDTH - 75, GAME_HEIGHT / 2, 25, 100, GAME_HEIGHT, true);
-       bulletLeft = null;
-       bulletRight = null;
-       
-       // Reset shooting states
-       canShoot = true;
-       firstPlayerHasShot = false;
-       secondPlayerHasShot = false;
-       firstShootingPlayer = null;
-       secondShootingPlayer = null;
+   // Keeps the current players for their sprites (called whenever the match creates new ones)
+   private void rememberPlayers() {
+       playerLeft = match.getPlayerLeft();
+       playerRight = match.getPlayerRight();
+       winShown = false;
    }
    
-   // Paints the game components
-   public void paint(Graphics g) {
-       super.paint(g);
+   // Paints the game and its menus in one pass; the panel has no child components
+   public void paint(Graphics screen) {
+       long paintStarted = System.nanoTime();
+       FlightEvents.Frame flightEvent = new FlightEvents.Frame();
+       flightEvent.begin();
+       flightEvent.tick = -1;
+       flightEvent.renderScale = (float) renderScale.getScale();
        
-       if (gameStarted) {
-           image = createImage(getWidth(), getHeight());
+       hudCursor.drain(hudScore);
+       effectsCursor.drain(particles);
+       ui.beginFrame();
+
+       // Everything below draws in game coordinates, stretched to the panel
+       updateView();
+       Graphics2D g = (Graphics2D) screen.create();
+       fillLetterbox(g);
+       g.translate(viewX, viewY);
+       g.scale(viewScale, viewScale);
+       g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, renderScale.getInterpolation());
+
+       if (!gameStarted) {
+           menu.draw(g, ui);
+       } else {
+           if (!isPaused) {
+               particles.update(paintStarted);
+           }
+           FrameState frame = frames.acquire();
+           // Under the pause menu and the end screen the game is still, so its dimmed last frame is reused
+           boolean still = pauseMenu.isPaused() || endScreen.isShowing();
+           flightEvent.tick = frame.tick;
+           flightEvent.still = still;
+           if (!still) {
+               ui.clearBackdrop();
+           }
+           if (still && ui.hasBackdrop()) {
+               ui.drawBackdrop(g, GAME_WIDTH, GAME_HEIGHT);
+           } else {
+               Image shown = drawFrame(frame);
+               if (still) {
+                   ui.captureBackdrop(shown);
+                   ui.drawBackdrop(g, GAME_WIDTH, GAME_HEIGHT);
+               } else {
+                   g.drawImage(shown, 0, 0, GAME_WIDTH, GAME_HEIGHT, null);
+               }
+           }
+           if (latencyTracer != null) {
+               Toolkit.getDefaultToolkit().sync();
+               latencyTracer.frameDisplayed(frame.tick);
+           }
+           
+           // Menus last
+           if (endScreen.isShowing()) {
+               endScreen.draw(g, ui);
+           } else {
+               pauseMenu.draw(g, ui);
+           }
+           long paintNanos = System.nanoTime() - paintStarted;
+           particles.frameFinished(paintNanos);
+           if (!still) {
+               renderScale.frameRendered(paintNanos); // A new scale takes effect from the next frame
+           }
+       }
+       g.dispose();
+       ui.endFrame();
+       flightEvent.commit();
+   }
+
+   // Fits the game area inside the panel at the largest scale that keeps its shape, centred
+   private void updateView() {
+       viewScale = Math.min(getWidth() / (double) GAME_WIDTH, getHeight() / (double) GAME_HEIGHT);
+       if (viewScale <= 0) {
+           viewScale = 1.0; // Not laid out yet
+       }
+       viewX = (int) ((getWidth() - GAME_WIDTH * viewScale) / 2);
+       viewY = (int) ((getHeight() - GAME_HEIGHT * viewScale) / 2);
+   }
+
+   // Blacks out the bars beside or above and below the game area when the panel has a different shape
+   private void fillLetterbox(Graphics g) {
+       if (viewX > 0 || viewY > 0) {
+           int right = viewX + (int) Math.ceil(GAME_WIDTH * viewScale);
+           int bottom = viewY + (int) Math.ceil(GAME_HEIGHT * viewScale);
+           g.setColor(Color.BLACK);
+           g.fillRect(0, 0, getWidth(), viewY);
+           g.fillRect(0, bottom, getWidth(), getHeight() - bottom);
+           g.fillRect(0, 0, viewX, getHeight());
+           g.fillRect(right, 0, getWidth() - right, getHeight());
+       }
+   }
+
+   // Renders a snapshot with the chosen renderer, records it if recording, and returns the image
+   private Image drawFrame(FrameState frame) {
+       double alpha = Math.min(1.0, Math.max(0.0,
+           (System.nanoTime() - frame.capturedNanos) / NANOS_PER_TICK));
+       if (softwareRenderer != null) {
+           // The software renderer has its own frame buffer; only the overlays use Java2D
+           BufferedImage rendered = softwareRenderer.render(frame, alpha, backgroundImage,
+               obstacle, playerLeft, playerRight);
+           particles.draw(softwareRenderer.getOverlayGraphics());
+           drawTrajectories(softwareRenderer.getOverlayGraphics(), frame);
+           hud.draw(softwareRenderer.getOverlayGraphics(), hudScore, frame);
+           if (recorder != null) {
+               recorder.capture(rendered, frame.tick);
+           }
+           return rendered;
+       }
+       // Reuse the back buffer unless the render scale changed; it is drawn into in game coordinates
+       int width = renderScale.getWidth();
+       int height = renderScale.getHeight();
+       if (image == null || image.getWidth(null) != width || image.getHeight(null) != height) {
+           image = createImage(width, height);
            graphics = image.getGraphics();
-           draw(graphics);
-           g.drawImage(image, 0, 0, this);
+           ((Graphics2D) graphics).setTransform(AffineTransform.getScaleInstance(renderScale.getScale(),
+               renderScale.getScale()));
        }
-       
-       // Paint overlays last
-       paintChildren(g);
+       draw(graphics, frame, alpha);
+       if (recorder != null && image instanceof BufferedImage) {
+           recorder.capture((BufferedImage) image, frame.tick);
+       }
+       return image;
    }
 
-   // Draws all game objects
-   public void draw(Graphics g) {
+   // Draws all game objects from a snapshot, interpolated between its previous and current tick
+   public void draw(Graphics g, FrameState frame, double alpha) {
+    drawScene(g, frame, alpha, backgroundImage, obstacle, playerLeft, playerRight);
+    particles.draw(g);
+    drawTrajectories(g, frame);
+    hud.draw(g, hudScore, frame);
+}
+
+   // Draws both players' predicted bullet paths when aim training is on
+   private void drawTrajectories(Graphics g, FrameState frame) {
+    if (showTrajectories) {
+        leftTrajectory.draw(g, frame, playerLeft, obstacle, match.getBulletWidth(), match.getBulletHeight());
+        rightTrajectory.draw(g, frame, playerRight, obstacle, match.getBulletWidth(), match.getBulletHeight());
+    }
+}
+
+   // Draws the background and every object in a snapshot with Java2D
+   public static void drawScene(Graphics g, FrameState frame, double alpha, BufferedImage backgroundImage,
+                                Obstacle obstacle, Player playerLeft, Player playerRight) {
     // Draw background
     if (backgroundImage != null) {
         g.drawImage(backgroundImage, 0, 0, GAME_WIDTH, GAME_HEIGHT, null);
@@ -178,335 +312,50 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
         g.fillRect(0, 0, GAME_WIDTH, GAME_HEIGHT);
     }
     
-    // Draw obstacles
-    obstacle.draw(g);
-    
-    // Draw powerups
-    powerup.draw(g);
-    
-    // Draw game objects
-    playerLeft.draw(g);
-    playerRight.draw(g);
-    if (bulletLeft != null) {
-        bulletLeft.draw(g);
-    }
-    if (bulletRight != null) {
-        bulletRight.draw(g);
+    // Nothing captured yet for this match
+    if (frame.capturedNanos != 0) {
+        // Draw obstacles
+        for (int i = 0; i < frame.obstacleCount; i++) {
+            obstacle.draw(g, frame.obstacleX[i], frame.obstacleY[i]);
+        }
+        
+        // Draw powerups
+        for (int i = 0; i < frame.powerupCount; i++) {
+            Powerup.draw(g, frame.powerupImage[i], frame.powerupX[i], frame.powerupY[i]);
+        }
+        
+        // Draw players
+        playerLeft.draw(g, frame.playerX[0], FrameState.lerp(frame.playerPrevY[0], frame.playerY[0], alpha),
+            frame.playerFrozen[0], frame.playerHasGun[0]);
+        playerRight.draw(g, frame.playerX[1], FrameState.lerp(frame.playerPrevY[1], frame.playerY[1], alpha),
+            frame.playerFrozen[1], frame.playerHasGun[1]);
+        
+        // Draw bullets, including split bullets
+        for (int i = 0; i < frame.bulletCount; i++) {
+            Bullet.draw(g, frame.bulletImage[i],
+                FrameState.lerp(frame.bulletPrevX[i], frame.bulletX[i], alpha),
+                FrameState.lerp(frame.bulletPrevY[i], frame.bulletY[i], alpha),
+                frame.bulletWidth[i], frame.bulletHeight[i], frame.bulletRotation[i]);
+        }
     }
-    score.draw(g, GAME_WIDTH, GAME_HEIGHT);
 }
 
-   // Load map assets
+   // Load map assets (the match has already placed the map's obstacles); instant if prefetched
    private void loadMapAssets() {
         try {
-            // Load background and obstacle assets via MapManager
-            backgroundImage = ImageIO.read(
-                getClass().getResourceAsStream(mapManager.getBackgroundImage())
-            );
-            obstacle.generateObstaclePositions();
+            // Load background via MapManager
+            backgroundImage = AssetCache.getShared().get(match.getMapManager().getBackgroundImage(),
+                GAME_WIDTH, GAME_HEIGHT);
         } catch (IOException e) {
             System.err.println("Error loading map assets: " + e.getMessage());
             backgroundImage = null;
         }
    }
 
-   // Updates positions of game objects
-   public void move() {
-        // Handle left player shooting pause
-        if (isLeftPlayerShooting) {
-            if (System.currentTimeMillis() - leftPlayerShootStartTime >= SHOOT_PAUSE_DURATION) {
-                isLeftPlayerShooting = false;
-                playerLeft.resumeMovement(System.currentTimeMillis());
-            }
-        } else {
-            playerLeft.move();
-        }
-
-        // Handle right player shooting pause
-        if (isRightPlayerShooting) {
-            if (System.currentTimeMillis() - rightPlayerShootStartTime >= SHOOT_PAUSE_DURATION) {
-                isRightPlayerShooting = false;
-                playerRight.resumeMovement(System.currentTimeMillis());
-            }
-        } else {
-            playerRight.move();
-        }
-
-        // Move bullets
-        if (bulletLeft != null) {
-            bulletLeft.move();
-            if (bulletLeft.isOutOfBounds(GAME_WIDTH)) {
-                bulletLeft = null;
-                handleBulletCleared();
-            }
-        }
-        if (bulletRight != null) {
-            bulletRight.move();
-            if (bulletRight.isOutOfBounds(GAME_WIDTH)) {
-                bulletRight = null;
-                handleBulletCleared();
-            }
-        }
-
-        // Check if it's time to reset bullets
-        if (!canShoot && System.currentTimeMillis() - lastBulletClearTime >= BULLET_RESET_DELAY) {
-            resetBullets();
-        }
-    }
-
-   // Manages shooting logic for both players
-   private void handlePlayerShoot(Player shooter, Player otherPlayer, boolean isLeftPlayer) {
-        if (canShoot && shooter.hasGun()) {
-            // Handle first player's shot
-            if (!firstPlayerHasShot) {
-                firstPlayerHasShot = true;
-                firstShootingPlayer = shooter;
-                shooter.setHasGun(false);
-                // Check if it is left or right player who shot
-                if (isLeftPlayer) {
-                    cleanupBullet(bulletLeft);
-                    isLeftPlayerShooting = true;
-                    leftPlayerShootStartTime = System.currentTimeMillis();
-                    //create new bullet
-                    bulletLeft = new Bullet(
-                        shooter.x + shooter.width,
-                        shooter.y + shooter.height/2,
-                        bulletWidth, bulletHeight,
-                        true
-                    );
-                    soundManager.playBulletSound();
-                } else {
-                    cleanupBullet(bulletRight);
-                    isRightPlayerShooting = true;
-                    rightPlayerShootStartTime = System.currentTimeMillis();
-                    //create new bullet for right
-                    bulletRight = new Bullet(
-                        shooter.x - bulletWidth,
-                        shooter.y + shooter.height/2,
-                        bulletWidth, bulletHeight,
-                        false
-                    );
-                    soundManager.playBulletSound();
-                }
-                shooter.shoot(System.currentTimeMillis());
-            }
-            // Handle second player's shot
-            else if (!secondPlayerHasShot && shooter != firstShootingPlayer) {
-                secondPlayerHasShot = true;
-                secondShootingPlayer = shooter;
-                shooter.setHasGun(false);
-                //check if left or right payer
-                if (isLeftPlayer) {
-                    cleanupBullet(bulletLeft);
-                    isLeftPlayerShooting = true;
-                    leftPlayerShootStartTime = System.currentTimeMillis();
-                    //creates a bullet
-                    bulletLeft = new Bullet(
-                        shooter.x + shooter.width,
-                        shooter.y + shooter.height/2,
-                        bulletWidth, bulletHeight,
-                        true
-                    );
-                    soundManager.playBulletSound();
-                } else {
-                    cleanupBullet(bulletRight);
-                    isRightPlayerShooting = true;
-                    rightPlayerShootStartTime = System.currentTimeMillis();
-                    //creates a bulllet for right player
-                    bulletRight = new Bullet(
-                        shooter.x - bulletWidth,
-                        shooter.y + shooter.height/2,
-                        bulletWidth, bulletHeight,
-                        false
-                    );
-                    soundManager.playBulletSound();
-                }
-                shooter.shoot(System.currentTimeMillis());
-                canShoot = false;  // Prevent further shooting until bullets are cleared
-            }
-        } else if (!shooter.hasGun()) {
-            shooter.setYDirection(-shooter.getYDirection());
-            shooter.move();
-        }
-    }
-
-
-   // Handles bullet clearing and turn management
-   private void handleBulletCleared() {
-        boolean leftBulletCleared = bulletLeft == null || 
-            (bulletLeft != null && !bulletLeft.hasSplitBullets());
-        boolean rightBulletCleared = bulletRight == null || 
-            (bulletRight != null && !bulletRight.hasSplitBullets());
-            
-        // Only proceed if both players have shot AND both bullets are cleared
-        if (firstPlayerHasShot && secondPlayerHasShot && 
-            leftBulletCleared && rightBulletCleared) {
-            lastBulletClearTime = System.currentTimeMillis();
-            resetBullets();
-        }
-    }
-
-   // Resets bullet and turn state for new round
-   private void resetBullets() {
-        boolean leftBulletCleared = bulletLeft == null || 
-            (bulletLeft != null && !bulletLeft.hasSplitBullets());
-        boolean rightBulletCleared = bulletRight == null || 
-            (bulletRight != null && !bulletRight.hasSplitBullets());
-            
-        if (leftBulletCleared && rightBulletCleared) {
-            canShoot = true;
-            firstPlayerHasShot = false;
-            secondPlayerHasShot = false;
-            firstShootingPlayer = null;
-            secondShootingPlayer = null;
-            playerLeft.setHasGun(true);
-            playerRight.setHasGun(true);
-        }
-    }
-
-   // Removes bullets from the game when necessary
-   private void cleanupBullet(Bullet bullet) {
-        if (bullet != null && bullet.hasFreezeEffect()) {
-            Player playerToUnfreeze = bullet.getPlayerToUnfreeze();
-            if (playerToUnfreeze != null) {
-                // Clear reference to freeze effect
-                bullet.setFreezeEffect(false, null);
-            }
-        }
-    }
-
-   // Checks and handles game object collisions
-   public void checkCollision() {
-    // Handle main bullet collisions
-    handleBulletCollisions(bulletLeft);
-    handleBulletCollisions(bulletRight);
-    
-    // Check if either player has reached 10 points to trigger end game condition
-    if (score.getLeftPlayerScore() >= 10 || score.getRightPlayerScore() >= 10) {
-        checkWinCondition();
-        }
-    }
-
-    // Handle bullet collisions
-    private void handleBulletCollisions(Bullet bullet) {
-    if (bullet == null) return;
-    
-    // Create list of bullets to process (main bullet and any split bullets)
-    ArrayList<Bullet> bulletsToProcess = new ArrayList<>();
-    bulletsToProcess.add(bullet);
-    if (bullet.hasSplitBullets()) {
-        bulletsToProcess.addAll(bullet.getSplitBullets());
-    }
-    
-    // Track bullets that need to be removed
-    ArrayList<Bullet> bulletsToRemove = new ArrayList<>();
-    
-    // Process each bullet individually
-    for (Bullet currentBullet : bulletsToProcess) {
-        boolean shouldRemoveBullet = false;
-        
-        // Check player collisions
-        if (currentBullet.isFromLeftPlayer()) {
-            if (currentBullet.collidesWith(playerRight)) {
-                score.scoreLeftPlayer();
-                shouldRemoveBullet = true;
-            } else if (currentBullet.collidesWith(playerLeft)) {
-                score.scoreRightPlayer();
-                shouldRemoveBullet = true;
-            }
-        } else {
-            if (currentBullet.collidesWith(playerLeft)) {
-                score.scoreRightPlayer();
-                shouldRemoveBullet = true;
-            } else if (currentBullet.collidesWith(playerRight)) {
-                score.scoreLeftPlayer();
-                shouldRemoveBullet = true;
-            }
-        }
-        
-        if (!shouldRemoveBullet) {  // Only process further if bullet hasn't hit a player
-            // Check powerup collisions
-            for (Point powerupPosition : new ArrayList<>(powerup.getPowerupPositions())) {
-                Point powerupCenter = powerup.getCircleCenter(powerupPosition);
-                Point bulletCenter = new Point(
-                    currentBullet.x + currentBullet.width/2,
-                    currentBullet.y + currentBullet.height/2
-                );
-                Point bulletPrevCenter = new Point(
-                    currentBullet.getPreviousX() + currentBullet.width/2,
-                    currentBullet.getPreviousY() + currentBullet.height/2
-                );
-                //Checks if powerup intersects with bullet
-                if (powerup.lineIntersectsCircle(powerupCenter, bulletPrevCenter, bulletCenter)) {
-                    String powerupType = powerup.activatePowerup(powerupPosition, currentBullet, 
-                        currentBullet.isFromLeftPlayer() ? playerRight : playerLeft);
-                    powerup.getPowerupPositions().remove(powerupPosition);
-                    
-                    // Play appropriate powerup sound
-                    switch (powerupType) {
-                        case "Bomb":
-                            soundManager.playBombSound();
-                            break;
-                        case "Freeze":
-                            soundManager.playFreezeSound();
-                            break;
-                        case "BigBullet":
-                            soundManager.playBigBulletSound();
-                            break;
-                    }
-                    break;
-                }
-            }
-            
-            // Check obstacle collisions
-            for (Point obstaclePosition : new ArrayList<>(obstacle.getObstaclePositions())) {
-                Point obstacleCenter = obstacle.getCircleCenter(obstaclePosition);
-                if (currentBullet.bulletBounce(obstacleCenter, obstaclePosition, obstacle, currentBullet)) {
-                    soundManager.playObstacleBounce();  // Play sound when bullet bounces off obstacle
-                    break;
-                }
-            }
-            
-            // Check if bullet is out of bounds
-            if (currentBullet.isOutOfBounds(GAME_WIDTH)) {
-                shouldRemoveBullet = true;
-            }
-        }
-        
-        // Add bullet to removal list if necessary
-        if (shouldRemoveBullet) {
-            bulletsToRemove.add(currentBullet);
-        }
-    }
-    
-    // Remove bullets that need to be removed
-    for (Bullet bulletToRemove : bulletsToRemove) {
-        if (bulletToRemove == bullet) {
-            // This is the main bullet
-            if (bullet == bulletLeft) {
-                bulletLeft = null;
-            } else {
-                bulletRight = null;
-            }
-        } else {
-            // This is a split bullet, remove it from its parent's split bullets list
-            bullet.getSplitBullets().remove(bulletToRemove);
-        }
-    }
-    
-    // Check if we need to handle bullet cleared
-    if ((bulletLeft == null || 
-         (bulletLeft != null && !bulletLeft.hasSplitBullets())) && 
-        (bulletRight == null || 
-         (bulletRight != null && !bulletRight.hasSplitBullets()))) {
-        handleBulletCleared();
-    }
-}
-
    // Primary game loop
    public void run() {
        long lastTime = System.nanoTime();
-       double amountOfTicks = 60.0;
+       double amountOfTicks = TICKS_PER_SECOND;
        double ns = 1000000000 / amountOfTicks;
        double delta = 0;
        
@@ -516,38 +365,63 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
            lastTime = now;
            
            if(delta >= 1) {
-               if (!isPaused) {
-                   move();
-                   obstacle.update(powerup.getPowerupPositions());
-                   powerup.update(obstacle.getObstaclePositions());
-                   checkCollision();
+               synchronized (simulationLock) {
+                   if (!isPaused) {
+                       match.tick();
+                       if (spectators != null) {
+                           spectators.publish(match);
+                       }
+
+                       // Hand this tick's state to the render thread
+                       match.capture(frames.getBack());
+                       frames.publish();
+
+                       // Show the end screen once, on the Swing thread; a finished match is not resumed
+                       if (match.isOver() && !winShown) {
+                           winShown = true;
+                           SwingUtilities.invokeLater(this::checkWinCondition);
+                           prefetchNextMap();
+                           if (saves != null) {
+                               saves.discard();
+                           }
+                       } else if (saves != null && !match.isOver() && match.getRoundCount() != savedRound) {
+                           // Save at every round boundary
+                           savedRound = match.getRoundCount();
+                           saves.save(match);
+                       }
+                   } else {
+                       // Keys pressed while paused are not replayed on resume
+                       match.clearInput();
+                   }
                }
-               repaint();
                delta--;
+           } else {
+               // Rendering is on its own thread, so sleep until the next tick is due
+               LockSupport.parkNanos((long) ((1 - delta) * ns));
            }
        }
    }
 
    // Method to reset the game/map
    public void resetGame() {
-       score.reset();
-       mapManager.randomizeMap();
+       synchronized (simulationLock) {
+           // Reset game objects and state on a new map
+           match.startNewMatch(true);
+           rememberPlayers();
+       }
        loadMapAssets();
        
-       // Reset game objects and state
-       initializeGameObjects();
-       
        // Reset menu state
        isPaused = false;
-       pauseMenu.setVisible(true);
-       endScreen.setVisible(false);
+       endScreen.hide();
        gameStarted = true;
        
-       // Make sure game thread is running
+       // Make sure game and render threads are running
        if (!gameThread.isAlive()) {
            gameThread = new Thread(this);
            gameThread.start();
        }
+       renderThread.start();
        
        this.requestFocusInWindow();
        repaint();
@@ -557,6 +431,20 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
    public void setPaused(boolean paused) {
     this.isPaused = paused;
     soundManager.playPauseAndPlay();
+    if (paused) {
+        // The pause menu can also reset onto a new map
+        prefetchNextMap();
+    }
+   }
+
+   // Starts loading the assets of the map Reset will switch to in the background
+   private void prefetchNextMap() {
+       int next;
+       synchronized (simulationLock) {
+           next = match.getNextMapIndex();
+       }
+       AssetCache.getShared().prefetch(MapManager.getBackgroundImage(next), GAME_WIDTH, GAME_HEIGHT);
+       AssetCache.getShared().prefetch(MapManager.getObstacleImage(next));
    }
 
    // Returns directly to the main menu (used when the "Main Menu" button is pressed in the pause menu or end screen
@@ -564,25 +452,27 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
        soundManager.adjustBackgroundMusicVolume(true);
        gameStarted = false;
        isPaused = false;
-       pauseMenu.setVisible(false);
-       endScreen.setVisible(false);
-       menu.setVisible(true);
+       renderThread.stop();
+       endScreen.hide();
        
-       // Reset game state
-       score.reset();
-       initializeGameObjects();
+       // Reset game state; the abandoned match is not resumed
+       synchronized (simulationLock) {
+           match.startNewMatch(false);
+           rememberPlayers();
+           resumePending = false;
+       }
+       if (saves != null) {
+           saves.discard();
+       }
        
-       revalidate();
        repaint();
    }
 
 	// Ends the game once a player reaches 10 points
    private void checkWinCondition() {
-       if (score.getLeftPlayerScore() >= 10 || score.getRightPlayerScore() >= 10) {
+       if (match.isOver()) {
            //gameStarted = false;
-           pauseMenu.setVisible(false);
-           
-           if (score.getLeftPlayerScore() >= 10) {
+           if (match.isLeftPlayerWinner()) {
                endScreen.showEndScreen("Left Player");
            } else {
                endScreen.showEndScreen("Right Player");
@@ -590,43 +480,94 @@ public class GamePanel extends JPanel implements Runnable, KeyListener {
        }
    }
 
-   // Handles key press events
+   // Handles key press events: menu keys go to the menus, game keys are queued for the simulation thread
    public void keyPressed(KeyEvent e) {
-        if (!gameStarted) {
+        if (e.getKeyCode() == KeyEvent.VK_F11) {
+            Window window = SwingUtilities.getWindowAncestor(this);
+            if (window instanceof GameFrame) {
+                ((GameFrame) window).toggleFullscreen();
+            }
             return;
         }
-        
-        switch(e.getKeyCode()) {
-            case KeyEvent.VK_W:
-                handlePlayerShoot(playerLeft, playerRight, true);
-                break;
-            case KeyEvent.VK_UP:
-                handlePlayerShoot(playerRight, playerLeft, false);
-                break;
+        if (!gameStarted || pauseMenu.isPaused() || endScreen.isShowing()) {
+            ui.keyPressed(e.getKeyCode());
+            if (!gameStarted) {
+                repaint(); // The render thread only runs during a game
+            }
+            return;
+        }
+        if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+            ui.keyPressed(e.getKeyCode()); // Pauses on the next frame
+            return;
         }
+        if (e.getKeyCode() == KeyEvent.VK_T) {
+            showTrajectories = !showTrajectories;
+            return;
+        }
+        queueKey(e.getKeyCode(), true);
    }
 
-   // Handles key release events
+   // Handles key release events by queueing them for the simulation thread
    public void keyReleased(KeyEvent e) {
         if (!gameStarted) {
             return;
         }
-        
-        // Only resume movement if not in shooting animation
-        switch(e.getKeyCode()) {
-            case KeyEvent.VK_W:
-                if (!isLeftPlayerShooting) {
-                    playerLeft.resumeMovement(System.currentTimeMillis());
-                }
-                break;
-            case KeyEvent.VK_UP:
-                if (!isRightPlayerShooting) {
-                    playerRight.resumeMovement(System.currentTimeMillis());
-                }
-                break;
+        queueKey(e.getKeyCode(), false);
+   }
+
+   // Timestamps a game key on arrival and hands it to the next tick
+   private void queueKey(int keyCode, boolean pressed) {
+        if (keyCode == KeyEvent.VK_W || keyCode == KeyEvent.VK_UP) {
+            match.offerInput(keyCode, pressed, System.nanoTime());
         }
    }
 
+   // Hands mouse input to the menus; while no game is running nothing else repaints the panel
+   private void addUiMouseListener() {
+       MouseAdapter mouse = new MouseAdapter() {
+           public void mouseMoved(MouseEvent e) {
+               ui.mouseMoved(toGameX(e.getX()), toGameY(e.getY()));
+               repaintMenu();
+           }
+
+           public void mouseDragged(MouseEvent e) {
+               mouseMoved(e);
+           }
+
+           public void mousePressed(MouseEvent e) {
+               ui.mousePressed(toGameX(e.getX()), toGameY(e.getY()));
+               repaintMenu();
+           }
+
+           public void mouseReleased(MouseEvent e) {
+               ui.mouseReleased(toGameX(e.getX()), toGameY(e.getY()));
+               repaintMenu();
+           }
+
+           public void mouseExited(MouseEvent e) {
+               ui.mouseExited();
+               repaintMenu();
+           }
+       };
+       addMouseListener(mouse);
+       addMouseMotionListener(mouse);
+   }
+
+   // Panel coordinates to game coordinates, for the menus
+   private int toGameX(int x) {
+       return (int) Math.floor((x - viewX) / viewScale);
+   }
+
+   private int toGameY(int y) {
+       return (int) Math.floor((y - viewY) / viewScale);
+   }
+
+   private void repaintMenu() {
+       if (!gameStarted) {
+           repaint();
+       }
+   }
+
    // Handles key typed events (not used in this program)
    public void keyTyped(KeyEvent e) {
        // Not used
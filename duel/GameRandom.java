@@ -0,0 +1,47 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: GameRandom is the seeded random number generator shared by
+* everything in one Match (first map, obstacle and powerup placement). It is
+* a drop-in java.util.Random backed by SplitMix64, whose whole state is a single
+* long that can be read and restored, so a match can be reproduced exactly.
+* Not thread-safe; each match uses its own instances on its simulation thread.
+*/
+
+import java.util.Random;
+
+public class GameRandom extends Random {
+    private long state;
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        state = seed; // Also called by the Random constructor
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Returns the complete generator state
+    public long getState() {
+        return state;
+    }
+
+    // Restores a state previously returned by getState()
+    public void setState(long state) {
+        this.state = state;
+    }
+}
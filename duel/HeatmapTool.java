@@ -0,0 +1,213 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: HeatmapTool simulates a large number of matches headless on
+* every core and counts, per map and per grid cell, where bullets travel, where
+* they bounce off obstacles, where powerups are triggered and where players are
+* hit. Each worker thread runs its own seeded matches with random key presses
+* and counts into its own primitive histograms, read straight from the match's
+* projectile list and event stream between ticks, so no counting is shared
+* between threads until the end. The merged counts are written as one PNG per
+* map and layer (drawn over the map's background) and one CSV per map.
+* Usage: java HeatmapTool [million ticks] [threads] [output directory] [cell size in pixels]
+*/
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+public class HeatmapTool {
+    // Layers counted for every map
+    private static final int BULLETS = 0;
+    private static final int BOUNCES = 1;
+    private static final int POWERUPS = 2;
+    private static final int HITS = 3;
+    private static final String[] LAYER_NAMES = {"bullets", "bounces", "powerups", "hits"};
+    private static int cellSize;
+    private static int columns;
+    private static int rows;
+
+    public static void main(String[] args) throws Exception {
+        double millionTicks = args.length > 0 ? Double.parseDouble(args[0]) : 10;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path output = Paths.get(args.length > 2 ? args[2] : "heatmaps");
+        // Bullets move 10 pixels a tick, so smaller cells show stripes along their paths
+        cellSize = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        columns = (GamePanel.GAME_WIDTH + cellSize - 1) / cellSize;
+        rows = (GamePanel.GAME_HEIGHT + cellSize - 1) / cellSize;
+        long totalTicks = (long) (millionTicks * 1000000);
+
+        // Split the ticks between the workers, each with its own seed
+        Worker[] workers = new Worker[threads];
+        Thread[] running = new Thread[threads];
+        long started = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            long ticks = totalTicks / threads + (i < totalTicks % threads ? 1 : 0);
+            workers[i] = new Worker(i + 1, ticks);
+            running[i] = new Thread(workers[i], "Heatmap worker " + i);
+            running[i].start();
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        // Merge the per-thread histograms
+        long[] totals = new long[MapManager.getMapCount() * LAYER_NAMES.length * columns * rows];
+        long matches = 0;
+        for (Worker worker : workers) {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += worker.counts[i];
+            }
+            matches += worker.matches;
+        }
+        System.out.printf("Simulated %d ticks (%d finished matches) on %d threads in %.1f s: %.0f ticks/s%n",
+            totalTicks, matches, threads, seconds, totalTicks / seconds);
+
+        Files.createDirectories(output);
+        for (int map = 0; map < MapManager.getMapCount(); map++) {
+            BufferedImage background = ImageIO.read(HeatmapTool.class.getResourceAsStream(MapManager.getBackgroundImage(map)));
+            for (int layer = 0; layer < LAYER_NAMES.length; layer++) {
+                Path file = output.resolve("heatmap-" + MapManager.getMapName(map) + "-" + LAYER_NAMES[layer] + ".png");
+                ImageIO.write(drawLayer(totals, offset(map, layer, 0), background), "png", file.toFile());
+            }
+            writeCsv(totals, map, output.resolve("heatmap-" + MapManager.getMapName(map) + ".csv"));
+        }
+        System.out.println("Wrote heatmaps to " + output.toAbsolutePath());
+    }
+
+    // Index of a cell in the flat histogram array
+    private static int offset(int map, int layer, int cell) {
+        return (map * LAYER_NAMES.length + layer) * columns * rows + cell;
+    }
+
+    // Cell holding a pixel; points off the screen count in the nearest edge cell
+    private static int cell(int x, int y) {
+        int column = Math.min(columns - 1, Math.max(0, x / cellSize));
+        int row = Math.min(rows - 1, Math.max(0, y / cellSize));
+        return row * columns + column;
+    }
+
+    // Draws one layer over a darkened background, colour on a square root scale from the busiest cell
+    private static BufferedImage drawLayer(long[] totals, int start, BufferedImage background) {
+        BufferedImage image = new BufferedImage(GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.drawImage(background, 0, 0, GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT, null);
+        g.setColor(new Color(0, 0, 0, 160));
+        g.fillRect(0, 0, GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT);
+
+        long busiest = 0;
+        for (int cell = 0; cell < columns * rows; cell++) {
+            busiest = Math.max(busiest, totals[start + cell]);
+        }
+        for (int cell = 0; cell < columns * rows && busiest > 0; cell++) {
+            long count = totals[start + cell];
+            if (count == 0) {
+                continue;
+            }
+            float heat = (float) Math.sqrt((double) count / busiest);
+            // Black body colours: red, then yellow, then white
+            g.setColor(new Color(Math.min(1f, heat * 3), clamp(heat * 3 - 1), clamp(heat * 3 - 2),
+                0.35f + 0.6f * heat));
+            g.fillRect((cell % columns) * cellSize, (cell / columns) * cellSize, cellSize, cellSize);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+
+    // Writes every cell of one map with a non-zero count in any layer
+    private static void writeCsv(long[] totals, int map, Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("x,y," + String.join(",", LAYER_NAMES));
+            for (int cell = 0; cell < columns * rows; cell++) {
+                StringBuilder row = new StringBuilder();
+                boolean any = false;
+                for (int layer = 0; layer < LAYER_NAMES.length; layer++) {
+                    long count = totals[offset(map, layer, cell)];
+                    any |= count != 0;
+                    row.append(',').append(count);
+                }
+                if (any) {
+                    out.println((cell % columns) * cellSize + "," + (cell / columns) * cellSize + row);
+                }
+            }
+        }
+    }
+
+    // Plays matches on one thread and counts into its own histograms
+    private static class Worker implements Runnable, GameEventHandler {
+        final long[] counts = new long[MapManager.getMapCount() * LAYER_NAMES.length * columns * rows];
+        final long seed;
+        final long ticks;
+        long matches;
+        private Match match;
+        private int map;
+
+        Worker(long seed, long ticks) {
+            this.seed = seed;
+            this.ticks = ticks;
+        }
+
+        public void run() {
+            match = new Match(seed);
+            GameEventQueue.Cursor events = match.getEvents().subscribe();
+            Random keys = new Random(seed);
+            boolean leftDown = false;
+            boolean rightDown = false;
+            for (long tick = 0; tick < ticks; tick++) {
+                if (keys.nextInt(20) == 0) {
+                    leftDown = !leftDown;
+                    match.offerInput(KeyEvent.VK_W, leftDown, 0);
+                }
+                if (keys.nextInt(20) == 0) {
+                    rightDown = !rightDown;
+                    match.offerInput(KeyEvent.VK_UP, rightDown, 0);
+                }
+                match.tick();
+
+                // Bullet centres after the tick, then this tick's events
+                map = match.getMapManager().getMapIndex();
+                ArrayList<Bullet> projectiles = match.getProjectiles();
+                for (int i = 0; i < projectiles.size(); i++) {
+                    Bullet bullet = projectiles.get(i);
+                    counts[offset(map, BULLETS, cell(bullet.x + bullet.width / 2, bullet.y + bullet.height / 2))]++;
+                }
+                events.drain(this);
+
+                if (match.isOver()) {
+                    match.startNewMatch(true);
+                    matches++;
+                }
+            }
+        }
+
+        // Bounces are counted at the obstacle's centre, powerups at their position and hits where the bullet was
+        public void onEvent(GameEvent event) {
+            switch (event.type) {
+                case BOUNCE:
+                    counts[offset(map, BOUNCES, cell(event.x, event.y))]++;
+                    break;
+                case POWERUP_ACTIVATED:
+                    counts[offset(map, POWERUPS, cell(event.x, event.y))]++;
+                    break;
+                case PLAYER_HIT:
+                    counts[offset(map, HITS, cell(event.x, event.y))]++;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
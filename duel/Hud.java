@@ -0,0 +1,171 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: Hud draws the score and the timer widgets over the game. The
+* digits, the separator and each widget's backdrop, label and empty bar are
+* rendered into images once, so a frame copies a few images and fills one bar
+* per running timer: no fonts, strings or font metrics are created while
+* drawing, and nothing translucent is filled. Each player has a freeze countdown
+* and a shot cooldown in their top corner, and the top centre shows when the
+* next broken obstacle and used powerup come back. A widget is only drawn while
+* its timer is running. The values come from a FrameState and the score copy
+* the panel keeps from gameplay events.
+*/
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+public class Hud {
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 40);
+    private static final Font LABEL_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final int SCORE_BASELINE = 575;
+    private static final int PAD = 2; // Glyph images are padded so bold glyphs are not clipped
+    // Widgets sit above the top margin, where players never go
+    private static final int MARGIN = 20;
+    private static final int PAUSE_BUTTON_SPACE = 70; // The pause button is in the top-right corner
+    private static final int BAR_WIDTH = 120;
+    private static final int BAR_HEIGHT = 6;
+    private static final int WIDGET_INSET = 3; // Backdrop around the label and bar
+    private static final int FIRST_ROW = 4;
+    private static final int ROW_HEIGHT = 29; // Two rows fit above the 60 pixel top margin
+    private static final Color BACKDROP = new Color(0, 0, 0, 110);
+    private static final Color BAR_EMPTY = new Color(255, 255, 255, 60);
+    private static final Color FREEZE_COLOR = new Color(140, 210, 255);
+    private static final Color COOLDOWN_COLOR = new Color(255, 200, 60);
+    private static final Color REGENERATION_COLOR = new Color(120, 220, 120);
+    private final int screenWidth;
+    // Pre-rendered score glyphs and how far each moves the pen
+    private final BufferedImage[] digits = new BufferedImage[10];
+    private final int[] digitAdvance = new int[10];
+    private final BufferedImage separator;
+    private final int separatorAdvance;
+    private final int scoreAscent;
+    // Pre-rendered widgets: backdrop, label and empty bar
+    private final BufferedImage frozenWidget;
+    private final BufferedImage cooldownWidget;
+    private final BufferedImage obstacleWidget;
+    private final BufferedImage powerupWidget;
+    private final int barOffset; // From the top of a widget to its bar
+    private final int[] digitScratch = new int[10]; // Digits of the number being drawn, lowest first
+
+    public Hud(int screenWidth) {
+        this.screenWidth = screenWidth;
+        Graphics2D scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE).createGraphics();
+        FontMetrics scoreMetrics = scratch.getFontMetrics(SCORE_FONT);
+        FontMetrics labelMetrics = scratch.getFontMetrics(LABEL_FONT);
+        scratch.dispose();
+
+        for (int d = 0; d < 10; d++) {
+            String digit = String.valueOf((char) ('0' + d));
+            digits[d] = renderText(digit, scoreMetrics, Color.BLACK);
+            digitAdvance[d] = scoreMetrics.stringWidth(digit);
+        }
+        // Spaced like the old "%d : %d" score text
+        separator = renderText(" : ", scoreMetrics, Color.BLACK);
+        separatorAdvance = scoreMetrics.stringWidth(" : ");
+        scoreAscent = scoreMetrics.getAscent();
+
+        barOffset = WIDGET_INSET + labelMetrics.getAscent() + labelMetrics.getDescent() + 2;
+        frozenWidget = renderWidget("FROZEN", labelMetrics);
+        cooldownWidget = renderWidget("RELOAD", labelMetrics);
+        obstacleWidget = renderWidget("OBSTACLE", labelMetrics);
+        powerupWidget = renderWidget("POWERUP", labelMetrics);
+    }
+
+    // Renders a string once into a padded, translucent image
+    private static BufferedImage renderText(String text, FontMetrics metrics, Color color) {
+        BufferedImage image = new BufferedImage(metrics.stringWidth(text) + PAD * 2,
+            metrics.getAscent() + metrics.getDescent(), BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.setFont(metrics.getFont());
+        g.setColor(color);
+        g.drawString(text, PAD, metrics.getAscent());
+        g.dispose();
+        return image;
+    }
+
+    // Renders a widget's backdrop, label and empty bar once
+    private BufferedImage renderWidget(String label, FontMetrics metrics) {
+        BufferedImage image = new BufferedImage(BAR_WIDTH + WIDGET_INSET * 2, barOffset + BAR_HEIGHT + WIDGET_INSET,
+            BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.setColor(BACKDROP);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.setColor(BAR_EMPTY);
+        g.fillRect(WIDGET_INSET, barOffset, BAR_WIDTH, BAR_HEIGHT);
+        g.setFont(metrics.getFont());
+        g.setColor(Color.WHITE);
+        g.drawString(label, WIDGET_INSET, WIDGET_INSET + metrics.getAscent());
+        g.dispose();
+        return image;
+    }
+
+    // Draws the score and every running timer
+    public void draw(Graphics g, Score score, FrameState frame) {
+        drawScore(g, score.getLeftPlayerScore(), score.getRightPlayerScore());
+        if (frame.capturedNanos == 0) {
+            return; // Nothing captured yet
+        }
+
+        int leftX = MARGIN;
+        int rightX = screenWidth - PAUSE_BUTTON_SPACE - BAR_WIDTH;
+        drawWidget(g, frozenWidget, leftX, FIRST_ROW, frame.playerFreezeTicks[0], Player.FREEZE_TICKS, FREEZE_COLOR);
+        drawWidget(g, cooldownWidget, leftX, FIRST_ROW + ROW_HEIGHT, frame.playerCooldownTicks[0],
+            Player.SHOOT_PAUSE_TICKS, COOLDOWN_COLOR);
+        drawWidget(g, frozenWidget, rightX, FIRST_ROW, frame.playerFreezeTicks[1], Player.FREEZE_TICKS, FREEZE_COLOR);
+        drawWidget(g, cooldownWidget, rightX, FIRST_ROW + ROW_HEIGHT, frame.playerCooldownTicks[1],
+            Player.SHOOT_PAUSE_TICKS, COOLDOWN_COLOR);
+
+        drawWidget(g, obstacleWidget, screenWidth / 2 - MARGIN / 2 - BAR_WIDTH, FIRST_ROW,
+            frame.obstacleRegenerationTicks, Obstacle.REGENERATION_TICKS, REGENERATION_COLOR);
+        drawWidget(g, powerupWidget, screenWidth / 2 + MARGIN / 2, FIRST_ROW,
+            frame.powerupRegenerationTicks, Powerup.REGENERATION_TICKS, REGENERATION_COLOR);
+    }
+
+    // Draws "left : right" centred at the bottom of the screen from the cached glyphs
+    private void drawScore(Graphics g, int left, int right) {
+        int width = numberWidth(left) + separatorAdvance + numberWidth(right);
+        int x = (screenWidth - width) / 2;
+        int top = SCORE_BASELINE - scoreAscent;
+        x = drawNumber(g, left, x, top);
+        g.drawImage(separator, x - PAD, top, null);
+        drawNumber(g, right, x + separatorAdvance, top);
+    }
+
+    // Width of a non-negative number in score glyphs
+    private int numberWidth(int value) {
+        int width = 0;
+        do {
+            width += digitAdvance[value % 10];
+            value /= 10;
+        } while (value > 0);
+        return width;
+    }
+
+    // Draws a non-negative number from the cached glyphs and returns the x after it
+    private int drawNumber(Graphics g, int value, int x, int top) {
+        int count = 0;
+        do {
+            digitScratch[count++] = value % 10;
+            value /= 10;
+        } while (value > 0);
+        for (int i = count - 1; i >= 0; i--) {
+            int digit = digitScratch[i];
+            g.drawImage(digits[digit], x - PAD, top, null);
+            x += digitAdvance[digit];
+        }
+        return x;
+    }
+
+    // Draws a widget with its bar filled by the share of the timer still to run; nothing if it is not running
+    private void drawWidget(Graphics g, BufferedImage widget, int x, int y, long ticksLeft, long totalTicks,
+                            Color fill) {
+        if (ticksLeft <= 0) {
+            return;
+        }
+        g.drawImage(widget, x - WIDGET_INSET, y - WIDGET_INSET, null);
+        g.setColor(fill);
+        g.fillRect(x, y - WIDGET_INSET + barOffset,
+            (int) (BAR_WIDTH * Math.min(ticksLeft, totalTicks) / totalTicks), BAR_HEIGHT);
+    }
+}
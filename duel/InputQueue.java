@@ -0,0 +1,86 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: InputQueue hands key events from the Swing event thread to the
+* simulation thread. It is a lock-free single-producer, single-consumer ring of
+* preallocated primitive slots: the key listener offers timestamped events as
+* they arrive and the game loop polls them at the start of the next tick, so
+* game state is only ever touched by the simulation thread.
+*/
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class InputQueue {
+    private final int[] keyCodes;
+    private final boolean[] pressed;
+    private final long[] timeNanos;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(0); // Next slot the producer writes
+    private final AtomicLong tail = new AtomicLong(0); // Next slot the consumer reads
+    private volatile long droppedInputs = 0;
+    // Consumer-side copy of the event returned by the last successful poll()
+    private int currentKeyCode;
+    private boolean currentPressed;
+    private long currentTimeNanos;
+
+    // Creates a queue; capacity is rounded up to a power of two
+    public InputQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        keyCodes = new int[size];
+        pressed = new boolean[size];
+        timeNanos = new long[size];
+        mask = size - 1;
+    }
+
+    // Adds a key event (producer thread only). Returns false if the queue was full.
+    public boolean offer(int keyCode, boolean isPressed, long arrivalNanos) {
+        long h = head.get();
+        if (h - tail.get() >= keyCodes.length) {
+            droppedInputs++;
+            return false;
+        }
+        int index = (int) (h & mask);
+        keyCodes[index] = keyCode;
+        pressed[index] = isPressed;
+        timeNanos[index] = arrivalNanos;
+        head.lazySet(h + 1);
+        return true;
+    }
+
+    // Takes the oldest event (consumer thread only); read it with the getters below
+    public boolean poll() {
+        long t = tail.get();
+        if (t >= head.get()) {
+            return false;
+        }
+        int index = (int) (t & mask);
+        currentKeyCode = keyCodes[index];
+        currentPressed = pressed[index];
+        currentTimeNanos = timeNanos[index];
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Discards everything currently queued (consumer thread only)
+    public void clear() {
+        tail.lazySet(head.get());
+    }
+
+    // Getters for the event returned by the last poll()
+    public int getKeyCode() {
+        return currentKeyCode;
+    }
+
+    public boolean isPressed() {
+        return currentPressed;
+    }
+
+    public long getTimeNanos() {
+        return currentTimeNanos;
+    }
+
+    // Returns how many events were dropped because the queue was full
+    public long getDroppedInputs() {
+        return droppedInputs;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: LatencyHistogram records durations in microseconds into
+* log-linear buckets (16 buckets per power of two), so recording never
+* allocates and percentiles stay within about 6% of the true value.
+* Each histogram should be written by a single thread.
+*/
+
+import java.io.PrintWriter;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BITS = 4;
+    private static final int BUCKETS = SUB_BUCKETS + (64 - SUB_BITS) * SUB_BUCKETS;
+    private final long[] counts = new long[BUCKETS];
+    private long totalCount;
+    private long totalMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    // Records one duration given in nanoseconds
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts[bucketIndex(micros)]++;
+        totalCount++;
+        totalMicros += micros;
+        minMicros = Math.min(minMicros, micros);
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    // Returns the number of recorded values
+    public long getCount() {
+        return totalCount;
+    }
+
+    // Returns the smallest bucket value below which the given fraction of samples fall
+    public long percentileMicros(double fraction) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(totalCount * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, target)) {
+                return Math.min(maxMicros, bucketUpperBound(i));
+            }
+        }
+        return maxMicros;
+    }
+
+    // Writes a summary row and one row per non-empty bucket, in CSV form
+    public void write(PrintWriter out, String metric, String tags) {
+        long mean = totalCount == 0 ? 0 : totalMicros / totalCount;
+        out.printf("summary,%s,%s,%d,%d,%d,%d,%d,%d,%d%n", metric, tags, totalCount,
+            totalCount == 0 ? 0 : minMicros, percentileMicros(0.5), percentileMicros(0.9),
+            percentileMicros(0.99), maxMicros, mean);
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) {
+                out.printf("bucket,%s,%s,%d,%d%n", metric, tags, bucketLowerBound(i), counts[i]);
+            }
+        }
+    }
+
+    // Maps a value to its bucket: exact below 16, then 16 linear steps per power of two
+    private static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    private static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (1L << exponent) + ((long) sub << (exponent - SUB_BITS));
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        return bucketLowerBound(index) + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
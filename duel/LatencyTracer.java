@@ -0,0 +1,135 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: LatencyTracer measures end-to-end input latency. The clock
+* starts when a shoot key (W / Up) arrives on the key listener. It stops once
+* for the first painted frame that shows the resulting bullet or direction
+* change, and once when the matching bullet sound starts playing. Results are
+* kept in histograms tagged with the rendering mode and tick rate and can be
+* dumped to a CSV file. Enable with -Dduel.latencyLog=<file>.
+*/
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LatencyTracer {
+    private final LatencyHistogram visualLatency = new LatencyHistogram(); // Paint thread only
+    private final LatencyHistogram audioLatency = new LatencyHistogram();  // Audio thread only
+    private final PendingRing pendingFrames = new PendingRing(64); // Tick thread -> paint thread
+    private final PendingRing pendingSounds = new PendingRing(64); // Tick thread -> audio thread
+    private volatile String renderMode;
+    private final int tickRate;
+
+    public LatencyTracer(String renderMode, int tickRate) {
+        this.renderMode = renderMode;
+        this.tickRate = tickRate;
+    }
+
+    // Creates a tracer that dumps to the file named by -Dduel.latencyLog on exit, or returns null
+    public static LatencyTracer fromSystemProperty(String renderMode, int tickRate) {
+        String file = System.getProperty("duel.latencyLog");
+        if (file == null) {
+            return null;
+        }
+        LatencyTracer tracer = new LatencyTracer(renderMode, tickRate);
+        Path path = Paths.get(file);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> tracer.dump(path), "Latency dump"));
+        return tracer;
+    }
+
+    // Called on the simulation thread when a queued key changed the game during the given tick
+    public void inputApplied(long arrivalNanos, long tick, boolean bulletFired) {
+        pendingFrames.offer(arrivalNanos, tick);
+        if (bulletFired) {
+            pendingSounds.offer(arrivalNanos, tick);
+        }
+    }
+
+    // Called on the paint thread after a frame showing every tick up to renderedTick is drawn
+    public void frameDisplayed(long renderedTick) {
+        long now = System.nanoTime();
+        while (pendingFrames.peek() && pendingFrames.peekedTick() <= renderedTick) {
+            visualLatency.recordNanos(now - pendingFrames.peekedNanos());
+            pendingFrames.remove();
+        }
+    }
+
+    // Called on the audio thread right after the bullet sound for a shot starts, with the SHOT event's tick
+    public void soundStarted(long shotTick) {
+        // Pending entries carry the tick count after their tick ran, the same value frameDisplayed() compares
+        long tick = shotTick + 1;
+        // Keys whose sound never started (a dropped event or a failed clip) are discarded, not paired with later shots
+        while (pendingSounds.peek() && pendingSounds.peekedTick() < tick) {
+            pendingSounds.remove();
+        }
+        // A shot without a pending key (its entry did not fit in the ring) is not measured
+        if (pendingSounds.peek() && pendingSounds.peekedTick() == tick) {
+            audioLatency.recordNanos(System.nanoTime() - pendingSounds.peekedNanos());
+            pendingSounds.remove();
+        }
+    }
+
+    // Updates the rendering mode tag used in the dump
+    public void setRenderMode(String renderMode) {
+        this.renderMode = renderMode;
+    }
+
+    // Writes both histograms as CSV to the given file
+    public void dump(Path path) {
+        String tags = "renderMode=" + renderMode + ";tickRate=" + tickRate;
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path))) {
+            out.println("# row,metric,tags,count,min_us,p50_us,p90_us,p99_us,max_us,mean_us");
+            out.println("# row,metric,tags,bucket_lower_us,count");
+            visualLatency.write(out, "input_to_frame", tags);
+            audioLatency.write(out, "input_to_sound", tags);
+        } catch (IOException e) {
+            System.err.println("Error writing latency log: " + e.getMessage());
+        }
+    }
+
+    // Lock-free single-producer, single-consumer queue of (arrival time, tick) pairs
+    private static class PendingRing {
+        private final long[] nanos;
+        private final long[] ticks;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong(0);
+        private final AtomicLong tail = new AtomicLong(0);
+
+        PendingRing(int capacity) {
+            nanos = new long[capacity];
+            ticks = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        // Adds an entry; if the consumer is not keeping up the entry is simply not measured
+        void offer(long arrivalNanos, long tick) {
+            long h = head.get();
+            if (h - tail.get() >= nanos.length) {
+                return;
+            }
+            nanos[(int) (h & mask)] = arrivalNanos;
+            ticks[(int) (h & mask)] = tick;
+            head.lazySet(h + 1);
+        }
+
+        boolean peek() {
+            return tail.get() < head.get();
+        }
+
+        long peekedNanos() {
+            return nanos[(int) (tail.get() & mask)];
+        }
+
+        long peekedTick() {
+            return ticks[(int) (tail.get() & mask)];
+        }
+
+        void remove() {
+            tail.lazySet(tail.get() + 1);
+        }
+    }
+}
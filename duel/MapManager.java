@@ -6,16 +6,19 @@
  * for backgrounds and obstacles. Powerups are now independent of maps.
  */
 
+import java.util.Arrays;
 import java.util.Random;
 
 public class MapManager {
     // Static inner class to hold map data
     private static class MapData {
+        final String name;
         final String backgroundImage;
         final String obstacleImage;
         
         // Constructor to initialize map assets paths
-        MapData(String backgroundImage, String obstacleImage) {
+        MapData(String name, String backgroundImage, String obstacleImage) {
+            this.name = name;
             this.backgroundImage = backgroundImage;
             this.obstacleImage = obstacleImage;
         }
@@ -23,9 +26,9 @@ public class MapManager {
     
     // Available maps with their corresponding image assets
     private static final MapData[] MAPS = {
-        new MapData("grassBackground.png", "Bush.png"),
-        new MapData("snowBackground.png", "Igloo.png"),
-        new MapData("dirtBackground.png", "Boulder.png")
+        new MapData("Grass", "grassBackground.png", "Bush.png"),
+        new MapData("Snow", "snowBackground.png", "Igloo.png"),
+        new MapData("Dirt", "dirtBackground.png", "Boulder.png")
     };
     
     // Available powerup types - now public static so Powerup class can access them
@@ -36,17 +39,33 @@ public class MapManager {
     };
     
     private MapData currentMap;
+    private MapData nextMap; // Always known ahead of the switch so its assets can be loaded early
     private Random random;
+    // Later maps come from their own generator, so looking up or switching maps never moves the shared one
+    private GameRandom mapRandom;
     
     // Initialize MapManager with a random map selection
     public MapManager() {
-        random = new Random();
-        randomizeMap();
+        this(new Random(), new GameRandom(new Random().nextLong()));
+    }
+
+    // Initialize MapManager drawing the first map and powerup types from a shared generator and later maps from mapRandom
+    public MapManager(Random random, GameRandom mapRandom) {
+        this.random = random;
+        this.mapRandom = mapRandom;
+        currentMap = MAPS[random.nextInt(MAPS.length)];
+        nextMap = MAPS[mapRandom.nextInt(MAPS.length)];
     }
     
-    // Randomly selects a new map from available maps
+    // Switches to the next map and randomly selects the one after it
     public void randomizeMap() {
-        currentMap = MAPS[random.nextInt(MAPS.length)];
+        currentMap = nextMap;
+        nextMap = MAPS[mapRandom.nextInt(MAPS.length)];
+    }
+
+    // Returns the index of the map the next randomizeMap() switches to
+    public int getNextMapIndex() {
+        return Arrays.asList(MAPS).indexOf(nextMap);
     }
     
     // Returns the filename of the current map's background image
@@ -59,6 +78,56 @@ public class MapManager {
         return currentMap.obstacleImage;
     }
     
+    // Returns the display name of the current map
+    public String getMapName() {
+        return currentMap.name;
+    }
+
+    // Returns the display name of a map by index
+    public static String getMapName(int index) {
+        return MAPS[index].name;
+    }
+
+    // Returns the background image filename of a map by index
+    public static String getBackgroundImage(int index) {
+        return MAPS[index].backgroundImage;
+    }
+
+    // Returns the obstacle image filename of a map by index
+    public static String getObstacleImage(int index) {
+        return MAPS[index].obstacleImage;
+    }
+
+    // Returns the index of the map with a display name, or -1
+    public static int findMap(String name) {
+        for (int i = 0; i < MAPS.length; i++) {
+            if (MAPS[i].name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Returns the index of the current map (for saving)
+    public int getMapIndex() {
+        return Arrays.asList(MAPS).indexOf(currentMap);
+    }
+
+    // Switches to a saved map index
+    public void setMapIndex(int index) {
+        currentMap = MAPS[index];
+    }
+
+    // Replaces the next map with a saved map index
+    public void setNextMapIndex(int index) {
+        nextMap = MAPS[index];
+    }
+
+    // Returns the number of available maps
+    public static int getMapCount() {
+        return MAPS.length;
+    }
+    
     // Returns a random powerup type
     public String getRandomPowerupType() {
         return POWERUP_TYPES[random.nextInt(POWERUP_TYPES.length)];
@@ -0,0 +1,828 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: Match holds the complete simulation state of one duel (players,
+* bullets, obstacles, powerups, score, turn flags and timers) and advances it
+* one fixed tick at a time. It has no Swing or sound dependencies, so it can be
+* driven by GamePanel's game loop or headless by tools such as SoakTest.
+* A Match is not thread-safe: only one thread may call into it at a time.
+*/
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+public class Match {
+   // Score needed to win a match
+   public static final int WINNING_SCORE = 10;
+   // Game objects
+   private Player playerLeft;
+   private Player playerRight;
+   private Score score;
+   private Obstacle obstacle;
+   private Powerup powerup;
+   private MapManager mapManager;
+   private GameRandom random;
+   private GameRandom mapRandom; // Picks the maps after the first, apart from random so a lookup cannot change spawns
+   private static final long MAP_SEED_SALT = 0x6D61707300000000L; // Keeps the two generators' sequences apart
+   // Gameplay events published for audio, statistics and the HUD
+   private GameEventQueue events = new GameEventQueue(1024);
+   // Key events waiting to be applied at the start of the next tick
+   private InputQueue input = new InputQueue(64);
+   // Number of ticks run so far, and the optional input latency tracer
+   private volatile long tickCount = 0;
+   private LatencyTracer latencyTracer;
+   // The state is written through a CRC to checksum it without building the bytes
+   private final CRC32 checksumCrc = new CRC32();
+   private final DataOutputStream checksumOut = new DataOutputStream(
+       new CheckedOutputStream(OutputStream.nullOutputStream(), checksumCrc));
+   // Every live projectile, fired or split, in one flat list; split bullets are capped by the budget
+   public static final int MAX_PROJECTILES = 32;
+   private ArrayList<Bullet> projectiles = new ArrayList<>();
+   private ArrayList<Bullet> newSplitBullets = new ArrayList<>();
+   private int nextProjectileId = 0;
+   private long droppedSplitBullets = 0;
+   // Live projectiles per shot (index 0 is the left player's), so a cleared shot is an O(1) check
+   private final int[] liveFromShot = new int[2];
+   // Bullet dimensions
+   int bulletWidth = 50;
+   int bulletHeight = 50;
+   // Turn and bullet management
+   private static final long BULLET_RESET_DELAY = 1000; // 1 second delay
+   private static final long BULLET_RESET_TICKS = TimerWheel.millisToTicks(BULLET_RESET_DELAY);
+   private boolean canShoot = true;
+   private boolean firstPlayerHasShot = false;
+   private boolean secondPlayerHasShot = false;
+   private Player firstShootingPlayer = null;
+   private Player secondShootingPlayer = null;
+   // Shooting animation timing
+   private boolean isLeftPlayerShooting = false;
+   private boolean isRightPlayerShooting = false;
+   private static final long SHOOT_PAUSE_DURATION = 500; // 0.5 seconds pause for shooting
+   private static final long SHOOT_PAUSE_TICKS = TimerWheel.millisToTicks(SHOOT_PAUSE_DURATION);
+   // Tick-driven timers for every timed effect, and the ones owned by the match
+   private TimerWheel timers = new TimerWheel();
+   private TimerWheel.Timer leftShootPauseTimer;
+   private TimerWheel.Timer rightShootPauseTimer;
+   private TimerWheel.Timer bulletResetTimer;
+   private boolean newMatchPending = false;
+   private boolean matchOverPublished = false;
+   // Rounds started so far, counting the first round of every match
+   private int roundCount = 0;
+   // Kinds of timer in a saved timer wheel
+   private static final int TIMER_LEFT_SHOOT_PAUSE = 0;
+   private static final int TIMER_RIGHT_SHOOT_PAUSE = 1;
+   private static final int TIMER_BULLET_RESET = 2;
+   private static final int TIMER_LEFT_UNFREEZE = 3;
+   private static final int TIMER_RIGHT_UNFREEZE = 4;
+   private static final int TIMER_OBSTACLE_REGENERATION = 5;
+   private static final int TIMER_OBSTACLE_INVINCIBILITY = 6;
+   private static final int TIMER_POWERUP_REGENERATION = 7;
+   private static final int TIMER_POWERUP_INVINCIBILITY = 8;
+   private ArrayList<TimerWheel.Timer> pendingTimers = new ArrayList<>();
+   // Collision circles packed once a tick, and again after a hit removes one
+   private final CircleBatch obstacleCircles = new CircleBatch();
+   private final CircleBatch powerupCircles = new CircleBatch();
+
+   // Creates a match on a random map; the seed decides the map and every spawn
+   public Match(long seed) {
+       random = new GameRandom(seed);
+       mapRandom = new GameRandom(seed ^ MAP_SEED_SALT);
+       score = new Score();
+
+       // Initialize map manager and pass to Obstacle, Powerup
+       mapManager = new MapManager(random, mapRandom);
+       obstacle = new Obstacle(GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT, mapManager, timers, random);
+       powerup = new Powerup(GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT, mapManager, timers, random);
+       obstacle.setPowerup(powerup);
+       powerup.setObstacle(obstacle);
+
+       // Timers that end the shooting pause and, as a fallback, the bullet round
+       leftShootPauseTimer = new TimerWheel.Timer(() -> {
+           isLeftPlayerShooting = false;
+           playerLeft.resumeMovement(timers.now());
+       });
+       rightShootPauseTimer = new TimerWheel.Timer(() -> {
+           isRightPlayerShooting = false;
+           playerRight.resumeMovement(timers.now());
+       });
+       bulletResetTimer = new TimerWheel.Timer(() -> {
+           resetBullets();
+           if (!canShoot) {
+               timers.schedule(bulletResetTimer, BULLET_RESET_TICKS);
+           }
+       });
+
+       // Set initial positions
+       obstacle.generateObstaclePositions();
+       powerup.generatePowerupPositions(obstacle.getObstaclePositions());
+       initializeGameObjects();
+   }
+
+   // Starts a new match: clears the score and objects, and optionally picks a new random map
+   public void startNewMatch(boolean newMap) {
+       score.reset();
+       if (newMap) {
+           mapManager.randomizeMap();
+           obstacle.regenerateObstacles();
+       }
+       initializeGameObjects();
+   }
+
+   // Returns the index of the map the next startNewMatch(true) switches to, so its assets can be loaded early
+   public int getNextMapIndex() {
+       return mapManager.getNextMapIndex();
+   }
+
+   // Advances the simulation by one fixed tick
+   public void tick() {
+       FlightEvents.Tick flightEvent = new FlightEvents.Tick();
+       flightEvent.begin();
+       if (newMatchPending) {
+           newMatchPending = false;
+           publishEvent(GameEvent.Type.ROUND_RESET, 0, 0, true, GameEvent.NEW_MATCH);
+       }
+       playerLeft.storePreviousPosition();
+       playerRight.storePreviousPosition();
+       timers.advance();
+       processInput();
+       move();
+       checkCollision();
+       if (!matchOverPublished && isOver()) {
+           matchOverPublished = true;
+           publishEvent(GameEvent.Type.MATCH_OVER, 0, 0, isLeftPlayerWinner(), mapManager.getMapName());
+       }
+       flightEvent.end();
+       if (flightEvent.shouldCommit()) {
+           flightEvent.tick = tickCount;
+           flightEvent.projectiles = projectiles.size();
+           flightEvent.obstacles = obstacle.getObstaclePositions().size();
+           flightEvent.powerups = powerup.getPowerupPositions().size();
+           flightEvent.commit();
+       }
+       tickCount++;
+   }
+
+   // Initialize all game objects
+   private void initializeGameObjects() {
+       createPlayers();
+       projectiles.clear();
+       liveFromShot[0] = 0;
+       liveFromShot[1] = 0;
+       
+       // Reset shooting states
+       canShoot = true;
+       firstPlayerHasShot = false;
+       secondPlayerHasShot = false;
+       firstShootingPlayer = null;
+       secondShootingPlayer = null;
+       isLeftPlayerShooting = false;
+       isRightPlayerShooting = false;
+       timers.cancel(leftShootPauseTimer);
+       timers.cancel(rightShootPauseTimer);
+       timers.cancel(bulletResetTimer);
+       input.clear();
+
+       // Announce the new match on the event stream at the next tick
+       newMatchPending = true;
+       matchOverPublished = false;
+       roundCount++;
+   }
+
+   // Creates both players at their starting positions
+   private void createPlayers() {
+       // A freeze still running would otherwise keep the replaced player on the wheel and unfreeze it later
+       if (playerLeft != null) {
+           timers.cancel(playerLeft.getUnfreezeTimer());
+           timers.cancel(playerRight.getUnfreezeTimer());
+       }
+       playerLeft = new Player(50, GamePanel.GAME_HEIGHT / 2, 25, 100, GamePanel.GAME_HEIGHT, true, timers);
+       playerRight = new Player(GamePanel.GAME_WIDTH - 75, GamePanel.GAME_HEIGHT / 2, 25, 100,
+           GamePanel.GAME_HEIGHT, true, timers);
+   }
+
+   // Queues a key event for the next tick (may be called from any one producer thread)
+   public boolean offerInput(int keyCode, boolean pressed, long arrivalNanos) {
+       return input.offer(keyCode, pressed, arrivalNanos);
+   }
+
+   // Discards queued key events (simulation thread only)
+   public void clearInput() {
+       input.clear();
+   }
+
+   // Returns true once either player has reached the winning score
+   public boolean isOver() {
+       return score.getLeftPlayerScore() >= WINNING_SCORE || score.getRightPlayerScore() >= WINNING_SCORE;
+   }
+
+   // Returns true if the left player won (only meaningful once isOver() is true)
+   public boolean isLeftPlayerWinner() {
+       return score.getLeftPlayerScore() >= WINNING_SCORE;
+   }
+
+   // Copies the drawable state into a render snapshot
+   public void capture(FrameState frame) {
+       frame.capture(tickCount, playerLeft, playerRight, projectiles, obstacle, powerup);
+   }
+
+   // Sets the tracer told when queued keys change the game (null to disable)
+   public void setLatencyTracer(LatencyTracer latencyTracer) {
+       this.latencyTracer = latencyTracer;
+   }
+
+   // Getters
+   public GameEventQueue getEvents() {
+       return events;
+   }
+
+   public Score getScore() {
+       return score;
+   }
+
+   public long getTickCount() {
+       return tickCount;
+   }
+
+   // Number of rounds started so far; it changes at every round boundary
+   public int getRoundCount() {
+       return roundCount;
+   }
+
+   public MapManager getMapManager() {
+       return mapManager;
+   }
+
+   public Obstacle getObstacle() {
+       return obstacle;
+   }
+
+   public Powerup getPowerup() {
+       return powerup;
+   }
+
+   // Size of a newly fired bullet
+   public int getBulletWidth() {
+       return bulletWidth;
+   }
+
+   public int getBulletHeight() {
+       return bulletHeight;
+   }
+
+   public Player getPlayerLeft() {
+       return playerLeft;
+   }
+
+   public Player getPlayerRight() {
+       return playerRight;
+   }
+
+   public TimerWheel getTimers() {
+       return timers;
+   }
+
+   public int getProjectileCount() {
+       return projectiles.size();
+   }
+
+   // Live projectiles in drawing order (read only, and only between ticks)
+   public ArrayList<Bullet> getProjectiles() {
+       return projectiles;
+   }
+
+   // Split bullets not created because the projectile budget was full
+   public long getDroppedSplitBullets() {
+       return droppedSplitBullets;
+   }
+
+   // Updates positions of game objects
+   private void move() {
+        // Players stand still during their shooting pause (ended by the shoot pause timers)
+        if (!isLeftPlayerShooting) {
+            playerLeft.move();
+        }
+        if (!isRightPlayerShooting) {
+            playerRight.move();
+        }
+
+        // Move every projectile; bullets that left the screen are removed in checkCollision()
+        for (int i = 0; i < projectiles.size(); i++) {
+            projectiles.get(i).move();
+        }
+    }
+
+   // Manages shooting logic for both players; returns true if a bullet was fired or the player turned
+   private boolean handlePlayerShoot(Player shooter, Player otherPlayer, boolean isLeftPlayer) {
+        if (canShoot && shooter.hasGun()) {
+            // Handle first player's shot
+            if (!firstPlayerHasShot) {
+                firstPlayerHasShot = true;
+                firstShootingPlayer = shooter;
+                shooter.setHasGun(false);
+                // Check if it is left or right player who shot
+                if (isLeftPlayer) {
+                    isLeftPlayerShooting = true;
+                    timers.schedule(leftShootPauseTimer, SHOOT_PAUSE_TICKS);
+                    //create new bullet
+                    Bullet bullet = new Bullet(
+                        shooter.x + shooter.width,
+                        shooter.y + shooter.height/2,
+                        bulletWidth, bulletHeight,
+                        true
+                    );
+                    addProjectile(bullet, -1);
+                    publishEvent(GameEvent.Type.SHOT, bullet.x, bullet.y, true, null);
+                } else {
+                    isRightPlayerShooting = true;
+                    timers.schedule(rightShootPauseTimer, SHOOT_PAUSE_TICKS);
+                    //create new bullet for right
+                    Bullet bullet = new Bullet(
+                        shooter.x - bulletWidth,
+                        shooter.y + shooter.height/2,
+                        bulletWidth, bulletHeight,
+                        false
+                    );
+                    addProjectile(bullet, -1);
+                    publishEvent(GameEvent.Type.SHOT, bullet.x, bullet.y, false, null);
+                }
+                shooter.shoot(timers.now());
+                return true;
+            }
+            // Handle second player's shot
+            else if (!secondPlayerHasShot && shooter != firstShootingPlayer) {
+                secondPlayerHasShot = true;
+                secondShootingPlayer = shooter;
+                shooter.setHasGun(false);
+                //check if left or right payer
+                if (isLeftPlayer) {
+                    isLeftPlayerShooting = true;
+                    timers.schedule(leftShootPauseTimer, SHOOT_PAUSE_TICKS);
+                    //creates a bullet
+                    Bullet bullet = new Bullet(
+                        shooter.x + shooter.width,
+                        shooter.y + shooter.height/2,
+                        bulletWidth, bulletHeight,
+                        true
+                    );
+                    addProjectile(bullet, -1);
+                    publishEvent(GameEvent.Type.SHOT, bullet.x, bullet.y, true, null);
+                } else {
+                    isRightPlayerShooting = true;
+                    timers.schedule(rightShootPauseTimer, SHOOT_PAUSE_TICKS);
+                    //creates a bulllet for right player
+                    Bullet bullet = new Bullet(
+                        shooter.x - bulletWidth,
+                        shooter.y + shooter.height/2,
+                        bulletWidth, bulletHeight,
+                        false
+                    );
+                    addProjectile(bullet, -1);
+                    publishEvent(GameEvent.Type.SHOT, bullet.x, bullet.y, false, null);
+                }
+                shooter.shoot(timers.now());
+                canShoot = false;  // Prevent further shooting until bullets are cleared
+                timers.schedule(bulletResetTimer, BULLET_RESET_TICKS);
+                return true;
+            }
+        } else if (!shooter.hasGun()) {
+            shooter.setYDirection(-shooter.getYDirection());
+            shooter.move();
+            return true;
+        }
+        return false;
+    }
+
+
+   // Starts latency measurement for the key just applied, if tracing is on
+   private void traceInput(boolean bulletFired) {
+        if (latencyTracer != null) {
+            latencyTracer.inputApplied(input.getTimeNanos(), tickCount + 1, bulletFired);
+        }
+    }
+
+   // Handles bullet clearing and turn management
+   private void handleBulletCleared() {
+        // Only proceed if both players have shot AND all of their projectiles are cleared
+        if (firstPlayerHasShot && secondPlayerHasShot && allProjectilesCleared()) {
+            resetBullets();
+        }
+    }
+
+   // Resets bullet and turn state for new round
+   private void resetBullets() {
+        if (allProjectilesCleared()) {
+            canShoot = true;
+            firstPlayerHasShot = false;
+            secondPlayerHasShot = false;
+            firstShootingPlayer = null;
+            secondShootingPlayer = null;
+            playerLeft.setHasGun(true);
+            playerRight.setHasGun(true);
+            roundCount++;
+            publishEvent(GameEvent.Type.ROUND_RESET, 0, 0, true, null);
+        }
+    }
+
+   // Publishes a gameplay event stamped with the current score
+   private void publishEvent(GameEvent.Type type, int x, int y, boolean leftPlayer, String detail) {
+        events.publish(type, x, y, leftPlayer, detail,
+            score.getLeftPlayerScore(), score.getRightPlayerScore(), tickCount);
+    }
+
+   // Applies the key events queued since the last tick, in arrival order
+   private void processInput() {
+        while (input.poll()) {
+            boolean pressed = input.isPressed();
+            switch (input.getKeyCode()) {
+                case KeyEvent.VK_W:
+                    if (pressed) {
+                        boolean hadGun = playerLeft.hasGun();
+                        if (handlePlayerShoot(playerLeft, playerRight, true)) {
+                            traceInput(hadGun && !playerLeft.hasGun());
+                        }
+                    } else if (!isLeftPlayerShooting) {
+                        // Only resume movement if not in shooting animation
+                        playerLeft.resumeMovement(timers.now());
+                    }
+                    break;
+                case KeyEvent.VK_UP:
+                    if (pressed) {
+                        boolean hadGun = playerRight.hasGun();
+                        if (handlePlayerShoot(playerRight, playerLeft, false)) {
+                            traceInput(hadGun && !playerRight.hasGun());
+                        }
+                    } else if (!isRightPlayerShooting) {
+                        playerRight.resumeMovement(timers.now());
+                    }
+                    break;
+            }
+        }
+    }
+
+   // Removes bullets from the game when necessary
+   private void cleanupBullet(Bullet bullet) {
+        if (bullet != null && bullet.hasFreezeEffect()) {
+            Player playerToUnfreeze = bullet.getPlayerToUnfreeze();
+            if (playerToUnfreeze != null) {
+                // Clear reference to freeze effect
+                bullet.setFreezeEffect(false, null);
+            }
+        }
+    }
+
+   // Checks and handles game object collisions for every projectile
+   private void checkCollision() {
+    // Split bullets created during this pass are appended past count and first checked next tick
+    int count = projectiles.size();
+    boolean removed = false;
+    if (count > 0) {
+        obstacle.packCircles(obstacleCircles);
+        powerup.packCircles(powerupCircles);
+    }
+    for (int i = 0; i < count; i++) {
+        if (handleBulletCollisions(projectiles.get(i))) {
+            removeProjectile(i);
+            removed = true;
+        }
+    }
+    if (removed) {
+        projectiles.removeIf(Objects::isNull);
+    }
+    
+    // Check if we need to handle bullet cleared
+    handleBulletCleared();
+    }
+
+    // Handles one projectile's collisions; returns true if it should be removed
+    private boolean handleBulletCollisions(Bullet currentBullet) {
+        // Check if bullet is out of bounds
+        if (currentBullet.isOutOfBounds(GamePanel.GAME_WIDTH)) {
+            return true;
+        }
+        
+        // Check player collisions
+        if (currentBullet.isFromLeftPlayer()) {
+            if (currentBullet.collidesWith(playerRight)) {
+                score.scoreLeftPlayer();
+                publishEvent(GameEvent.Type.PLAYER_HIT, currentBullet.x, currentBullet.y, false, null);
+                return true;
+            } else if (currentBullet.collidesWith(playerLeft)) {
+                score.scoreRightPlayer();
+                publishEvent(GameEvent.Type.PLAYER_HIT, currentBullet.x, currentBullet.y, true, null);
+                return true;
+            }
+        } else {
+            if (currentBullet.collidesWith(playerLeft)) {
+                score.scoreRightPlayer();
+                publishEvent(GameEvent.Type.PLAYER_HIT, currentBullet.x, currentBullet.y, true, null);
+                return true;
+            } else if (currentBullet.collidesWith(playerRight)) {
+                score.scoreLeftPlayer();
+                publishEvent(GameEvent.Type.PLAYER_HIT, currentBullet.x, currentBullet.y, false, null);
+                return true;
+            }
+        }
+        
+        // Check powerup collisions (the first powerup on the bullet's path this tick)
+        int hit = powerupCircles.firstHit(currentBullet.getPreviousX() + currentBullet.width / 2,
+            currentBullet.getPreviousY() + currentBullet.height / 2,
+            currentBullet.x + currentBullet.width / 2, currentBullet.y + currentBullet.height / 2);
+        if (hit >= 0) {
+            Point powerupPosition = powerup.getPowerupPositions().get(hit);
+            String powerupType = powerup.activatePowerup(powerupPosition, currentBullet, 
+                currentBullet.isFromLeftPlayer() ? playerRight : playerLeft);
+            powerup.packCircles(powerupCircles); // The activated powerup is gone
+            adoptSplitBullets(currentBullet);
+            
+            // Consumers pick the matching sound and stats from the powerup type
+            publishEvent(GameEvent.Type.POWERUP_ACTIVATED, powerupPosition.x, powerupPosition.y,
+                currentBullet.isFromLeftPlayer(), powerupType);
+            FlightEvents.powerupActivated(tickCount, powerupType, currentBullet.isFromLeftPlayer());
+            if (powerupType.equals("Freeze")) {
+                publishEvent(GameEvent.Type.FROZEN, powerupPosition.x, powerupPosition.y,
+                    !currentBullet.isFromLeftPlayer(), null);
+            }
+        }
+        
+        // Check obstacle collisions, from the bullet's center after any Big Bullet resize
+        int centerX = currentBullet.x + currentBullet.width / 2;
+        int centerY = currentBullet.y + currentBullet.height / 2;
+        hit = obstacleCircles.firstHit(currentBullet.getPreviousX() + currentBullet.width / 2,
+            currentBullet.getPreviousY() + currentBullet.height / 2, centerX, centerY);
+        if (hit >= 0) {
+            Point obstaclePosition = obstacle.getObstaclePositions().get(hit);
+            Point obstacleCenter = obstacle.getCircleCenter(obstaclePosition);
+            // Bouncing off an obstacle also breaks it
+            currentBullet.reflect(new Point(centerX, centerY), obstacleCenter);
+            obstacle.breakObstacle(obstaclePosition);
+            obstacle.packCircles(obstacleCircles);
+            publishEvent(GameEvent.Type.BOUNCE, obstacleCenter.x, obstacleCenter.y,
+                currentBullet.isFromLeftPlayer(), null);
+            FlightEvents.bounce(tickCount, obstacleCenter.x, obstacleCenter.y, currentBullet.isFromLeftPlayer());
+            publishEvent(GameEvent.Type.OBSTACLE_BROKEN, obstaclePosition.x, obstaclePosition.y,
+                currentBullet.isFromLeftPlayer(), null);
+        }
+        return false;
+    }
+
+   // Adds a projectile to the flat list and counts it against its shot (package-private for ProjectileBudgetTest)
+   void addProjectile(Bullet bullet, int parentId) {
+        bullet.setIds(nextProjectileId++, parentId);
+        projectiles.add(bullet);
+        liveFromShot[shotIndex(bullet)]++;
+    }
+
+   // Adds the split bullets a Bomb just created, as far as the projectile budget allows
+   private void adoptSplitBullets(Bullet parent) {
+        parent.takeSplitBullets(newSplitBullets);
+        for (int i = 0; i < newSplitBullets.size(); i++) {
+            // Count live projectiles, not list slots: bullets removed earlier in this pass are still nulls in the list
+            if (liveFromShot[0] + liveFromShot[1] < MAX_PROJECTILES) {
+                addProjectile(newSplitBullets.get(i), parent.getId());
+            } else {
+                droppedSplitBullets++;
+            }
+        }
+        newSplitBullets.clear();
+    }
+
+   // Takes a projectile out of play; the list is compacted after the collision pass
+   private void removeProjectile(int index) {
+        Bullet bullet = projectiles.get(index);
+        projectiles.set(index, null);
+        liveFromShot[shotIndex(bullet)]--;
+        cleanupBullet(bullet);
+    }
+
+   // Each player has at most one shot in flight per round, so shots are indexed by side
+   private static int shotIndex(Bullet bullet) {
+        return bullet.isFromLeftPlayer() ? 0 : 1;
+    }
+
+   // Returns true once every projectile from both shots is gone
+   private boolean allProjectilesCleared() {
+        return liveFromShot[0] == 0 && liveFromShot[1] == 0;
+    }
+
+   // CRC32 of the complete simulation state; two runs with the same seed and inputs match tick for tick
+   public long checksum() {
+        checksumCrc.reset();
+        try {
+            writeState(checksumOut);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return checksumCrc.getValue();
+    }
+
+   // Writes the complete simulation state between ticks (queued input and published events are not included)
+   public void writeState(DataOutput out) throws IOException {
+        out.writeLong(random.getState());
+        out.writeByte(mapManager.getMapIndex());
+        out.writeByte(mapManager.getNextMapIndex());
+        out.writeLong(mapRandom.getState());
+        out.writeLong(tickCount);
+        out.writeInt(roundCount);
+        out.writeShort(score.getLeftPlayerScore());
+        out.writeShort(score.getRightPlayerScore());
+
+        // Turn flags
+        out.writeBoolean(canShoot);
+        out.writeBoolean(firstPlayerHasShot);
+        out.writeBoolean(secondPlayerHasShot);
+        out.writeByte(side(firstShootingPlayer));
+        out.writeByte(side(secondShootingPlayer));
+        out.writeBoolean(isLeftPlayerShooting);
+        out.writeBoolean(isRightPlayerShooting);
+        out.writeBoolean(newMatchPending);
+
+        playerLeft.writeState(out);
+        playerRight.writeState(out);
+        obstacle.writeState(out);
+        powerup.writeState(out);
+
+        out.writeInt(nextProjectileId);
+        out.writeLong(droppedSplitBullets);
+        out.writeByte(projectiles.size());
+        for (int i = 0; i < projectiles.size(); i++) {
+            projectiles.get(i).writeState(out, playerLeft);
+        }
+        writeTimers(out);
+    }
+
+   // Replaces the simulation state with one written by writeState
+   public void readState(DataInput in) throws IOException {
+        random.setState(in.readLong());
+        int map = in.readUnsignedByte();
+        if (map >= MapManager.getMapCount()) {
+            throw new IOException("Unknown map " + map);
+        }
+        mapManager.setMapIndex(map);
+        int nextMap = in.readUnsignedByte();
+        if (nextMap >= MapManager.getMapCount()) {
+            throw new IOException("Unknown map " + nextMap);
+        }
+        mapManager.setNextMapIndex(nextMap);
+        mapRandom.setState(in.readLong());
+        tickCount = in.readLong();
+        roundCount = in.readInt();
+        score.setScores(in.readShort(), in.readShort());
+
+        canShoot = in.readBoolean();
+        firstPlayerHasShot = in.readBoolean();
+        secondPlayerHasShot = in.readBoolean();
+        int firstSide = in.readByte();
+        int secondSide = in.readByte();
+        isLeftPlayerShooting = in.readBoolean();
+        isRightPlayerShooting = in.readBoolean();
+        newMatchPending = in.readBoolean();
+        matchOverPublished = isOver();
+
+        // Drop every timer first; the saved ones are put back last
+        timers.reset(timers.now());
+        input.clear();
+        createPlayers();
+        playerLeft.readState(in);
+        playerRight.readState(in);
+        firstShootingPlayer = player(firstSide);
+        secondShootingPlayer = player(secondSide);
+        obstacle.readState(in);
+        powerup.readState(in);
+
+        nextProjectileId = in.readInt();
+        droppedSplitBullets = in.readLong();
+        projectiles.clear();
+        liveFromShot[0] = 0;
+        liveFromShot[1] = 0;
+        int count = in.readUnsignedByte();
+        for (int i = 0; i < count; i++) {
+            Bullet bullet = Bullet.readState(in, playerLeft, playerRight);
+            projectiles.add(bullet);
+            liveFromShot[shotIndex(bullet)]++;
+        }
+        readTimers(in);
+    }
+
+   // Writes every pending timer in wheel order, so timers due on the same tick run in the same order after loading
+   private void writeTimers(DataOutput out) throws IOException {
+        pendingTimers.clear();
+        timers.getPendingTimers(pendingTimers);
+        int count = 0;
+        for (int i = 0; i < pendingTimers.size(); i++) {
+            if (timerKind(pendingTimers.get(i)) >= 0) {
+                count++;
+            }
+        }
+        out.writeLong(timers.now());
+        out.writeShort(count);
+        for (int i = 0; i < pendingTimers.size(); i++) {
+            TimerWheel.Timer timer = pendingTimers.get(i);
+            int kind = timerKind(timer);
+            if (kind < 0) {
+                continue; // Left over from an earlier map and does nothing when it runs
+            }
+            out.writeByte(kind);
+            out.writeByte(timer.getLevel());
+            out.writeShort(timer.getSlot());
+            out.writeLong(timer.getDeadline());
+            if (kind == TIMER_OBSTACLE_INVINCIBILITY || kind == TIMER_POWERUP_INVINCIBILITY) {
+                Point position = kind == TIMER_OBSTACLE_INVINCIBILITY
+                    ? obstacle.getInvinciblePosition(timer) : powerup.getInvinciblePosition(timer);
+                out.writeShort(position.x);
+                out.writeShort(position.y);
+            }
+        }
+        pendingTimers.clear();
+    }
+
+   // Recreates the saved timers and puts each back in its place on the wheel
+   private void readTimers(DataInput in) throws IOException {
+        timers.reset(in.readLong());
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            int kind = in.readUnsignedByte();
+            int level = in.readUnsignedByte();
+            int slot = in.readUnsignedShort();
+            long deadline = in.readLong();
+            TimerWheel.Timer timer;
+            switch (kind) {
+                case TIMER_LEFT_SHOOT_PAUSE:
+                    timer = leftShootPauseTimer;
+                    break;
+                case TIMER_RIGHT_SHOOT_PAUSE:
+                    timer = rightShootPauseTimer;
+                    break;
+                case TIMER_BULLET_RESET:
+                    timer = bulletResetTimer;
+                    break;
+                case TIMER_LEFT_UNFREEZE:
+                    timer = playerLeft.getUnfreezeTimer();
+                    break;
+                case TIMER_RIGHT_UNFREEZE:
+                    timer = playerRight.getUnfreezeTimer();
+                    break;
+                case TIMER_OBSTACLE_REGENERATION:
+                    timer = obstacle.restoreRegenerationTimer();
+                    break;
+                case TIMER_OBSTACLE_INVINCIBILITY:
+                    timer = obstacle.restoreInvincibilityTimer(new Point(in.readShort(), in.readShort()));
+                    break;
+                case TIMER_POWERUP_REGENERATION:
+                    timer = powerup.restoreRegenerationTimer();
+                    break;
+                case TIMER_POWERUP_INVINCIBILITY:
+                    timer = powerup.restoreInvincibilityTimer(new Point(in.readShort(), in.readShort()));
+                    break;
+                default:
+                    throw new IOException("Unknown timer kind " + kind);
+            }
+            if (!timers.isValidPlace(level, slot) || deadline <= timers.now()) {
+                throw new IOException("Timer out of range");
+            }
+            timers.restore(timer, level, slot, deadline);
+        }
+    }
+
+   // Returns the saved kind of a pending timer, or -1 for one that no longer does anything
+   private int timerKind(TimerWheel.Timer timer) {
+        if (timer == leftShootPauseTimer) {
+            return TIMER_LEFT_SHOOT_PAUSE;
+        } else if (timer == rightShootPauseTimer) {
+            return TIMER_RIGHT_SHOOT_PAUSE;
+        } else if (timer == bulletResetTimer) {
+            return TIMER_BULLET_RESET;
+        } else if (timer == playerLeft.getUnfreezeTimer()) {
+            return TIMER_LEFT_UNFREEZE;
+        } else if (timer == playerRight.getUnfreezeTimer()) {
+            return TIMER_RIGHT_UNFREEZE;
+        } else if (obstacle.isRegenerationTimer(timer)) {
+            return TIMER_OBSTACLE_REGENERATION;
+        } else if (obstacle.getInvinciblePosition(timer) != null) {
+            return TIMER_OBSTACLE_INVINCIBILITY;
+        } else if (powerup.isRegenerationTimer(timer)) {
+            return TIMER_POWERUP_REGENERATION;
+        } else if (powerup.getInvinciblePosition(timer) != null) {
+            return TIMER_POWERUP_INVINCIBILITY;
+        }
+        return -1;
+    }
+
+   // Saved form of a player reference: 0 for none, 1 for left, 2 for right
+   private int side(Player player) {
+        return player == null ? 0 : player == playerLeft ? 1 : 2;
+    }
+
+   private Player player(int side) {
+        return side == 1 ? playerLeft : side == 2 ? playerRight : null;
+    }
+}
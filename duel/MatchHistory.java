@@ -0,0 +1,335 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: MatchHistory keeps every finished match in an append-only log of
+* memory-mapped segment files, with a small in-memory index for quick queries
+* (totals and wins per side for all maps or one map, and the most recent
+* matches overall or on one map).
+* Each segment starts with a 64-byte header ("DUELHIS1", int version, int
+* record size) followed by fixed 64-byte records. A record is written body
+* first, then its CRC32, then its marker, so after a crash a torn record fails
+* its check and is overwritten by the next append. A full segment is sealed and
+* a new one started. Records are never changed once written.
+* Keep history with -Dduel.history=<directory>; print it with java MatchHistory <directory>.
+*/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+public class MatchHistory {
+    private static final byte[] MAGIC = "DUELHIS1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int RECORD_BYTES = 64;
+    private static final int RECORD_MARKER = 0x4D415443; // "MATC", written last
+    public static final int DEFAULT_SEGMENT_BYTES = 1 << 20; // 16383 matches per segment
+    public static final int ALL_MAPS = -1;
+    private final Path directory;
+    private final int segmentBytes;
+    private final int recordsPerSegment;
+    // Mapped segments in order; only the last one is written to
+    private final ArrayList<MappedByteBuffer> segments = new ArrayList<>();
+    private int activeCount; // Records in the last segment
+    private long size; // Records in the whole log
+    // In-memory index: totals per map (the last entry covers all maps) and each map's record numbers
+    private final Summary[] summaries;
+    private final long[][] mapRecords;
+    private final int[] mapRecordCounts;
+    private final CRC32 crc = new CRC32();
+    private final byte[] body = new byte[RECORD_BYTES];
+
+    // Returns the history in -Dduel.history, or null if history is off or cannot be opened
+    public static MatchHistory fromSystemProperty() {
+        String directory = System.getProperty("duel.history");
+        if (directory == null) {
+            return null;
+        }
+        try {
+            return new MatchHistory(Paths.get(directory), DEFAULT_SEGMENT_BYTES);
+        } catch (IOException e) {
+            System.err.println("Error opening match history: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Opens (or creates) the history in a directory and rebuilds the index from its segments
+    public MatchHistory(Path directory, int segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.recordsPerSegment = segmentBytes / RECORD_BYTES - 1;
+        if (recordsPerSegment < 1) {
+            throw new IllegalArgumentException("Segment too small");
+        }
+        int maps = MapManager.getMapCount();
+        summaries = new Summary[maps + 1];
+        for (int i = 0; i < summaries.length; i++) {
+            summaries[i] = new Summary();
+        }
+        mapRecords = new long[maps][16];
+        mapRecordCounts = new int[maps];
+
+        Files.createDirectories(directory);
+        for (int number = 0; Files.exists(segmentPath(number)); number++) {
+            MappedByteBuffer segment = map(segmentPath(number));
+            segments.add(segment);
+            activeCount = 0;
+            Record record = new Record();
+            while (activeCount < recordsPerSegment && read(segment, activeCount, record)) {
+                index(size, record);
+                activeCount++;
+                size++;
+            }
+            if (activeCount < recordsPerSegment && Files.exists(segmentPath(number + 1))) {
+                throw new IOException("segment " + number + " is damaged after record " + activeCount);
+            }
+        }
+        if (segments.isEmpty()) {
+            startSegment();
+        }
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("history-%06d.seg", number));
+    }
+
+    // Maps a segment file, writing the header if it is new
+    private MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean created = channel.size() == 0;
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            if (created) {
+                segment.put(0, MAGIC);
+                segment.putInt(MAGIC.length, VERSION);
+                segment.putInt(MAGIC.length + 4, RECORD_BYTES);
+                segment.force();
+            } else {
+                byte[] magic = new byte[MAGIC.length];
+                segment.get(0, magic);
+                if (!Arrays.equals(magic, MAGIC) || segment.getInt(MAGIC.length) != VERSION
+                        || segment.getInt(MAGIC.length + 4) != RECORD_BYTES) {
+                    throw new IOException(file + " is not a version " + VERSION + " history segment");
+                }
+            }
+            return segment;
+        }
+    }
+
+    private void startSegment() throws IOException {
+        segments.add(map(segmentPath(segments.size())));
+        activeCount = 0;
+    }
+
+    // Appends a finished match and makes it durable; returns its record number
+    public synchronized long append(Record record) throws IOException {
+        if (record.map < 0 || record.map >= mapRecords.length) {
+            throw new IllegalArgumentException("Unknown map " + record.map);
+        }
+        if (activeCount == recordsPerSegment) {
+            startSegment();
+        }
+        MappedByteBuffer segment = segments.get(segments.size() - 1);
+        int offset = (activeCount + 1) * RECORD_BYTES;
+
+        // Body, then CRC, then the marker that makes the record count
+        ByteBuffer out = ByteBuffer.wrap(body);
+        out.putInt(0, 0);
+        out.putInt(4, 0);
+        out.putLong(8, record.endedAtMillis);
+        out.putLong(16, record.durationTicks);
+        out.put(24, (byte) record.map);
+        out.put(25, (byte) (record.leftWon ? 0 : 1));
+        out.putShort(26, (short) record.leftScore);
+        out.putShort(28, (short) record.rightScore);
+        out.putShort(30, (short) record.rounds);
+        out.putInt(32, record.leftShots);
+        out.putInt(36, record.rightShots);
+        out.putInt(40, record.bounces);
+        out.putInt(44, record.powerups);
+        out.putInt(48, record.freezes);
+        out.putInt(52, record.obstaclesBroken);
+        out.putLong(56, 0);
+        segment.putInt(offset, 0); // The slot may hold a torn record from before a crash
+        segment.put(offset + 8, body, 8, RECORD_BYTES - 8);
+        segment.putInt(offset + 4, checksum(body));
+        segment.force(offset, RECORD_BYTES);
+        segment.putInt(offset, RECORD_MARKER);
+        segment.force(offset, 4);
+
+        long number = size;
+        index(number, record);
+        activeCount++;
+        size++;
+        return number;
+    }
+
+    private int checksum(byte[] bytes) {
+        crc.reset();
+        crc.update(bytes, 8, RECORD_BYTES - 8);
+        return (int) crc.getValue();
+    }
+
+    // Reads one record slot; returns false if it is empty or torn
+    private boolean read(MappedByteBuffer segment, int slot, Record into) {
+        int offset = (slot + 1) * RECORD_BYTES;
+        if (segment.getInt(offset) != RECORD_MARKER) {
+            return false;
+        }
+        segment.get(offset, body);
+        if (segment.getInt(offset + 4) != checksum(body)) {
+            return false;
+        }
+        ByteBuffer in = ByteBuffer.wrap(body);
+        into.endedAtMillis = in.getLong(8);
+        into.durationTicks = in.getLong(16);
+        into.map = in.get(24);
+        into.leftWon = in.get(25) == 0;
+        into.leftScore = in.getShort(26);
+        into.rightScore = in.getShort(28);
+        into.rounds = in.getShort(30);
+        into.leftShots = in.getInt(32);
+        into.rightShots = in.getInt(36);
+        into.bounces = in.getInt(40);
+        into.powerups = in.getInt(44);
+        into.freezes = in.getInt(48);
+        into.obstaclesBroken = in.getInt(52);
+        return into.map >= 0 && into.map < mapRecords.length;
+    }
+
+    // Adds a record to the per-map totals and record lists
+    private void index(long number, Record record) {
+        summaries[record.map].add(record);
+        summaries[summaries.length - 1].add(record);
+        long[] numbers = mapRecords[record.map];
+        if (mapRecordCounts[record.map] == numbers.length) {
+            numbers = mapRecords[record.map] = Arrays.copyOf(numbers, numbers.length * 2);
+        }
+        numbers[mapRecordCounts[record.map]++] = number;
+    }
+
+    // Number of matches recorded
+    public synchronized long size() {
+        return size;
+    }
+
+    // Reads a match by record number (0 is the oldest)
+    public synchronized Record get(long number) {
+        if (number < 0 || number >= size) {
+            throw new IndexOutOfBoundsException("No record " + number);
+        }
+        Record record = new Record();
+        read(segments.get((int) (number / recordsPerSegment)), (int) (number % recordsPerSegment), record);
+        return record;
+    }
+
+    // Totals and wins per side for one map, or ALL_MAPS
+    public synchronized Summary getSummary(int map) {
+        return summaries[map == ALL_MAPS ? summaries.length - 1 : map].copy();
+    }
+
+    // Adds up to count of the most recent matches, newest first, for one map or ALL_MAPS
+    public synchronized void getRecent(int count, int map, ArrayList<Record> into) {
+        if (map == ALL_MAPS) {
+            for (long number = size - 1; number >= 0 && number >= size - count; number--) {
+                into.add(get(number));
+            }
+        } else {
+            int last = mapRecordCounts[map] - 1;
+            for (int i = last; i >= 0 && i > last - count; i--) {
+                into.add(get(mapRecords[map][i]));
+            }
+        }
+    }
+
+    // One finished match
+    public static class Record {
+        public long endedAtMillis; // Wall-clock time the match ended
+        public long durationTicks;
+        public int map; // MapManager map index
+        public boolean leftWon;
+        public int leftScore;
+        public int rightScore;
+        public int rounds;
+        public int leftShots;
+        public int rightShots;
+        public int bounces;
+        public int powerups; // Powerups triggered
+        public int freezes;
+        public int obstaclesBroken;
+
+        public String toString() {
+            return String.format("%tF %<tT  %-5s %2d:%-2d  %s won  %5.1f s  %d rounds  shots %d/%d  bounces %d  powerups %d",
+                endedAtMillis, MapManager.getMapName(map), leftScore, rightScore, leftWon ? "left " : "right",
+                durationTicks / (double) GamePanel.TICKS_PER_SECOND, rounds, leftShots, rightShots, bounces, powerups);
+        }
+    }
+
+    // Running totals over a set of matches; the head-to-head record is leftWins against rightWins
+    public static class Summary {
+        public long matches;
+        public long leftWins;
+        public long rightWins;
+        public long totalTicks;
+        public long shots;
+        public long bounces;
+        public long powerups;
+
+        void add(Record record) {
+            matches++;
+            if (record.leftWon) {
+                leftWins++;
+            } else {
+                rightWins++;
+            }
+            totalTicks += record.durationTicks;
+            shots += record.leftShots + record.rightShots;
+            bounces += record.bounces;
+            powerups += record.powerups;
+        }
+
+        Summary copy() {
+            Summary copy = new Summary();
+            copy.matches = matches;
+            copy.leftWins = leftWins;
+            copy.rightWins = rightWins;
+            copy.totalTicks = totalTicks;
+            copy.shots = shots;
+            copy.bounces = bounces;
+            copy.powerups = powerups;
+            return copy;
+        }
+
+        public String toString() {
+            return String.format("%d matches, left %d : %d right, %.1f s average, %d shots, %d bounces, %d powerups",
+                matches, leftWins, rightWins,
+                matches == 0 ? 0.0 : totalTicks / (double) matches / GamePanel.TICKS_PER_SECOND,
+                shots, bounces, powerups);
+        }
+    }
+
+    // Prints the totals per map and the most recent matches
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java MatchHistory <history directory> [recent matches]");
+            return;
+        }
+        int recent = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        MatchHistory history = new MatchHistory(Paths.get(args[0]), DEFAULT_SEGMENT_BYTES);
+        System.out.println("All maps: " + history.getSummary(ALL_MAPS));
+        for (int map = 0; map < MapManager.getMapCount(); map++) {
+            System.out.println(MapManager.getMapName(map) + ": " + history.getSummary(map));
+        }
+        ArrayList<Record> records = new ArrayList<>();
+        history.getRecent(recent, ALL_MAPS, records);
+        System.out.println("Most recent:");
+        for (Record record : records) {
+            System.out.println("  " + record);
+        }
+    }
+}
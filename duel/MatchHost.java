@@ -0,0 +1,400 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: MatchHost runs many independent real-time matches in one
+* process, for example one per arcade cabinet connected to the same box. Each
+* match has its own seed, state and input queue. Instead of a busy thread per
+* match (as GamePanel.run() does for the one local match), a small pool of
+* worker threads shares the matches, in batches. Every worker waits for each
+* 60 Hz tick deadline itself and then claims batches from that tick's round
+* until none are left, so no batch waits for one thread to wake another.
+* A parked thread can wake milliseconds late on a busy or virtualized machine,
+* so workers park until SPIN_NANOS before the deadline and spin the rest. Only
+* as many workers as there are batches spin; the others, and all of them while
+* no match is hosted, park until the deadline. -Dduel.hostSpinMicros sets the
+* spin (default 300, 0 to only park).
+* A batch that is still running when the next deadline comes is not claimed
+* twice; it runs every tick that is due when it next starts, so a slow tick
+* delays a match but never loses it, up to MAX_CATCH_UP_TICKS after which the
+* oldest ticks are skipped and counted.
+* For every match the host records how late each tick started after its
+* deadline and how many deadlines were missed by a whole tick or more.
+* A finished match starts a new one on a new map straight away.
+* Usage: java MatchHost [matches] [workers] [seconds] [per-match report file]
+* runs that many matches with random fire presses and reports their lateness.
+* An unmeasured run of WARMUP_SECONDS under the same load comes first, so the
+* measured one does not share the CPU with the JIT compiling the simulation.
+* The run fails (exit status 1) if any match missed a deadline or skipped a
+* tick. On a machine whose CPUs are themselves paused now and then (a busy
+* virtual machine), -Dduel.hostMissTolerance=<count> allows that many missed
+* deadlines in total; the tolerance is printed with the verdict, and a match
+* that skipped a tick or started 1% of its ticks a tick late still fails.
+*/
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+public class MatchHost {
+    public static final int DEFAULT_BATCH_SIZE = 32;
+    private static final long NANOS_PER_TICK = 1000000000L / GamePanel.TICKS_PER_SECOND;
+    // A match further behind than this skips its oldest ticks instead of running them all at once
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    // Spun before each deadline instead of trusting parkNanos
+    private static final long SPIN_NANOS = Long.getLong("duel.hostSpinMicros", 300) * 1000;
+    private static final int WARMUP_SECONDS = 15; // Load run by main before the measured one
+    private final int batchSize;
+    private final Thread[] workers;
+    private final ArrayList<Batch> batches = new ArrayList<>(); // Guarded by this
+    private volatile Batch[] scheduled = new Batch[0]; // Copy the workers read without locking
+    private final AtomicReference<Round> round = new AtomicReference<>(new Round(-1, new Batch[0]));
+    private volatile boolean running = false;
+    private volatile long startNanos;
+    private int nextId = 0;
+
+    public MatchHost(int workerCount) {
+        this(workerCount, DEFAULT_BATCH_SIZE);
+    }
+
+    public MatchHost(int workerCount, int batchSize) {
+        this.batchSize = batchSize;
+        workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            int index = i;
+            workers[i] = new Thread(() -> work(index), "Match worker " + i);
+            workers[i].setDaemon(true);
+        }
+    }
+
+    // Starts the tick clock; matches added before or after start run from the next tick
+    public synchronized void start() {
+        // A new match on a map whose obstacle sprite is not decoded yet would stall its whole batch
+        for (int map = 0; map < MapManager.getMapCount(); map++) {
+            try {
+                AssetCache.getShared().get(MapManager.getObstacleImage(map));
+            } catch (IOException e) {
+                System.err.println("Error loading map assets: " + e.getMessage());
+            }
+        }
+        startNanos = System.nanoTime();
+        running = true;
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    // Stops running ticks and waits for the batches already claimed to finish
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    // Adds a match with its own seed; it runs from the next tick deadline
+    public synchronized HostedMatch addMatch(long seed) {
+        HostedMatch hosted = new HostedMatch(nextId++, seed, running ? currentTick() + 1 : 0);
+        Batch batch = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+        if (batch == null || batch.matches.length == batchSize) {
+            batch = new Batch();
+            batches.add(batch);
+        }
+        batch.add(hosted);
+        scheduled = batches.toArray(new Batch[0]);
+        return hosted;
+    }
+
+    // Every hosted match in the order they were added
+    public synchronized ArrayList<HostedMatch> getMatches() {
+        ArrayList<HostedMatch> all = new ArrayList<>();
+        for (Batch batch : batches) {
+            all.addAll(Arrays.asList(batch.matches));
+        }
+        return all;
+    }
+
+    // The last tick whose deadline has passed
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / NANOS_PER_TICK;
+    }
+
+    private long deadline(long tick) {
+        return startNanos + tick * NANOS_PER_TICK;
+    }
+
+    // Worker thread: at every tick deadline, claims and runs batches from that tick's round until none are left
+    private void work(int index) {
+        long tick = 0;
+        while (running) {
+            long wait = deadline(tick) - System.nanoTime();
+            // A worker beyond the batch count would find nothing left to claim on time, so it does not spin for it
+            long spin = index < scheduled.length ? SPIN_NANOS : 0;
+            if (wait > spin) {
+                LockSupport.parkNanos(wait - spin);
+                continue; // Woken early or unparked; check again
+            }
+            if (wait > 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            // The first worker past the deadline opens the round; the others join it
+            Round current = round.get();
+            if (current.tick < tick) {
+                Round opened = new Round(tick, scheduled);
+                current = round.compareAndSet(current, opened) ? opened : round.get();
+            }
+            current.runBatches();
+            // A worker that fell behind goes straight on to the latest due tick; the batches run every tick that is due
+            tick = Math.max(current.tick + 1, currentTick());
+        }
+    }
+
+    // The batches of one tick, claimed by the workers one at a time
+    private static class Round {
+        final long tick;
+        private final Batch[] batches;
+        private final AtomicInteger nextBatch = new AtomicInteger();
+
+        Round(long tick, Batch[] batches) {
+            this.tick = tick;
+            this.batches = batches;
+        }
+
+        void runBatches() {
+            for (int i = nextBatch.getAndIncrement(); i < batches.length; i = nextBatch.getAndIncrement()) {
+                batches[i].run();
+            }
+        }
+    }
+
+    // A group of matches stepped one after another by one worker
+    private class Batch {
+        private volatile HostedMatch[] matches = new HostedMatch[0]; // Replaced, never changed, when a match is added
+        private final AtomicBoolean running = new AtomicBoolean(false);
+
+        void add(HostedMatch hosted) {
+            HostedMatch[] larger = Arrays.copyOf(matches, matches.length + 1);
+            larger[matches.length] = hosted;
+            matches = larger;
+        }
+
+        // Worker thread: runs every tick that is due for each match in the batch, unless another worker still is
+        void run() {
+            if (!running.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                HostedMatch[] current = matches;
+                long due = currentTick();
+                for (HostedMatch hosted : current) {
+                    hosted.runDueTicks(due);
+                }
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    // One hosted match, with its own seed, input queue and lateness statistics
+    public class HostedMatch {
+        private final int id;
+        private final long seed;
+        private final Match match;
+        // Worker-side state: only the worker running this match's batch touches it
+        private long nextTick; // Host tick this match runs next
+        private long ticksRun = 0;
+        private long missedDeadlines = 0;
+        private long skippedTicks = 0;
+        private long busyNanos = 0;
+        private final LatencyHistogram lateness = new LatencyHistogram();
+
+        HostedMatch(int id, long seed, long firstTick) {
+            this.id = id;
+            this.seed = seed;
+            this.match = new Match(seed);
+            this.nextTick = firstTick;
+        }
+
+        // Runs the ticks up to and including the given one, skipping the oldest if too far behind
+        void runDueTicks(long due) {
+            if (due - nextTick >= MAX_CATCH_UP_TICKS) {
+                long skip = due - nextTick - MAX_CATCH_UP_TICKS + 1;
+                skippedTicks += skip;
+                nextTick += skip;
+            }
+            while (nextTick <= due) {
+                long late = System.nanoTime() - deadline(nextTick);
+                lateness.recordNanos(late);
+                if (late >= NANOS_PER_TICK) {
+                    missedDeadlines++;
+                }
+                long started = System.nanoTime();
+                match.tick();
+                if (match.isOver()) {
+                    match.startNewMatch(true);
+                }
+                busyNanos += System.nanoTime() - started;
+                nextTick++;
+                ticksRun++;
+            }
+        }
+
+        // Queues a key press or release for the next tick (from one input thread per match)
+        public boolean offerInput(int keyCode, boolean pressed) {
+            return match.offerInput(keyCode, pressed, System.nanoTime());
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        // The simulation; only safe to read once the host is stopped
+        public Match getMatch() {
+            return match;
+        }
+
+        // The statistics below are exact once the host is stopped and approximate while it runs
+        public long getTicksRun() {
+            return ticksRun;
+        }
+
+        // Ticks that started a whole tick or more after their deadline
+        public long getMissedDeadlines() {
+            return missedDeadlines;
+        }
+
+        // Ticks dropped because the match fell more than MAX_CATCH_UP_TICKS behind
+        public long getSkippedTicks() {
+            return skippedTicks;
+        }
+
+        // Time spent running this match's ticks
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+
+        // How late each tick started after its deadline
+        public LatencyHistogram getLateness() {
+            return lateness;
+        }
+    }
+
+    // Writes one line per match: id, seed, ticks, missed and skipped ticks, and lateness percentiles in microseconds
+    public void writeReport(PrintWriter out) {
+        out.println("match,seed,ticks,missed,skipped,p50Micros,p99Micros,maxMicros,rounds");
+        for (HostedMatch hosted : getMatches()) {
+            LatencyHistogram lateness = hosted.getLateness();
+            out.println(hosted.getId() + "," + hosted.getSeed() + "," + hosted.getTicksRun() + ","
+                + hosted.getMissedDeadlines() + "," + hosted.getSkippedTicks() + ","
+                + lateness.percentileMicros(0.5) + "," + lateness.percentileMicros(0.99) + ","
+                + lateness.percentileMicros(1.0) + "," + hosted.getMatch().getRoundCount());
+        }
+    }
+
+    // Runs a host with random fire presses for a number of seconds; returns it once it has stopped
+    private static MatchHost runLoad(int workerCount, int matchCount, Random seeds, int seconds)
+            throws InterruptedException {
+        MatchHost host = new MatchHost(workerCount);
+        HostedMatch[] matches = new HostedMatch[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            matches[i] = host.addMatch(seeds.nextLong());
+        }
+        host.start();
+
+        // One input thread stands in for every cabinet, toggling fire keys about as often as SaveResumeTest.
+        // Its bursts land half way between deadlines; real presses are spread out, not all at the deadline
+        Random keys = new Random(2);
+        boolean[][] down = new boolean[matchCount][2];
+        long end = System.nanoTime() + seconds * 1000000000L;
+        long nextInput = host.startNanos + NANOS_PER_TICK / 2;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < matchCount; i++) {
+                for (int player = 0; player < 2; player++) {
+                    if (keys.nextInt(20) == 0) {
+                        down[i][player] = !down[i][player];
+                        matches[i].offerInput(player == 0 ? KeyEvent.VK_W : KeyEvent.VK_UP, down[i][player]);
+                    }
+                }
+            }
+            nextInput += NANOS_PER_TICK;
+            LockSupport.parkNanos(nextInput - System.nanoTime());
+        }
+        host.stop();
+        return host;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int matchCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int workerCount = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long tolerance = Long.getLong("duel.hostMissTolerance", 0); // Missed deadlines allowed, opt in only
+
+        // A throwaway host under the same load first, so the JIT has compiled the simulation and the host's own
+        // loops (and stopped recompiling them) before the measured clock starts
+        runLoad(workerCount, matchCount, new Random(3), WARMUP_SECONDS);
+        System.gc(); // Start measuring with the set-up garbage already collected
+        MatchHost host = runLoad(workerCount, matchCount, new Random(1), seconds);
+        HostedMatch[] matches = host.getMatches().toArray(new HostedMatch[0]);
+
+        // Summary across matches, then the worst few
+        long ticks = 0;
+        long missed = 0;
+        long skipped = 0;
+        long busyNanos = 0;
+        long[] p99 = new long[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            ticks += matches[i].getTicksRun();
+            missed += matches[i].getMissedDeadlines();
+            skipped += matches[i].getSkippedTicks();
+            busyNanos += matches[i].getBusyNanos();
+            p99[i] = matches[i].getLateness().percentileMicros(0.99);
+        }
+        long[] sortedP99 = p99.clone();
+        Arrays.sort(sortedP99);
+        System.out.println(matchCount + " matches on " + workerCount + " workers for " + seconds + " s");
+        System.out.printf("Ticks run: %d (%.1f per match per second)%n", ticks, (double) ticks / matchCount / seconds);
+        System.out.printf("Tick cost: %.1f us on average, workers busy %.0f%% of the time%n",
+            busyNanos / 1e3 / Math.max(1, ticks), 100.0 * busyNanos / (seconds * 1e9 * workerCount));
+        System.out.println("Missed deadlines: " + missed + ", skipped ticks: " + skipped);
+        System.out.println("Per-match p99 lateness: median " + sortedP99[matchCount / 2] + " us, worst "
+            + sortedP99[matchCount - 1] + " us");
+        HostedMatch[] worst = matches.clone();
+        Arrays.sort(worst, Comparator.comparingLong((HostedMatch m) -> m.getLateness().percentileMicros(1.0)).reversed());
+        for (int i = 0; i < Math.min(5, matchCount); i++) {
+            LatencyHistogram lateness = worst[i].getLateness();
+            System.out.println("  match " + worst[i].getId() + ": p50 " + lateness.percentileMicros(0.5)
+                + " us, p99 " + lateness.percentileMicros(0.99) + " us, max " + lateness.percentileMicros(1.0)
+                + " us, missed " + worst[i].getMissedDeadlines());
+        }
+        if (args.length > 3) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(args[3])))) {
+                host.writeReport(out);
+            } catch (IOException e) {
+                System.err.println("Could not write report: " + e.getMessage());
+            }
+        }
+        String allowed = " (" + tolerance + " missed deadlines allowed)";
+        if (missed > tolerance || skipped > 0 || sortedP99[matchCount - 1] * 1000 >= NANOS_PER_TICK) {
+            System.out.println("FAIL" + allowed);
+            System.exit(1);
+        }
+        System.out.println("PASS" + allowed);
+    }
+}
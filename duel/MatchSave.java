@@ -0,0 +1,194 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: MatchSave saves a match in progress so it can be resumed later.
+* A save holds the complete match state (see Match.writeState) in a small
+* versioned binary file:
+*   "DUELSAVE", int version, int payload length, payload, long CRC32 of the payload
+* The simulation thread only encodes the state into memory; a background thread
+* writes it to a temporary file and renames it over the previous save, so the
+* save on disk is always a whole one even if the game is killed mid-write.
+* Save with -Dduel.save=<file>; a game started while that file exists resumes it.
+*/
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+public class MatchSave implements Runnable {
+    private static final byte[] MAGIC = "DUELSAVE".getBytes(StandardCharsets.US_ASCII);
+    public static final int VERSION = 3; // 2: bullets in fixed point, 3: next map and its generator
+    private static final int HEADER_BYTES = MAGIC.length + 8;
+    // Queued instead of a save to delete the file
+    private static final byte[] DISCARD = new byte[0];
+    private final Path file;
+    private final Path temporaryFile;
+    // Newest save not yet written; a newer one replaces it
+    private final AtomicReference<byte[]> pending = new AtomicReference<>();
+    private final Thread writerThread;
+    private volatile boolean closing = false;
+    private volatile long savesWritten = 0;
+
+    // Returns a saver for -Dduel.save, or null if saving is off
+    public static MatchSave fromSystemProperty() {
+        String file = System.getProperty("duel.save");
+        if (file == null) {
+            return null;
+        }
+        MatchSave saves = new MatchSave(Paths.get(file));
+        Runtime.getRuntime().addShutdownHook(new Thread(saves::close, "Save close"));
+        return saves;
+    }
+
+    public MatchSave(Path file) {
+        this.file = file.toAbsolutePath();
+        this.temporaryFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        writerThread = new Thread(this, "Save writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // Encodes the match and queues it to be written (simulation thread, between ticks)
+    public void save(Match match) {
+        try {
+            queue(encode(match));
+        } catch (IOException e) {
+            System.err.println("Error saving match: " + e.getMessage());
+        }
+    }
+
+    // Deletes the save, for a match that is over or abandoned
+    public void discard() {
+        queue(DISCARD);
+    }
+
+    private void queue(byte[] data) {
+        if (!closing) {
+            pending.set(data);
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    // Loads the save into a new match, or returns null if there is no usable save
+    public Match load() {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return decode(Files.readAllBytes(file));
+        } catch (IOException e) {
+            System.err.println("Ignoring save " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Number of saves written to disk so far
+    public long getSavesWritten() {
+        return savesWritten;
+    }
+
+    // Encodes a match as the bytes of a save file
+    public static byte[] encode(Match match) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.write(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(0); // Payload length, filled in below
+        match.writeState(out);
+        out.writeLong(0); // CRC, filled in below
+        byte[] data = buffer.toByteArray();
+
+        int length = data.length - HEADER_BYTES - 8;
+        CRC32 crc = new CRC32();
+        crc.update(data, HEADER_BYTES, length);
+        ByteBuffer.wrap(data).putInt(HEADER_BYTES - 4, length).putLong(HEADER_BYTES + length, crc.getValue());
+        return data;
+    }
+
+    // Creates a match from the bytes of a save file, checking the format version and CRC
+    public static Match decode(byte[] data) throws IOException {
+        if (data.length < HEADER_BYTES + 8 || !Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IOException("not a save file");
+        }
+        ByteBuffer header = ByteBuffer.wrap(data);
+        int version = header.getInt(MAGIC.length);
+        if (version != VERSION) {
+            throw new IOException("unsupported save version " + version);
+        }
+        int length = header.getInt(HEADER_BYTES - 4);
+        if (length < 0 || length != data.length - HEADER_BYTES - 8) {
+            throw new IOException("truncated save");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, HEADER_BYTES, length);
+        if (crc.getValue() != header.getLong(HEADER_BYTES + length)) {
+            throw new IOException("corrupt save");
+        }
+
+        ByteArrayInputStream payload = new ByteArrayInputStream(data, HEADER_BYTES, length);
+        Match match = new Match(0);
+        try {
+            match.readState(new DataInputStream(payload));
+        } catch (EOFException e) {
+            throw new IOException("truncated save");
+        }
+        if (payload.available() != 0) {
+            throw new IOException("unexpected data after the match state");
+        }
+        return match;
+    }
+
+    // Writer loop: writes the newest queued save until closed and drained
+    public void run() {
+        while (true) {
+            byte[] data = pending.getAndSet(null);
+            if (data == null) {
+                if (closing) {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                if (data == DISCARD) {
+                    Files.deleteIfExists(file);
+                } else {
+                    write(data);
+                    savesWritten++;
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing save: " + e.getMessage());
+            }
+        }
+    }
+
+    // Writes a save to the temporary file, forces it to disk and renames it over the save
+    private void write(byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(temporaryFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Writes any queued save and stops the writer thread
+    public void close() {
+        closing = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: MatchStats consumes the gameplay event stream and keeps running
+* totals for the current match (shots, bounces, powerups, hits and so on).
+* It is updated on its own dispatcher thread, never on the simulation thread.
+* If a MatchHistory is set, every finished match is appended to it.
+*/
+
+import java.io.IOException;
+
+public class MatchStats implements GameEventHandler {
+    private volatile int leftShots;
+    private volatile int rightShots;
+    private volatile int bounces;
+    private volatile int powerupsActivated;
+    private volatile int playersHit;
+    private volatile int freezes;
+    private volatile int obstaclesBroken;
+    private volatile int rounds;
+    private MatchHistory history; // Set before the dispatcher starts
+    private long matchStartTick = -1;
+
+    public void onEvent(GameEvent event) {
+        if (matchStartTick < 0) {
+            matchStartTick = event.tick; // A resumed match is timed from its first event
+        }
+        switch (event.type) {
+            case SHOT:
+                if (event.leftPlayer) {
+                    leftShots++;
+                } else {
+                    rightShots++;
+                }
+                break;
+            case BOUNCE:
+                bounces++;
+                break;
+            case POWERUP_ACTIVATED:
+                powerupsActivated++;
+                break;
+            case PLAYER_HIT:
+                playersHit++;
+                break;
+            case FROZEN:
+                freezes++;
+                break;
+            case OBSTACLE_BROKEN:
+                obstaclesBroken++;
+                break;
+            case ROUND_RESET:
+                if (GameEvent.NEW_MATCH.equals(event.detail)) {
+                    reset();
+                    matchStartTick = event.tick;
+                } else {
+                    rounds++;
+                }
+                break;
+            case MATCH_OVER:
+                recordMatch(event);
+                break;
+        }
+    }
+
+    // Sets the history finished matches are appended to (call before events are dispatched)
+    public void setHistory(MatchHistory history) {
+        this.history = history;
+    }
+
+    // Appends the match that just ended to the history, if there is one
+    private void recordMatch(GameEvent event) {
+        if (history == null) {
+            return;
+        }
+        MatchHistory.Record record = new MatchHistory.Record();
+        record.endedAtMillis = System.currentTimeMillis();
+        record.durationTicks = event.tick - matchStartTick;
+        record.map = MapManager.findMap(event.detail);
+        record.leftWon = event.leftPlayer;
+        record.leftScore = event.leftScore;
+        record.rightScore = event.rightScore;
+        record.rounds = rounds;
+        record.leftShots = leftShots;
+        record.rightShots = rightShots;
+        record.bounces = bounces;
+        record.powerups = powerupsActivated;
+        record.freezes = freezes;
+        record.obstaclesBroken = obstaclesBroken;
+        try {
+            history.append(record);
+        } catch (IOException e) {
+            System.err.println("Error recording match history: " + e.getMessage());
+        }
+    }
+
+    // Clears all totals for a new match
+    public void reset() {
+        leftShots = 0;
+        rightShots = 0;
+        bounces = 0;
+        powerupsActivated = 0;
+        playersHit = 0;
+        freezes = 0;
+        obstaclesBroken = 0;
+        rounds = 0;
+    }
+
+    // Getters
+    public int getLeftShots() {
+        return leftShots;
+    }
+
+    public int getRightShots() {
+        return rightShots;
+    }
+
+    public int getBounces() {
+        return bounces;
+    }
+
+    public int getPowerupsActivated() {
+        return powerupsActivated;
+    }
+
+    public int getPlayersHit() {
+        return playersHit;
+    }
+
+    public int getFreezes() {
+        return freezes;
+    }
+
+    public int getObstaclesBroken() {
+        return obstaclesBroken;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+}
@@ -2,17 +2,21 @@
 * Swapnil Kabir and Syed Bazif Shah
 * Date: January 17, 2025
 * Description: Menu class for Top-Down Duel game, managing start screen, 
-* tutorial, and game initialization.
+* tutorial, and game initialization. Drawn by the game panel every frame
+* while no game is running (see Ui).
 */
 
 import java.awt.*;
-import javax.swing.*;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
 
-public class Menu extends JPanel {
-    // Menu components
-    private JButton start;
-    private JButton tutorial;
-    private JButton back;
+public class Menu {
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 36);
+    private static final Font BUTTON_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font TUTORIAL_FONT = new Font("Arial", Font.PLAIN, 18);
+    private static final int BUTTON_WIDTH = 200;
+    private static final int BUTTON_HEIGHT = 50;
+    private static final int TEXT_MARGIN = 10;
     
     // Reference to GamePanel for game control
     private GamePanel gamePanel;
@@ -23,118 +27,92 @@ public class Menu extends JPanel {
         "W - Shoot/Change Direction\n\n" +
         "Right Player:\n" +
         "Up Arrow - Shoot/Change Direction\n\n" +
+        "T - Show/Hide Aim Preview\n" +
+        "Escape - Pause\n\n" +
         "Your aim is to shoot your opponent and avoid their bullets.\n" +
         "Powerups and bullets spawn intermittently throughout the map.\n" +
         "Powerups activate certain effects when bullets are shot through them, while obstacles cause bullets to bounce off of them.\n" +
         "Use these abilities to your advantage. The first player to 10 points wins!";
     
-    // Main menu panel
-    private JPanel mainMenuPanel;
+    // Text rendered once
+    private final Ui.Label title = new Ui.Label("TOP-DOWN DUEL", TITLE_FONT, Color.BLACK);
+    private final Ui.Label start = new Ui.Label("START", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label tutorial = new Ui.Label("TUTORIAL", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label back = new Ui.Label("BACK", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label[] tutorialLines;
     
-    // Tutorial panel
-    private JPanel tutorialPanel;
+    // Whether the tutorial is showing instead of the main menu
+    private boolean showTutorial = false;
     
     // Constructor for Menu
     public Menu(GamePanel gamePanel) {
         this.gamePanel = gamePanel;
-        
-        // Set layout and style
-        setLayout(new BorderLayout());
-        setBackground(Color.WHITE);
-        
-        // Initialize main menu panel
-        mainMenuPanel = createMainMenuPanel();
-        
-        // Initialize tutorial panel
-        tutorialPanel = createTutorialPanel();
-        
-        // Add main menu as default
-        add(mainMenuPanel, BorderLayout.CENTER);
+        tutorialLines = wrapTutorialText(GamePanel.GAME_WIDTH - TEXT_MARGIN * 2);
     }
     
-    // Creates the main menu panel with start and tutorial buttons
-    private JPanel createMainMenuPanel() {
-        JPanel panel = new JPanel(new GridBagLayout());
-        panel.setBackground(Color.WHITE);
-        GridBagConstraints gbc = new GridBagConstraints();
-        gbc.insets = new Insets(10, 10, 10, 10);
-        
-        // Title label
-        JLabel titleLabel = new JLabel("TOP-DOWN DUEL");
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 36));
-        gbc.gridx = 0;
-        gbc.gridy = 0;
-        gbc.gridwidth = 2;
-        panel.add(titleLabel, gbc);
-        
-        // Start button
-        start = new JButton("START");
-        start.setFont(new Font("Arial", Font.BOLD, 24));
-        start.addActionListener(e -> buttonPressed(ButtonType.START));
-        gbc.gridy = 1;
-        panel.add(start, gbc);
-        
-        // Tutorial button
-        tutorial = new JButton("TUTORIAL");
-        tutorial.setFont(new Font("Arial", Font.BOLD, 24));
-        tutorial.addActionListener(e -> buttonPressed(ButtonType.TUTORIAL));
-        gbc.gridy = 2;
-        panel.add(tutorial, gbc);
-        
-        return panel;
+    // Splits the tutorial into labels that fit the width, breaking lines between words
+    private static Ui.Label[] wrapTutorialText(int width) {
+        FontMetrics metrics = Ui.Label.metrics(TUTORIAL_FONT);
+        ArrayList<Ui.Label> lines = new ArrayList<>();
+        for (String paragraph : TUTORIAL_TEXT.split("\n", -1)) {
+            String line = "";
+            for (String word : paragraph.split(" ")) {
+                String longer = line.isEmpty() ? word : line + " " + word;
+                if (!line.isEmpty() && metrics.stringWidth(longer) > width) {
+                    lines.add(new Ui.Label(line, TUTORIAL_FONT, Color.BLACK));
+                    line = word;
+                } else {
+                    line = longer;
+                }
+            }
+            lines.add(new Ui.Label(line, TUTORIAL_FONT, Color.BLACK));
+        }
+        return lines.toArray(new Ui.Label[0]);
     }
     
-    // Creates the tutorial panel with back button and instructions
-    private JPanel createTutorialPanel() {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(Color.WHITE);
-        
-        // Tutorial text area
-        JTextArea tutorialTextArea = new JTextArea(TUTORIAL_TEXT);
-        tutorialTextArea.setEditable(false);
-        tutorialTextArea.setFont(new Font("Arial", Font.PLAIN, 18));
-        tutorialTextArea.setBackground(Color.WHITE);
-        tutorialTextArea.setLineWrap(true);
-        tutorialTextArea.setWrapStyleWord(true);
-        
-        // Back button
-        back = new JButton("BACK");
-        back.setFont(new Font("Arial", Font.BOLD, 24));
-        back.addActionListener(e -> buttonPressed(ButtonType.BACK));
-        
-        // Add components to panel
-        panel.add(tutorialTextArea, BorderLayout.CENTER);
-        panel.add(back, BorderLayout.SOUTH);
-        
-        return panel;
+    // Draws the main menu or the tutorial and handles their buttons
+    public void draw(Graphics g, Ui ui) {
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT);
+        if (showTutorial) {
+            drawTutorial(g, ui);
+        } else {
+            drawMainMenu(g, ui);
+        }
     }
     
-    // Enum to define button types for easier handling
-    private enum ButtonType {
-        START, TUTORIAL, BACK
+    // Title with start and tutorial buttons, centred
+    private void drawMainMenu(Graphics g, Ui ui) {
+        int x = (GamePanel.GAME_WIDTH - BUTTON_WIDTH) / 2;
+        int top = (GamePanel.GAME_HEIGHT - title.height - BUTTON_HEIGHT * 2 - 40) / 2;
+        title.draw(g, (GamePanel.GAME_WIDTH - title.width) / 2, top);
+        int y = top + title.height + 20;
+        if (ui.button(g, start, x, y, BUTTON_WIDTH, BUTTON_HEIGHT)) {
+            // Start the game
+            gamePanel.startGame();
+        }
+        if (ui.button(g, tutorial, x, y + BUTTON_HEIGHT + 20, BUTTON_WIDTH, BUTTON_HEIGHT)) {
+            setShowTutorial(true);
+        }
     }
     
-    // Handles button press events
-    private void buttonPressed(ButtonType buttonType) {
-        switch (buttonType) {
-            case START:
-                // Start the game
-                gamePanel.startGame();
-                break;
-            case TUTORIAL:
-                // Switch to tutorial panel
-                removeAll();
-                add(tutorialPanel, BorderLayout.CENTER);
-                revalidate();
-                repaint();
-                break;
-            case BACK:
-                // Return to main menu
-                removeAll();
-                add(mainMenuPanel, BorderLayout.CENTER);
-                revalidate();
-                repaint();
-                break;
+    // Instructions with a back button along the bottom
+    private void drawTutorial(Graphics g, Ui ui) {
+        int y = TEXT_MARGIN;
+        for (Ui.Label line : tutorialLines) {
+            line.draw(g, TEXT_MARGIN, y);
+            y += line.height;
         }
+        if (ui.button(g, back, 0, GamePanel.GAME_HEIGHT - BUTTON_HEIGHT, GamePanel.GAME_WIDTH, BUTTON_HEIGHT)
+                || ui.wasKeyPressed(KeyEvent.VK_ESCAPE)) {
+            // Return to main menu
+            setShowTutorial(false);
+        }
+    }
+
+    // Switches screens; the frame being painted still shows the old one and nothing else repaints the menu
+    private void setShowTutorial(boolean show) {
+        showTutorial = show;
+        gamePanel.repaint();
     }
-}
\ No newline at end of file
+}
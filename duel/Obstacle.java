@@ -7,43 +7,49 @@
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.*;
-import javax.imageio.ImageIO;
 
 public class Obstacle {
     private final int GAME_WIDTH;
     private final int GAME_HEIGHT;
     private BufferedImage obstacleImage;
+    private String obstacleImageName; // Map asset the current image was loaded from (decoded images live in AssetCache)
     private ArrayList<Point> obstaclePositions;
-    private Map<Point, Long> brokenObstacles;
-    private Map<Point, Long> spawnTimes; // Track when obstacles spawn
+    private Map<Point, TimerWheel.Timer> invinciblePositions; // Recently spawned obstacles that can't be hit yet, with their timers
+    private ArrayList<TimerWheel.Timer> regenerationTimers; // Pending regenerations of broken obstacles
+    private TimerWheel timers;
+    private int generation; // Bumped on every full regeneration so older timers become no-ops
     private static final long REGENERATION_DELAY = 5000;
-    private static final int TARGET_OBSTACLES = 5;
+    public static final long REGENERATION_TICKS = TimerWheel.millisToTicks(REGENERATION_DELAY);
+    public static final int TARGET_OBSTACLES = 5;
     private Random random;
     private MapManager mapManager;
     private int circleRadius; // Radius for collision detection
     private static final double COLLISION_RADIUS_MULTIPLIER = 0.45; // Aligned with Powerup class
     private Powerup powerup;
     private static final long INVINCIBILITY_DURATION = 500; // 0.5 seconds in milliseconds
+    private static final long INVINCIBILITY_TICKS = TimerWheel.millisToTicks(INVINCIBILITY_DURATION);
 
-    public Obstacle(int gameWidth, int gameHeight, MapManager mapManager) {
+    public Obstacle(int gameWidth, int gameHeight, MapManager mapManager, TimerWheel timers, Random random) {
         this.GAME_WIDTH = gameWidth;
         this.GAME_HEIGHT = gameHeight;
         this.mapManager = mapManager;
-        this.random = new Random();
+        this.timers = timers;
+        this.random = random;
         this.obstaclePositions = new ArrayList<>();
-        this.brokenObstacles = new HashMap<>();
-        this.spawnTimes = new HashMap<>();
+        this.invinciblePositions = new HashMap<>();
+        this.regenerationTimers = new ArrayList<>();
         loadObstacleImage();
     }
 
-    // Loads the obstacle image from resources and calculates collision radius
+    // Loads the obstacle image for the current map (cached) and calculates collision radius
     private void loadObstacleImage() {
         try {
-            obstacleImage = ImageIO.read(
-                getClass().getResourceAsStream(mapManager.getObstacleImage())
-            );
+            obstacleImageName = mapManager.getObstacleImage();
+            obstacleImage = AssetCache.getShared().get(obstacleImageName);
             // Set circle radius based on the smaller dimension of the image
             // Multiply by 0.45 to make circle slightly smaller than image for visual accuracy
             circleRadius = (int) (Math.min(obstacleImage.getWidth(), obstacleImage.getHeight()) * 0.45);
@@ -56,7 +62,9 @@ public class Obstacle {
     // Clears and regenerates all obstacle positions
     public void generateObstaclePositions() {
     obstaclePositions.clear();
-    brokenObstacles.clear();
+    invinciblePositions.clear();
+    regenerationTimers.clear();
+    generation++; // Pending regeneration and invincibility timers no longer apply
 
     if (obstacleImage != null) {
         // Pass an empty ArrayList if powerup is null or no positions available
@@ -77,6 +85,8 @@ public class Obstacle {
     int successfulPlacements = 0;
     int maxAttempts = 20;
     int totalAttempts = 0;
+    FlightEvents.Spawn flightEvent = new FlightEvents.Spawn();
+    flightEvent.begin();
 
     while (successfulPlacements < count && totalAttempts < maxAttempts) {
         // Randomly places obstacles within margins
@@ -87,11 +97,12 @@ public class Obstacle {
         if (!checkOverlap(newPoint, powerupPositions) && 
             !obstaclePositions.contains(newPoint)) {
             obstaclePositions.add(newPoint);
-            spawnTimes.put(newPoint, System.currentTimeMillis()); // Track spawn time
+            makeInvincible(newPoint);
             successfulPlacements++;
         }
         totalAttempts++;
     }
+    FlightEvents.spawn(flightEvent, "Obstacle", count, successfulPlacements, totalAttempts);
 }
 
     // Get circle center point from obstacle position
@@ -102,53 +113,18 @@ public class Obstacle {
         );
     }
 
-    // Check if a point is within the circular collision area
-    public boolean isPointInCircle(Point center, Point test) {
-        double distance = Math.sqrt(
-            Math.pow(center.x - test.x, 2) + 
-            Math.pow(center.y - test.y, 2)
-        );
-        return distance <= circleRadius;
-    }
-
-    // Check if a line segment intersects with circle
-    public boolean lineIntersectsCircle(Point center, Point lineStart, Point lineEnd) {
-        // Find the obstacle position for this center point
-        Point obstaclePos = null;
-            for (Point p : obstaclePositions) {
-            if (getCircleCenter(p).equals(center)) {
-                    obstaclePos = p;
-                break;
+    // Packs every obstacle's collision circle into a batch, in list order; invincible obstacles cannot be hit
+    public void packCircles(CircleBatch into) {
+        into.clear();
+        for (int i = 0; i < obstaclePositions.size(); i++) {
+            Point position = obstaclePositions.get(i);
+            if (isInvincible(position)) {
+                into.addInactive();
+            } else {
+                into.add(position.x + obstacleImage.getWidth() / 2, position.y + obstacleImage.getHeight() / 2,
+                    circleRadius);
             }
         }
-    
-        // Check invincibility before allowing collision
-        if (obstaclePos != null && isInvincible(obstaclePos)) {
-            return false;
-        }
-        
-        // Vector from line start to circle center
-        double cx = center.x - lineStart.x;
-        double cy = center.y - lineStart.y;
-        
-        // Vector from line start to line end
-        double dx = lineEnd.x - lineStart.x;
-        double dy = lineEnd.y - lineStart.y;
-        
-        // Length of line segment squared
-        double lengthSquared = dx * dx + dy * dy;
-        
-        // Calculate closest point on line to circle center
-        double t = Math.max(0, Math.min(1, (cx * dx + cy * dy) / lengthSquared));
-        
-        // Find closest point coordinates
-        double closestX = lineStart.x + t * dx;
-        double closestY = lineStart.y + t * dy;
-        
-        // Check if closest point is within circle radius
-        double distanceSquared = Math.pow(center.x - closestX, 2) + 
-                                Math.pow(center.y - closestY, 2);
-        return distanceSquared <= circleRadius * circleRadius;
     }
 
     // Checks if a new obstacle would overlap with existing obstacles or powerups
@@ -169,12 +145,11 @@ public class Obstacle {
                 existing.x + width / 2,
                 existing.y + height / 2
             );
-            double distance = Math.sqrt(
-                Math.pow(newCenter.x - existingCenter.x, 2) + 
-                Math.pow(newCenter.y - existingCenter.y, 2)
-            );
-            // Add some padding to ensure no overlap
-            if (distance < (newRadius * 2) + 10) {
+            long distanceSquared = FixedPoint.distanceSquared(newCenter.x, newCenter.y,
+                existingCenter.x, existingCenter.y);
+            double minDistance = (newRadius * 2) + 10;
+            // Add some padding to ensure no overlap (compared squared, so no square root is needed)
+            if (distanceSquared < minDistance * minDistance) {
                 return true;
             }
         }
@@ -193,14 +168,12 @@ public class Obstacle {
                 );
                 double powerupRadius = Math.min(powerupWidth, powerupHeight) * COLLISION_RADIUS_MULTIPLIER;
                 
-                double minDistance = newRadius + powerupRadius;
-                double distance = Math.sqrt(
-                    Math.pow(newCenter.x - powerupCenter.x, 2) + 
-                    Math.pow(newCenter.y - powerupCenter.y, 2)
-                );
+                double minDistance = newRadius + powerupRadius + 10;
+                long distanceSquared = FixedPoint.distanceSquared(newCenter.x, newCenter.y,
+                    powerupCenter.x, powerupCenter.y);
                 
                 // Add padding to ensure no overlap
-                if (distance < minDistance + 10) {
+                if (distanceSquared < minDistance * minDistance) {
                     return true;
                     }
                 }
@@ -229,34 +202,128 @@ public class Obstacle {
         }
     }
 
-    // Update obstacles as needed
-    public void update(ArrayList<Point> powerupPositions) {
-    long currentTime = System.currentTimeMillis();
-    Iterator<Map.Entry<Point, Long>> iterator = brokenObstacles.entrySet().iterator();
-    
-    while (iterator.hasNext()) {
-        Map.Entry<Point, Long> entry = iterator.next();
-        if (currentTime - entry.getValue() >= REGENERATION_DELAY) {
-            iterator.remove();
-            // Only generate new obstacle if we're below target count
-            if (obstaclePositions.size() < TARGET_OBSTACLES) {
-                generateObstacles(1, powerupPositions);
-            }
-        }
+    // Returns the obstacle sprite for the current map (null if it failed to load)
+    public BufferedImage getImage() {
+        return obstacleImage;
+    }
+
+    // Returns the radius of the circle bullets bounce off
+    public int getCircleRadius() {
+        return circleRadius;
     }
+
+    // Draws one obstacle at a given position (used when drawing from a FrameState)
+    public void draw(Graphics g, int x, int y) {
+        if (obstacleImage != null) {
+            g.drawImage(obstacleImage, x, y, obstacleImage.getWidth(), obstacleImage.getHeight(), null);
+        }
     }
 
     // Marks an obstacle as broken and starts its regeneration timer
     public void breakObstacle(Point position) {
         obstaclePositions.remove(position);
-        brokenObstacles.put(position, System.currentTimeMillis());
+        regenerationTimers.add(timers.schedule(REGENERATION_TICKS, regeneration(generation)));
+    }
+
+    // The action of a regeneration timer started in the given generation
+    private Runnable regeneration(int expectedGeneration) {
+        return () -> {
+            regenerationTimers.removeIf(timer -> !timer.isPending());
+            // Only generate new obstacle if we're below target count
+            if (generation == expectedGeneration && obstaclePositions.size() < TARGET_OBSTACLES) {
+                generateObstacles(1, (powerup != null) ? powerup.getPowerupPositions() : new ArrayList<>());
+            }
+        };
+    }
+
+    // Protects a newly spawned obstacle from collisions for a short time
+    private void makeInvincible(Point position) {
+        invinciblePositions.put(position, timers.schedule(INVINCIBILITY_TICKS, invincibilityEnd(position, generation)));
+    }
+
+    // The action that ends an obstacle's invincibility, unless a newer timer has replaced it
+    private Runnable invincibilityEnd(Point position, int expectedGeneration) {
+        return () -> {
+            TimerWheel.Timer current = invinciblePositions.get(position);
+            if (generation == expectedGeneration && current != null && !current.isPending()) {
+                invinciblePositions.remove(position);
+            }
+        };
     }
 
     // Check if an obstacle is invincible
-    private boolean isInvincible(Point position) {
-        Long spawnTime = spawnTimes.get(position);
-        return spawnTime != null && 
-            System.currentTimeMillis() - spawnTime < INVINCIBILITY_DURATION;
+    public boolean isInvincible(Point position) {
+        return invinciblePositions.containsKey(position);
+    }
+
+    // Ticks until the next obstacle regenerates, or 0 if none is pending (for the HUD)
+    public long getNextRegenerationTicks() {
+        long next = 0;
+        for (int i = 0; i < regenerationTimers.size(); i++) {
+            long left = timers.remainingTicks(regenerationTimers.get(i));
+            if (left > 0 && (next == 0 || left < next)) {
+                next = left;
+            }
+        }
+        return next;
+    }
+
+    // Returns true if the timer is one of this obstacle set's pending regenerations (for saving)
+    public boolean isRegenerationTimer(TimerWheel.Timer timer) {
+        return regenerationTimers.contains(timer);
+    }
+
+    // Returns the obstacle a pending invincibility timer protects, or null (for saving)
+    public Point getInvinciblePosition(TimerWheel.Timer timer) {
+        for (Map.Entry<Point, TimerWheel.Timer> entry : invinciblePositions.entrySet()) {
+            if (entry.getValue() == timer) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    // Creates an unscheduled regeneration timer for a saved one; the caller puts it back on the wheel
+    public TimerWheel.Timer restoreRegenerationTimer() {
+        TimerWheel.Timer timer = new TimerWheel.Timer(regeneration(generation));
+        regenerationTimers.add(timer);
+        return timer;
+    }
+
+    // Marks a saved obstacle invincible with an unscheduled timer; the caller puts it back on the wheel
+    public TimerWheel.Timer restoreInvincibilityTimer(Point position) {
+        TimerWheel.Timer timer = new TimerWheel.Timer(invincibilityEnd(position, generation));
+        invinciblePositions.put(position, timer);
+        return timer;
+    }
+
+    // Writes the obstacle positions in order (timers are saved with the match's timer wheel)
+    public void writeState(DataOutput out) throws IOException {
+        out.writeByte(obstaclePositions.size());
+        for (Point p : obstaclePositions) {
+            out.writeShort(p.x);
+            out.writeShort(p.y);
+        }
+    }
+
+    // Replaces the obstacles with saved ones, reloading the image if the map changed
+    public void readState(DataInput in) throws IOException {
+        if (!mapManager.getObstacleImage().equals(obstacleImageName)) {
+            loadObstacleImage();
+        }
+        obstaclePositions.clear();
+        invinciblePositions.clear();
+        regenerationTimers.clear();
+        generation++;
+        int count = in.readUnsignedByte();
+        for (int i = 0; i < count; i++) {
+            obstaclePositions.add(new Point(in.readShort(), in.readShort()));
+        }
+    }
+
+    // Returns how many entries the per-obstacle sets hold (for leak checks)
+    public int getTrackedEntryCount() {
+        return invinciblePositions.size();
     }
 
     // Returns the list of current obstacle positions
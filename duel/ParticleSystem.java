@@ -0,0 +1,206 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: ParticleSystem draws short bursts of particles for obstacle
+* bounces, Bomb splits, Freeze hits and player hits. It reads the gameplay
+* events the collision code already publishes, so the simulation knows nothing
+* about it. Particles live in fixed-size primitive arrays, one block per
+* effect type, so spawning never allocates and each type is drawn in one batch
+* with a single colour. A dead particle is replaced by the last live one of its
+* type, which keeps every block packed.
+* When frames take longer than the budget, new bursts get fewer particles until
+* frames are fast again; a full block drops new particles rather than growing.
+*/
+
+import java.awt.*;
+
+public class ParticleSystem implements GameEventHandler {
+    // Effect types, one block of the arrays each
+    public static final int DEBRIS = 0; // Obstacle bounces
+    public static final int SPARK = 1;  // Bomb splits
+    public static final int ICE = 2;    // Freeze hits
+    public static final int HIT = 3;    // Player hits
+    private static final int TYPES = 4;
+    private static final Color[] COLORS = {
+        new Color(120, 100, 80), new Color(255, 170, 40), new Color(170, 225, 255), new Color(220, 30, 30)
+    };
+    // Particles per burst, speed in pixels per second and lifetime in seconds, by type
+    private static final int[] BURST = {40, 120, 80, 60};
+    private static final float[] SPEED = {180f, 320f, 140f, 220f};
+    private static final float[] LIFETIME = {0.5f, 0.7f, 0.9f, 0.6f};
+    private static final float DRAG = 2.5f; // Fraction of speed lost per second
+    private static final int MAX_SIZE = 4; // Pixels, shrinking to 1 as a particle dies
+    public static final int DEFAULT_CAPACITY = 4096; // Per type
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] xVelocity;
+    private final float[] yVelocity;
+    private final float[] age;
+    private final float[] lifetime;
+    private final int[] count = new int[TYPES];
+    private long lastUpdateNanos = 0;
+    private int randomState = 0x2545F491;
+    // Adaptive quality: the share of each burst that is spawned
+    private final long frameBudgetNanos;
+    private double averageFrameNanos = 0;
+    private float quality = 1f;
+    private long droppedParticles = 0;
+
+    public ParticleSystem() {
+        this(DEFAULT_CAPACITY, 8000000L);
+    }
+
+    // Capacity is per effect type; frames slower than the budget reduce new bursts
+    public ParticleSystem(int capacity, long frameBudgetNanos) {
+        this.capacity = capacity;
+        this.frameBudgetNanos = frameBudgetNanos;
+        x = new float[TYPES * capacity];
+        y = new float[TYPES * capacity];
+        xVelocity = new float[TYPES * capacity];
+        yVelocity = new float[TYPES * capacity];
+        age = new float[TYPES * capacity];
+        lifetime = new float[TYPES * capacity];
+    }
+
+    // Starts a burst for each gameplay event that has an effect
+    public void onEvent(GameEvent event) {
+        switch (event.type) {
+            case BOUNCE:
+                burst(DEBRIS, event.x, event.y);
+                break;
+            case POWERUP_ACTIVATED:
+                if ("Bomb".equals(event.detail)) {
+                    burst(SPARK, event.x, event.y);
+                }
+                break;
+            case FROZEN:
+                burst(ICE, event.x, event.y);
+                break;
+            case PLAYER_HIT:
+                burst(HIT, event.x, event.y);
+                break;
+            case ROUND_RESET:
+                if (GameEvent.NEW_MATCH.equals(event.detail)) {
+                    clear();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Spawns one burst of a type, scaled down by the current quality
+    public void burst(int type, int centerX, int centerY) {
+        int wanted = Math.max(1, Math.round(BURST[type] * quality));
+        int start = type * capacity;
+        for (int n = 0; n < wanted; n++) {
+            if (count[type] == capacity) {
+                droppedParticles += wanted - n;
+                return;
+            }
+            int i = start + count[type]++;
+            // Random direction and speed, with some spread in lifetime
+            float angle = nextFloat() * (float) (Math.PI * 2);
+            float speed = SPEED[type] * (0.3f + 0.7f * nextFloat());
+            x[i] = centerX;
+            y[i] = centerY;
+            xVelocity[i] = (float) Math.cos(angle) * speed;
+            yVelocity[i] = (float) Math.sin(angle) * speed;
+            age[i] = 0f;
+            lifetime[i] = LIFETIME[type] * (0.5f + 0.5f * nextFloat());
+        }
+    }
+
+    // Advances every particle to the given time and removes dead ones
+    public void update(long nowNanos) {
+        float seconds = lastUpdateNanos == 0 ? 0f : Math.min(0.05f, (nowNanos - lastUpdateNanos) / 1e9f);
+        lastUpdateNanos = nowNanos;
+        float keep = Math.max(0f, 1f - DRAG * seconds);
+        for (int type = 0; type < TYPES; type++) {
+            int start = type * capacity;
+            int end = start + count[type];
+            int i = start;
+            while (i < end) {
+                age[i] += seconds;
+                if (age[i] >= lifetime[i]) {
+                    // Move the last live particle of this type into the hole
+                    end--;
+                    x[i] = x[end];
+                    y[i] = y[end];
+                    xVelocity[i] = xVelocity[end];
+                    yVelocity[i] = yVelocity[end];
+                    age[i] = age[end];
+                    lifetime[i] = lifetime[end];
+                    continue;
+                }
+                x[i] += xVelocity[i] * seconds;
+                y[i] += yVelocity[i] * seconds;
+                xVelocity[i] *= keep;
+                yVelocity[i] *= keep;
+                i++;
+            }
+            count[type] = end - start;
+        }
+    }
+
+    // Draws every particle, one colour per type
+    public void draw(Graphics g) {
+        for (int type = 0; type < TYPES; type++) {
+            if (count[type] == 0) {
+                continue;
+            }
+            g.setColor(COLORS[type]);
+            int start = type * capacity;
+            int end = start + count[type];
+            for (int i = start; i < end; i++) {
+                int size = 1 + (int) ((MAX_SIZE - 1) * (1f - age[i] / lifetime[i]) + 0.5f);
+                g.fillRect((int) x[i] - size / 2, (int) y[i] - size / 2, size, size);
+            }
+        }
+    }
+
+    // Reports how long the last frame took, lowering or restoring the quality of new bursts
+    public void frameFinished(long frameNanos) {
+        averageFrameNanos = averageFrameNanos == 0 ? frameNanos : averageFrameNanos * 0.9 + frameNanos * 0.1;
+        if (averageFrameNanos > frameBudgetNanos) {
+            quality = Math.max(0.1f, quality * 0.9f);
+        } else if (averageFrameNanos < frameBudgetNanos * 0.75) {
+            quality = Math.min(1f, quality + 0.01f);
+        }
+    }
+
+    // Removes every particle
+    public void clear() {
+        for (int type = 0; type < TYPES; type++) {
+            count[type] = 0;
+        }
+    }
+
+    // Number of live particles
+    public int getLiveCount() {
+        int total = 0;
+        for (int type = 0; type < TYPES; type++) {
+            total += count[type];
+        }
+        return total;
+    }
+
+    // Share of each burst currently spawned (1 when frames are within budget)
+    public float getQuality() {
+        return quality;
+    }
+
+    // Particles not spawned because their type's block was full
+    public long getDroppedParticles() {
+        return droppedParticles;
+    }
+
+    // Xorshift, so spawning neither allocates nor touches the game's random generator
+    private float nextFloat() {
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 17;
+        randomState ^= randomState << 5;
+        return (randomState >>> 8) / (float) (1 << 24);
+    }
+}
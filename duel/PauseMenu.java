@@ -1,123 +1,80 @@
 /*
 * Swapnil Kabir and Syed Bazif Shah
 * Date: January 17, 2025
-* Description: Manages the pause menu overlay and functionality
+* Description: Manages the pause menu overlay and functionality. Drawn by the
+* game panel over every game frame (see Ui); Escape also pauses and resumes.
 */
 
 import java.awt.*;
-import java.awt.event.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
 import javax.imageio.ImageIO;
-import javax.swing.*;
 
-public class PauseMenu extends JPanel {
+public class PauseMenu {
+    private static final Font BUTTON_FONT = new Font("Arial", Font.BOLD, 20);
+    private static final int BUTTON_WIDTH = 200;
+    private static final int BUTTON_HEIGHT = 50;
     private GamePanel gamePanel;
-    private Image pauseButtonImage;
-    private Rectangle pauseButtonBounds;
-    private JButton resumeButton;
-    private JButton resetButton;
-    private JButton mainMenuButton;
-    private JButton quitButton;
+    private BufferedImage pauseButtonImage; // Prepared at the button's size once
+    private Rectangle pauseButtonBounds = new Rectangle(GamePanel.GAME_WIDTH - 60, 10, 50, 50);
+    private final Ui.Label resumeLabel = new Ui.Label("Resume", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label resetLabel = new Ui.Label("Reset", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label mainMenuLabel = new Ui.Label("Main Menu", BUTTON_FONT, Color.BLACK);
+    private final Ui.Label quitLabel = new Ui.Label("Quit", BUTTON_FONT, Color.BLACK);
     private boolean isPaused;
     
     public PauseMenu(GamePanel gamePanel) {
         this.gamePanel = gamePanel;
-        this.setLayout(null);
-        this.setOpaque(false);
         isPaused = false;
         
         // Load pause button image
         try {
-            pauseButtonImage = ImageIO.read(getClass().getResourceAsStream("Pause.png"));
-            pauseButtonBounds = new Rectangle(GamePanel.GAME_WIDTH - 60, 10, 50, 50);
+            pauseButtonImage = Sprites.prepare(ImageIO.read(getClass().getResourceAsStream("Pause.png")),
+                pauseButtonBounds.width, pauseButtonBounds.height);
         } catch (Exception e) {
             System.err.println("Error loading pause button image: " + e.getMessage());
         }
-        
-        initializeButtons();
-        setButtonsVisible(false);
-        
-        // Add mouse listener for pause button
-        addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseClicked(MouseEvent e) {
-                if (pauseButtonBounds.contains(e.getPoint())) {
-                    togglePause();
-                }
-            }
-        });
     }
     
-    private void initializeButtons() {
+    // Draws the pause button, and the menu while paused, and handles their input
+    public void draw(Graphics g, Ui ui) {
+        if (ui.imageButton(g, pauseButtonImage, pauseButtonBounds.x, pauseButtonBounds.y,
+                pauseButtonBounds.width, pauseButtonBounds.height) || ui.wasKeyPressed(KeyEvent.VK_ESCAPE)) {
+            togglePause();
+            return;
+        }
+        if (!isPaused) {
+            return;
+        }
+        
         // Common button settings
+        int x = (GamePanel.GAME_WIDTH - BUTTON_WIDTH) / 2;
         int startY = 200;
         int spacing = 70;
         
-        // Initialize buttons
-        resumeButton = createButton("Resume", startY);
-        resetButton = createButton("Reset", startY + spacing);
-        mainMenuButton = createButton("Main Menu", startY + spacing * 2);
-        quitButton = createButton("Quit", startY + spacing * 3);
-        
-        // Add action listeners
-        resumeButton.addActionListener(e -> togglePause());
-        resetButton.addActionListener(e -> {
+        if (ui.button(g, resumeLabel, x, startY, BUTTON_WIDTH, BUTTON_HEIGHT)) {
+            togglePause();
+        }
+        if (ui.button(g, resetLabel, x, startY + spacing, BUTTON_WIDTH, BUTTON_HEIGHT)) {
             gamePanel.resetGame();
             togglePause();
-        });
-        mainMenuButton.addActionListener(e -> {
+        }
+        if (ui.button(g, mainMenuLabel, x, startY + spacing * 2, BUTTON_WIDTH, BUTTON_HEIGHT)) {
             gamePanel.returnToMainMenu();
             togglePause();
-        });
-        quitButton.addActionListener(e -> System.exit(0));
-        
-        // Add buttons to panel
-        add(resumeButton);
-        add(resetButton);
-        add(mainMenuButton);
-        add(quitButton);
+        }
+        if (ui.button(g, quitLabel, x, startY + spacing * 3, BUTTON_WIDTH, BUTTON_HEIGHT)) {
+            System.exit(0);
+        }
     }
-    //Creates a button template
     
-    private JButton createButton(String text, int y) {
-        JButton button = new JButton(text);
-        button.setFont(new Font("Arial", Font.BOLD, 20));
-        button.setBounds((GamePanel.GAME_WIDTH - 200) / 2, y, 200, 50);
-        return button;
-    }
     //toggles pause on or off
     public void togglePause() {
         isPaused = !isPaused;
-        setButtonsVisible(isPaused);
         gamePanel.setPaused(isPaused);
-        repaint();
-    }
-    //makes everything visable
-    
-    private void setButtonsVisible(boolean visible) {
-        resumeButton.setVisible(visible);
-        resetButton.setVisible(visible);
-        mainMenuButton.setVisible(visible);
-        quitButton.setVisible(visible);
-    }
-    
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        
-        // Draw pause button
-        if (pauseButtonImage != null) {
-            g.drawImage(pauseButtonImage, pauseButtonBounds.x, pauseButtonBounds.y, 
-                       pauseButtonBounds.width, pauseButtonBounds.height, null);
-        }
-        
-        // Draw translucent black background when paused
-        if (isPaused) {
-            g.setColor(new Color(0, 0, 0, 150));
-            g.fillRect(0, 0, getWidth(), getHeight());
-        }
     }
     
     public boolean isPaused() {
         return isPaused;
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,8 @@
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import javax.imageio.ImageIO;
 
@@ -27,15 +29,23 @@ public class Player extends Rectangle {
    private BufferedImage playerImageNoGun;
    private BufferedImage playerImageFrozen;
    private boolean isLeftPlayer;
+   // Images are decoded once per side, prepared at the size they are drawn at, and shared by every player created afterwards
+   private static volatile BufferedImage[] leftImages;
+   private static volatile BufferedImage[] rightImages;
    private static final long SHOOT_PAUSE_DURATION = 250;
-   private long lastShootTime;
+   public static final long SHOOT_PAUSE_TICKS = TimerWheel.millisToTicks(SHOOT_PAUSE_DURATION);
+   private long lastShootTick = -SHOOT_PAUSE_TICKS; // Tick of the last shot
    private static final long FREEZE_DURATION = 4000; // 4 seconds in milliseconds
+   public static final long FREEZE_TICKS = TimerWheel.millisToTicks(FREEZE_DURATION);
    private boolean isFrozen = false;
-   private long freezeStartTime = 0;
+   private final TimerWheel timers;
+   private final TimerWheel.Timer unfreezeTimer = new TimerWheel.Timer(this::unfreeze);
+   private int previousY; // Position at the start of the current tick, for render interpolation
    
    public Player(int x, int y, int playerWidth, int playerHeight,
-                 int screenHeight, boolean hasGun) {
+                 int screenHeight, boolean hasGun, TimerWheel timers) {
        super(x, y, playerWidth, playerHeight);
+       this.timers = timers;
        this.SCREEN_HEIGHT = screenHeight;
        this.TOP_MARGIN = (int)(screenHeight * 0.1); // 10% from top
        this.hasGun = hasGun;
@@ -43,6 +53,8 @@ public class Player extends Rectangle {
        this.isMoving = true;
        this.yVelocity = SPEED;
        
+       this.previousY = y;
+       
        // Determine if this is the left or right player
        this.isLeftPlayer = x < screenHeight / 2;
        
@@ -56,15 +68,28 @@ public class Player extends Rectangle {
    
    // Loads the appropriate player images based on player position
    private void loadPlayerImages() {
+       BufferedImage[] shared = isLeftPlayer ? leftImages : rightImages;
+       if (shared != null) {
+           playerImageWithGun = shared[0];
+           playerImageNoGun = shared[1];
+           playerImageFrozen = shared[2];
+           return;
+       }
        try {
            // Load images based on player's position
            String imageNameWithGun = isLeftPlayer ? "playerLeft.png" : "playerRight.png";
            String imageNameNoGun = isLeftPlayer ? "playerLeftNoGun.png" : "playerRightNoGun.png";
            String imageNameFrozen = isLeftPlayer ? "playerLeftFrozen.png" : "playerRightFrozen.png";
            
-           playerImageWithGun = ImageIO.read(getClass().getResourceAsStream(imageNameWithGun));
-           playerImageNoGun = ImageIO.read(getClass().getResourceAsStream(imageNameNoGun));
-           playerImageFrozen = ImageIO.read(getClass().getResourceAsStream(imageNameFrozen));
+           playerImageWithGun = loadImage(imageNameWithGun);
+           playerImageNoGun = loadImage(imageNameNoGun);
+           playerImageFrozen = loadImage(imageNameFrozen);
+           shared = new BufferedImage[] {playerImageWithGun, playerImageNoGun, playerImageFrozen};
+           if (isLeftPlayer) {
+               leftImages = shared;
+           } else {
+               rightImages = shared;
+           }
        } catch (IOException | IllegalArgumentException e) {
            System.err.println("Error loading player images: " + e.getMessage());
            // Fallback to null if images fail to load
@@ -73,6 +98,11 @@ public class Player extends Rectangle {
            playerImageFrozen = null;
        }
    }
+
+   // Decodes a player image and resizes it to the height x height square it is drawn in
+   private BufferedImage loadImage(String name) throws IOException {
+       return Sprites.prepare(ImageIO.read(getClass().getResourceAsStream(name)), height, height);
+   }
    
    /*
     * Sets the vertical direction of player movement
@@ -101,12 +131,7 @@ public class Player extends Rectangle {
     */
    public void move() {
         if (isFrozen) {
-            // Check if freeze duration has elapsed
-            if (System.currentTimeMillis() - freezeStartTime >= FREEZE_DURATION) {
-                unfreeze();
-            } else {
-                return; // Still frozen, don't move
-            }
+            return; // Still frozen, the unfreeze timer ends this
         }
         
         if (!isMoving) {
@@ -127,16 +152,16 @@ public class Player extends Rectangle {
         }
     }
    
-   // Handles shoot action based on gun possession
-   public boolean shoot(long currentTime) {
+   // Handles shoot action based on gun possession (time is in simulation ticks)
+   public boolean shoot(long currentTick) {
        // Check if enough time has passed since last shoot
-       if (currentTime - lastShootTime < SHOOT_PAUSE_DURATION) {
+       if (currentTick - lastShootTick < SHOOT_PAUSE_TICKS) {
            return false;
        }
        if (hasGun) {
            // Pause movement momentarily when shooting with a gun
            isMoving = false;
-           lastShootTime = currentTime;
+           lastShootTick = currentTick;
            hasGun = false;
            return true;
        } else {
@@ -147,9 +172,9 @@ public class Player extends Rectangle {
        }
    }
    
-   // Resumes movement after shoot pause
-   public void resumeMovement(long currentTime) {
-    if (currentTime - lastShootTime >= SHOOT_PAUSE_DURATION) {
+   // Resumes movement after shoot pause (time is in simulation ticks)
+   public void resumeMovement(long currentTick) {
+    if (currentTick - lastShootTick >= SHOOT_PAUSE_TICKS) {
         isMoving = true;
         yVelocity = movementDirection * SPEED;
         }
@@ -157,37 +182,97 @@ public class Player extends Rectangle {
    
    // Draws the player on the screen
    public void draw(Graphics g) {
-       BufferedImage currentImage;
-       
-       if (isFrozen) {
-           currentImage = playerImageFrozen;
-       } else {
-           currentImage = hasGun ? playerImageWithGun : playerImageNoGun;
-       }
+       draw(g, x, y, isFrozen, hasGun);
+   }
+
+   // Draws the player at a given position and state (used when drawing from a FrameState)
+   public void draw(Graphics g, int drawX, int drawY, boolean frozen, boolean withGun) {
+       BufferedImage currentImage = getImage(frozen, withGun);
        
        if (currentImage != null) {
            // Draw the loaded image with custom width scaling
            // Increase width to 1.5 times the original height
            int scaledWidth = (int)(height);
            int xOffset = (width - scaledWidth) / 2; // Center the image
-           g.drawImage(currentImage, x + xOffset, y, scaledWidth, height, null);
+           if (currentImage.getWidth() == scaledWidth && currentImage.getHeight() == height) {
+               g.drawImage(currentImage, drawX + xOffset, drawY, null); // Already that size, a plain copy
+           } else {
+               g.drawImage(currentImage, drawX + xOffset, drawY, scaledWidth, height, null);
+           }
        } else {
            // Fallback to drawing a black rectangle if image fails
            g.setColor(Color.BLACK);
-           g.fillRect(x, y, width, height);
+           g.fillRect(drawX, drawY, width, height);
        }
    }
 
+   // Returns the sprite for a player state (null if the images failed to load)
+   public BufferedImage getImage(boolean frozen, boolean withGun) {
+       if (frozen) {
+           return playerImageFrozen;
+       }
+       return withGun ? playerImageWithGun : playerImageNoGun;
+   }
+
+   // Remembers the current position as the start of this tick's movement
+   public void storePreviousPosition() {
+       previousY = y;
+   }
+
+   // Returns the position at the start of the current tick
+   public int getPreviousY() {
+       return previousY;
+   }
+
    // Methods to handle activation of Freeze powerup
    public void freeze() {
         isFrozen = true;
-        freezeStartTime = System.currentTimeMillis();
+        timers.schedule(unfreezeTimer, FREEZE_TICKS);
    }
     
     public void unfreeze() {
         isFrozen = false;
    }
    
+   // Ticks until the freeze ends, or 0 if not frozen (for the HUD)
+   public long getFreezeTicksLeft() {
+       return timers.remainingTicks(unfreezeTimer);
+   }
+
+   // Ticks until the player may shoot again, or 0 (for the HUD)
+   public long getShotCooldownTicksLeft() {
+       return Math.max(0, lastShootTick + SHOOT_PAUSE_TICKS - timers.now());
+   }
+
+   // Returns the timer that ends the freeze (for saving)
+   public TimerWheel.Timer getUnfreezeTimer() {
+       return unfreezeTimer;
+   }
+
+   // Writes the movement, gun and freeze state (the unfreeze timer is saved with the match's timer wheel)
+   public void writeState(DataOutput out) throws IOException {
+       out.writeShort(y);
+       out.writeShort(previousY);
+       out.writeByte(yVelocity);
+       out.writeByte(movementDirection);
+       out.writeBoolean(isMoving);
+       out.writeBoolean(hasGun);
+       out.writeBoolean(isFrozen);
+       out.writeLong(lastShootTick);
+   }
+
+   // Restores state written by writeState
+   public void readState(DataInput in) throws IOException {
+       y = in.readShort();
+       previousY = in.readShort();
+       yVelocity = in.readByte();
+       movementDirection = in.readByte();
+       isMoving = in.readBoolean();
+       hasGun = in.readBoolean();
+       isFrozen = in.readBoolean();
+       lastShootTick = in.readLong();
+   }
+   
    // Getters and setters
    public void setHasGun(boolean hasGun) {
        this.hasGun = hasGun;
@@ -196,4 +281,8 @@ public class Player extends Rectangle {
    public boolean hasGun() {
        return hasGun;
    }
+
+   public boolean isFrozen() {
+       return isFrozen;
+   }
 }
\ No newline at end of file
@@ -8,8 +8,11 @@
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.imageio.ImageIO;
 
 public class Powerup {
@@ -18,41 +21,60 @@ public class Powerup {
     private Map<Point, BufferedImage> powerupImages;
     private Map<Point, String> powerupTypes;
     private ArrayList<Point> powerupPositions;
-    private Map<Point, Long> usedPowerups;
-    private Map<Point, Long> spawnTimes; // Track when powerups spawn
+    private Map<Point, TimerWheel.Timer> invinciblePositions; // Recently spawned powerups that can't be hit yet, with their timers
+    private ArrayList<TimerWheel.Timer> regenerationTimers; // Pending regenerations of used powerups
+    // Images are decoded once per powerup type and shared by every powerup created afterwards
+    // The shared images stay at full size because collision sizes are worked out from them; powerups are
+    // drawn at half that size, so each also has a half-size copy that drawing uses, keyed by the full image
+    private static final Map<String, BufferedImage> sharedImages = new ConcurrentHashMap<>();
+    private static final Map<BufferedImage, BufferedImage> drawImages = new ConcurrentHashMap<>();
+    private TimerWheel timers;
+    private int generation; // Bumped on every full regeneration so older timers become no-ops
     private static final long REGENERATION_DELAY = 7000; // 7 seconds
-    private static final int TARGET_POWERUPS = 3;
+    public static final long REGENERATION_TICKS = TimerWheel.millisToTicks(REGENERATION_DELAY);
+    public static final int TARGET_POWERUPS = 3;
     private Random random;
     private MapManager mapManager;
     private int circleRadius;
     private static final double COLLISION_RADIUS_MULTIPLIER = 0.45; // Aligned with Obstacle class
     private Obstacle obstacle;
     private static final long INVINCIBILITY_DURATION = 500; // 0.5 seconds in milliseconds
+    private static final long INVINCIBILITY_TICKS = TimerWheel.millisToTicks(INVINCIBILITY_DURATION);
 
     // Constructor initializes game dimensions, map manager, and powerup collections
-    public Powerup(int gameWidth, int gameHeight, MapManager mapManager) {
+    public Powerup(int gameWidth, int gameHeight, MapManager mapManager, TimerWheel timers, Random random) {
         this.GAME_WIDTH = gameWidth;
         this.GAME_HEIGHT = gameHeight;
         this.mapManager = mapManager;
-        this.random = new Random();
+        this.timers = timers;
+        this.random = random;
         this.powerupPositions = new ArrayList<>();
         this.powerupImages = new HashMap<>();
         this.powerupTypes = new HashMap<>();
-        this.usedPowerups = new HashMap<>();
-        this.spawnTimes = new HashMap<>();
+        this.invinciblePositions = new HashMap<>();
+        this.regenerationTimers = new ArrayList<>();
     }
 
     // Loads and processes the powerup image, sets circle radius, and determines powerup type
     private void loadPowerupImage(Point position) {
+        setPowerup(position, mapManager.getRandomPowerupType());
+    }
+
+    // Records the type of the powerup at a position and looks up its image
+    private void setPowerup(Point position, String powerupType) {
         try {
-            String powerupType = mapManager.getRandomPowerupType();
-            BufferedImage image = ImageIO.read(getClass().getResourceAsStream(powerupType));
+            BufferedImage image = sharedImages.get(powerupType);
+            if (image == null) {
+                image = Sprites.prepare(ImageIO.read(getClass().getResourceAsStream(powerupType)));
+                drawImages.put(image, Sprites.prepare(image, image.getWidth() / 2, image.getHeight() / 2));
+                sharedImages.put(powerupType, image);
+            }
             powerupImages.put(position, image);
             powerupTypes.put(position, powerupType);
             
             // Set circle radius based on the smaller dimension of the image
             circleRadius = (int) (Math.min(image.getWidth(), image.getHeight()) * 0.45);
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             System.err.println("Error loading powerup image: " + e.getMessage());
         }
     }
@@ -62,7 +84,9 @@ public class Powerup {
         powerupPositions.clear();
         powerupImages.clear();
         powerupTypes.clear();
-        usedPowerups.clear();
+        invinciblePositions.clear();
+        regenerationTimers.clear();
+        generation++; // Pending regeneration and invincibility timers no longer apply
 
         generatePowerups(TARGET_POWERUPS, obstaclePositions);
     }   
@@ -77,6 +101,8 @@ public class Powerup {
         int successfulPlacements = 0;
         int maxAttempts = 20;
         int totalAttempts = 0;
+        FlightEvents.Spawn flightEvent = new FlightEvents.Spawn();
+        flightEvent.begin();
 
         while (successfulPlacements < count && totalAttempts < maxAttempts) {
         int x = middleStart + random.nextInt(middleWidth - 50);
@@ -87,11 +113,12 @@ public class Powerup {
             !powerupPositions.contains(newPoint)) {
             powerupPositions.add(newPoint);
             loadPowerupImage(newPoint);
-            spawnTimes.put(newPoint, System.currentTimeMillis()); // Track spawn time
+            makeInvincible(newPoint);
             successfulPlacements++;
         }
         totalAttempts++;
     }
+        FlightEvents.spawn(flightEvent, "Powerup", count, successfulPlacements, totalAttempts);
 }
 
     // Get circle center point from powerup position
@@ -106,35 +133,23 @@ public class Powerup {
         return powerupPosition; // Fallback if image not found
     }
 
-    // Check if a line segment intersects with circle (for bullet collision)
-    public boolean lineIntersectsCircle(Point center, Point lineStart, Point lineEnd) {
-        // Find the powerup position for this center point
-    Point powerupPos = null;
-    for (Point p : powerupPositions) {
-        if (getCircleCenter(p).equals(center)) {
-            powerupPos = p;
-            break;
+    // Packs every powerup's collision circle into a batch, in list order; invincible powerups cannot be hit
+    public void packCircles(CircleBatch into) {
+        into.clear();
+        for (int i = 0; i < powerupPositions.size(); i++) {
+            Point position = powerupPositions.get(i);
+            if (isInvincible(position)) {
+                into.addInactive();
+            } else {
+                BufferedImage image = powerupImages.get(position);
+                if (image != null) {
+                    into.add(position.x + image.getWidth() / 4, position.y + image.getHeight() / 4, circleRadius);
+                } else {
+                    into.add(position.x, position.y, circleRadius); // Same fallback as getCircleCenter
+                }
+            }
         }
     }
-    
-    // Check invincibility before allowing collision
-    if (powerupPos != null && isInvincible(powerupPos)) {
-        return false;
-    }
-
-    // Check if a line segment intersects with circle (for bullet collision)
-        double cx = center.x - lineStart.x;
-        double cy = center.y - lineStart.y;
-        double dx = lineEnd.x - lineStart.x;
-        double dy = lineEnd.y - lineStart.y;
-        double lengthSquared = dx * dx + dy * dy;
-        double t = Math.max(0, Math.min(1, (cx * dx + cy * dy) / lengthSquared));
-        double closestX = lineStart.x + t * dx;
-        double closestY = lineStart.y + t * dy;
-        double distanceSquared = Math.pow(center.x - closestX, 2) + 
-                                Math.pow(center.y - closestY, 2);
-        return distanceSquared <= circleRadius * circleRadius;
-    }
 
     // Checks for overlaps between powerups and obstacles
     private boolean checkOverlap(Point newPoint, ArrayList<Point> obstaclePositions) {
@@ -158,12 +173,11 @@ public class Powerup {
                 existing.x + scaledWidth / 2,
                 existing.y + scaledHeight / 2
             );
-            double distance = Math.sqrt(
-                Math.pow(newCenter.x - existingCenter.x, 2) + 
-                Math.pow(newCenter.y - existingCenter.y, 2)
-            );
-            // Add padding to ensure no overlap
-            if (distance < (newRadius * 2) + 10) {
+            long distanceSquared = FixedPoint.distanceSquared(newCenter.x, newCenter.y,
+                existingCenter.x, existingCenter.y);
+            double minDistance = (newRadius * 2) + 10;
+            // Add padding to ensure no overlap (compared squared, so no square root is needed)
+            if (distanceSquared < minDistance * minDistance) {
                 return true;
             }
         }
@@ -183,14 +197,12 @@ public class Powerup {
                     );
                     double obstacleRadius = Math.min(obstacleWidth, obstacleHeight) * COLLISION_RADIUS_MULTIPLIER;
                 
-                    double minDistance = newRadius + obstacleRadius;
-                    double distance = Math.sqrt(
-                        Math.pow(newCenter.x - obstacleCenter.x, 2) + 
-                        Math.pow(newCenter.y - obstacleCenter.y, 2)
-                    );
+                    double minDistance = newRadius + obstacleRadius + 10;
+                    long distanceSquared = FixedPoint.distanceSquared(newCenter.x, newCenter.y,
+                        obstacleCenter.x, obstacleCenter.y);
                 
                     // Add padding to ensure no overlap
-                    if (distance < minDistance + 10) {
+                    if (distanceSquared < minDistance * minDistance) {
                         return true;
                     }
                 }
@@ -208,40 +220,69 @@ public class Powerup {
     // Renders all active powerups to the screen
     public void draw(Graphics g) {
         for (Point p : powerupPositions) {
-            BufferedImage image = powerupImages.get(p);
-            if (image != null) {
-                g.drawImage(image, 
-                    p.x, p.y, 
-                    image.getWidth() / 2, 
-                    image.getHeight() / 2, 
-                    null);
-            }
+            draw(g, powerupImages.get(p), p.x, p.y);
         }
     }
 
-    // Updates powerup states and regenerates them after delay
-    public void update(ArrayList<Point> obstaclePositions) {
-        long currentTime = System.currentTimeMillis();
-        Iterator<Map.Entry<Point, Long>> iterator = usedPowerups.entrySet().iterator();
-        
-        while (iterator.hasNext()) {
-            Map.Entry<Point, Long> entry = iterator.next();
-            if (currentTime - entry.getValue() >= REGENERATION_DELAY) {
-                iterator.remove();
-                // Only generate new powerup if below target count
-                if (powerupPositions.size() < TARGET_POWERUPS) {
-                    generatePowerups(1, obstaclePositions);
-                }
+    // Draws one powerup image at a given position (used when drawing from a FrameState)
+    public static void draw(Graphics g, BufferedImage image, int x, int y) {
+        if (image != null) {
+            BufferedImage halfSize = drawImages.get(image);
+            if (halfSize != null) {
+                g.drawImage(halfSize, x, y, null);
+            } else {
+                g.drawImage(image, x, y, image.getWidth() / 2, image.getHeight() / 2, null);
             }
         }
     }
 
+    // Returns the image of the powerup at the given position, or null
+    public BufferedImage getPowerupImage(Point position) {
+        return powerupImages.get(position);
+    }
+
+    // Returns the image file name of the powerup at a position, such as "Bomb.png"
+    public String getPowerupType(Point position) {
+        return powerupTypes.get(position);
+    }
+
+    // Starts the regeneration timer for a used powerup
+    private void scheduleRegeneration() {
+        regenerationTimers.add(timers.schedule(REGENERATION_TICKS, regeneration(generation)));
+    }
+
+    // The action of a regeneration timer started in the given generation
+    private Runnable regeneration(int expectedGeneration) {
+        return () -> {
+            regenerationTimers.removeIf(timer -> !timer.isPending());
+            // Only generate new powerup if below target count
+            if (generation == expectedGeneration && powerupPositions.size() < TARGET_POWERUPS) {
+                generatePowerups(1, (obstacle != null) ? obstacle.getObstaclePositions() : new ArrayList<>());
+            }
+        };
+    }
+
+    // Protects a newly spawned powerup from collisions for a short time
+    private void makeInvincible(Point position) {
+        invinciblePositions.put(position, timers.schedule(INVINCIBILITY_TICKS, invincibilityEnd(position, generation)));
+    }
+
+    // The action that ends a powerup's invincibility, unless a newer timer has replaced it
+    private Runnable invincibilityEnd(Point position, int expectedGeneration) {
+        return () -> {
+            TimerWheel.Timer current = invinciblePositions.get(position);
+            if (generation == expectedGeneration && current != null && !current.isPending()) {
+                invinciblePositions.remove(position);
+            }
+        };
+    }
+
     // Manages functionality of different powerups, tells game which one to activate
     public String activatePowerup(Point position, Bullet bullet, Player otherPlayer) {
-        String powerupType = powerupTypes.get(position);
+        String powerupType = powerupTypes.remove(position);
         powerupPositions.remove(position);
         powerupImages.remove(position);
-        usedPowerups.put(position, System.currentTimeMillis());
+        scheduleRegeneration();
         
         // Extract powerup type from filename
         String type = powerupType.replace(".png", "");
@@ -249,20 +290,14 @@ public class Powerup {
         switch (type) {
             case "Bomb":
                 // Create two additional bullets at ±30 degrees
-                double currentAngle = Math.atan2(bullet.getyVelocity(), bullet.getxVelocity());
-                double upAngle = currentAngle - Math.PI/6;
-                double downAngle = currentAngle + Math.PI/6;
-                bullet.createSplitBullets(upAngle, downAngle);
+                bullet.createSplitBullets();
                 break;
                 
             case "Freeze":
                 // Set freeze effect and track player to unfreeze
                 bullet.setFreezeEffect(true, otherPlayer);
-                double targetAngle = Math.atan2(
-                    otherPlayer.y - bullet.y,
-                    otherPlayer.x - bullet.x
-                );
-                bullet.setDirection(Math.cos(targetAngle), Math.sin(targetAngle));
+                // Aim straight at the other player
+                bullet.setDirection(otherPlayer.x - bullet.x, otherPlayer.y - bullet.y);
                 break;
                 
             case "BigBullet":
@@ -282,10 +317,79 @@ public class Powerup {
     }
 
     // Check if a powerup is invincible
-    private boolean isInvincible(Point position) {
-        Long spawnTime = spawnTimes.get(position);
-        return spawnTime != null && 
-            System.currentTimeMillis() - spawnTime < INVINCIBILITY_DURATION;
+    public boolean isInvincible(Point position) {
+        return invinciblePositions.containsKey(position);
+    }
+
+    // Ticks until the next powerup regenerates, or 0 if none is pending (for the HUD)
+    public long getNextRegenerationTicks() {
+        long next = 0;
+        for (int i = 0; i < regenerationTimers.size(); i++) {
+            long left = timers.remainingTicks(regenerationTimers.get(i));
+            if (left > 0 && (next == 0 || left < next)) {
+                next = left;
+            }
+        }
+        return next;
+    }
+
+    // Returns true if the timer is one of the pending powerup regenerations (for saving)
+    public boolean isRegenerationTimer(TimerWheel.Timer timer) {
+        return regenerationTimers.contains(timer);
+    }
+
+    // Returns the powerup a pending invincibility timer protects, or null (for saving)
+    public Point getInvinciblePosition(TimerWheel.Timer timer) {
+        for (Map.Entry<Point, TimerWheel.Timer> entry : invinciblePositions.entrySet()) {
+            if (entry.getValue() == timer) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    // Creates an unscheduled regeneration timer for a saved one; the caller puts it back on the wheel
+    public TimerWheel.Timer restoreRegenerationTimer() {
+        TimerWheel.Timer timer = new TimerWheel.Timer(regeneration(generation));
+        regenerationTimers.add(timer);
+        return timer;
+    }
+
+    // Marks a saved powerup invincible with an unscheduled timer; the caller puts it back on the wheel
+    public TimerWheel.Timer restoreInvincibilityTimer(Point position) {
+        TimerWheel.Timer timer = new TimerWheel.Timer(invincibilityEnd(position, generation));
+        invinciblePositions.put(position, timer);
+        return timer;
+    }
+
+    // Writes the powerup positions and types in order (timers are saved with the match's timer wheel)
+    public void writeState(DataOutput out) throws IOException {
+        out.writeByte(powerupPositions.size());
+        for (Point p : powerupPositions) {
+            out.writeShort(p.x);
+            out.writeShort(p.y);
+            out.writeByte(Arrays.asList(MapManager.POWERUP_TYPES).indexOf(powerupTypes.get(p)));
+        }
+    }
+
+    // Replaces the powerups with saved ones
+    public void readState(DataInput in) throws IOException {
+        powerupPositions.clear();
+        powerupImages.clear();
+        powerupTypes.clear();
+        invinciblePositions.clear();
+        regenerationTimers.clear();
+        generation++;
+        int count = in.readUnsignedByte();
+        for (int i = 0; i < count; i++) {
+            Point position = new Point(in.readShort(), in.readShort());
+            int type = in.readUnsignedByte();
+            if (type >= MapManager.POWERUP_TYPES.length) {
+                throw new IOException("Unknown powerup type " + type);
+            }
+            powerupPositions.add(position);
+            setPowerup(position, MapManager.POWERUP_TYPES[type]);
+        }
     }
 
     // Returns the current powerup image (for use by Obstacle class)
@@ -297,6 +401,11 @@ public class Powerup {
         return null;
     }
 
+    // Returns how many entries the per-powerup maps and sets hold (for leak checks)
+    public int getTrackedEntryCount() {
+        return powerupImages.size() + powerupTypes.size() + invinciblePositions.size();
+    }
+
     // Returns the list of current powerup positions
     public ArrayList<Point> getPowerupPositions() {
         return powerupPositions;
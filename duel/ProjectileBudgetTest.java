@@ -0,0 +1,76 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: ProjectileBudgetTest checks that the split bullet budget counts
+* live projectiles, not list slots. It stages a match one below the cap where,
+* in a single tick, one bullet leaves the screen before another hits a Bomb;
+* both split bullets must be added and none counted as dropped. It exits with
+* status 1 on a failure.
+* Usage: java ProjectileBudgetTest [first seed]
+*/
+
+import java.awt.Point;
+import java.util.ArrayList;
+
+public class ProjectileBudgetTest {
+    private static final int SETTLE_TICKS = 60; // Longer than the spawn invincibility of the first powerups
+    private static final int MAX_SEEDS = 1000; // Seeds tried for a map with a Bomb on it
+
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : 1;
+        Match match = null;
+        Point bomb = null;
+        for (long s = seed; s < seed + MAX_SEEDS && bomb == null; s++) {
+            match = new Match(s);
+            for (int i = 0; i < SETTLE_TICKS; i++) {
+                match.tick();
+            }
+            bomb = findBomb(match.getPowerup());
+        }
+        if (bomb == null) {
+            System.out.println("No Bomb powerup in " + MAX_SEEDS + " seeds");
+            System.exit(1);
+        }
+
+        // Only the Bomb is left to hit, so nothing else can create or remove projectiles
+        match.getObstacle().getObstaclePositions().clear();
+        ArrayList<Point> powerups = match.getPowerup().getPowerupPositions();
+        powerups.clear();
+        powerups.add(bomb);
+
+        // One bullet past the right edge, removed first; 29 that hit nothing this tick; one that reaches the Bomb
+        int width = match.getBulletWidth();
+        int height = match.getBulletHeight();
+        Point center = match.getPowerup().getCircleCenter(bomb);
+        int idleY = center.y > GamePanel.GAME_HEIGHT / 2 ? GamePanel.GAME_HEIGHT / 4 : GamePanel.GAME_HEIGHT * 3 / 4;
+        match.addProjectile(new Bullet(GamePanel.GAME_WIDTH + 100, idleY, width, height, true), -1);
+        for (int i = 0; i < Match.MAX_PROJECTILES - 3; i++) {
+            match.addProjectile(new Bullet(GamePanel.GAME_WIDTH / 2, idleY, width, height, true), -1);
+        }
+        match.addProjectile(new Bullet(center.x - width / 2 - 10, center.y - height / 2, width, height, true), -1);
+        int before = match.getProjectileCount();
+        match.tick();
+
+        int after = match.getProjectileCount();
+        long dropped = match.getDroppedSplitBullets();
+        System.out.println("Projectiles: " + before + " before the tick, " + after + " after, "
+            + dropped + " split bullets dropped");
+        if (after != Match.MAX_PROJECTILES || dropped != 0) {
+            System.out.println("FAIL");
+            System.exit(1);
+        }
+        System.out.println("PASS");
+    }
+
+    // Returns a Bomb powerup that can be hit, or null
+    private static Point findBomb(Powerup powerup) {
+        ArrayList<Point> positions = powerup.getPowerupPositions();
+        for (int i = 0; i < positions.size(); i++) {
+            Point position = positions.get(i);
+            if ("Bomb.png".equals(powerup.getPowerupType(position)) && !powerup.isInvincible(position)) {
+                return position;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: RenderBenchmark times the Java2D scene drawing against the
+* SoftwareRenderer on the same snapshots. It plays a seeded match headless
+* until bullets are in flight, then renders each frame repeatedly with both
+* and prints the average milliseconds per frame and the share of pixels that
+* differ between the two. It then times the particle system with over 10,000
+* live particles, updated and drawn on top of the scene every frame, and the
+* HUD with all its widgets against drawing the score as text.
+* Usage: java RenderBenchmark [frames] [software renderer threads]
+*/
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+public class RenderBenchmark {
+    private static final int WARMUP_FRAMES = 200;
+    private static final int PARTICLE_TARGET = 12000;
+
+    public static void main(String[] args) throws IOException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        // A seeded match with both players shooting, so bullets are on screen
+        Match match = new Match(1);
+        match.offerInput(KeyEvent.VK_W, true, System.nanoTime());
+        match.offerInput(KeyEvent.VK_UP, true, System.nanoTime());
+        for (int i = 0; i < 20; i++) {
+            match.tick();
+        }
+        FrameState frame = new FrameState();
+        match.capture(frame);
+        BufferedImage background = AssetCache.getShared().get(match.getMapManager().getBackgroundImage(),
+            GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT);
+        Obstacle obstacle = match.getObstacle();
+        Player left = match.getPlayerLeft();
+        Player right = match.getPlayerRight();
+        System.out.println(frame.obstacleCount + " obstacles, " + frame.powerupCount + " powerups, "
+            + frame.bulletCount + " bullets");
+
+        // Java2D into an opaque buffer, like the panel's back buffer
+        BufferedImage java2dImage = new BufferedImage(GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = java2dImage.createGraphics();
+        double java2dMillis = time(frames, () -> GamePanel.drawScene(g, frame, 0.5, background, obstacle, left, right));
+
+        SoftwareRenderer renderer = new SoftwareRenderer(GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT, threads);
+        double softwareMillis = time(frames, () -> renderer.render(frame, 0.5, background, obstacle, left, right));
+        BufferedImage softwareImage = renderer.render(frame, 0.5, background, obstacle, left, right);
+
+        System.out.printf("Java2D:   %.3f ms/frame%n", java2dMillis);
+        System.out.printf("Software: %.3f ms/frame (%d threads)%n", softwareMillis, threads);
+        System.out.printf("Pixels differing by more than 16 per channel: %.2f%%%n",
+            100.0 * differingPixels(java2dImage, softwareImage) / (GamePanel.GAME_WIDTH * GamePanel.GAME_HEIGHT));
+        renderer.shutdown();
+
+        // Particles: bursts of every type all over the screen, topped up each frame to stay above the target
+        ParticleSystem particles = new ParticleSystem(ParticleSystem.DEFAULT_CAPACITY, Long.MAX_VALUE);
+        long[] clock = {System.nanoTime()};
+        int[] burstNumber = {0};
+        double particleMillis = time(frames, () -> {
+            while (particles.getLiveCount() < PARTICLE_TARGET) {
+                int n = burstNumber[0]++;
+                particles.burst(n % 4, 100 + (n * 37) % 800, 80 + (n * 53) % 480);
+            }
+            clock[0] += 1000000000L / 60;
+            particles.update(clock[0]);
+            particles.draw(g);
+        });
+        System.out.printf("Particles: %.3f ms/frame to update and draw %d live particles%n",
+            particleMillis, particles.getLiveCount());
+
+        // HUD with every widget running, against drawing the score text the way Score used to
+        Score score = new Score();
+        score.setScores(12, 7);
+        frame.playerFreezeTicks[0] = Player.FREEZE_TICKS / 2;
+        frame.playerCooldownTicks[1] = Player.SHOOT_PAUSE_TICKS / 3;
+        frame.obstacleRegenerationTicks = Obstacle.REGENERATION_TICKS / 4;
+        frame.powerupRegenerationTicks = Powerup.REGENERATION_TICKS / 5;
+        Hud hud = new Hud(GamePanel.GAME_WIDTH);
+        double hudMillis = time(frames, () -> hud.draw(g, score, frame));
+        double textMillis = time(frames, () -> {
+            g.setColor(Color.BLACK);
+            g.setFont(new Font("Arial", Font.BOLD, 40));
+            String text = String.format("%d : %d", score.getLeftPlayerScore(), score.getRightPlayerScore());
+            g.drawString(text, (GamePanel.GAME_WIDTH - g.getFontMetrics().stringWidth(text)) / 2, 575);
+        });
+        System.out.printf("HUD: %.4f ms/frame with every widget (score text alone drawn with fonts: %.4f ms)%n",
+            hudMillis, textMillis);
+    }
+
+    // Returns the average milliseconds per call after a warm-up
+    private static double time(int frames, Runnable draw) {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            draw.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            draw.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / frames;
+    }
+
+    // Counts pixels where any colour channel differs noticeably (sprite scaling filters differ slightly)
+    private static int differingPixels(BufferedImage a, BufferedImage b) {
+        int count = 0;
+        for (int y = 0; y < a.getHeight(); y++) {
+            for (int x = 0; x < a.getWidth(); x++) {
+                int p = a.getRGB(x, y);
+                int q = b.getRGB(x, y);
+                for (int shift = 0; shift < 24; shift += 8) {
+                    if (Math.abs(((p >> shift) & 0xFF) - ((q >> shift) & 0xFF)) > 16) {
+                        count++;
+                        break;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
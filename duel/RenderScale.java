@@ -0,0 +1,115 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: RenderScale picks the resolution the game scene is drawn at,
+* as a fraction of the 1000x600 game area, and how the drawn frame is
+* stretched to the window. The scene is always drawn in game coordinates
+* through a scaled Graphics, so nothing else needs to know the scale.
+* With automatic scaling on, the panel reports how long each game frame took
+* to paint; every DECISION_FRAMES frames the average is compared with the
+* frame budget (one frame of the render thread's pace). Over budget drops one
+* level. Raising needs the average, grown by the pixel ratio of the level
+* above, to fit well inside the budget, so the scale does not bounce between
+* two levels. Stretching with bilinear filtering to a large window can cost
+* more than drawing the scene, so if the lowest scale is still over budget the
+* stretch switches to nearest neighbour, for the rest of the session.
+* -Dduel.renderScale=<0.5 to 1> sets the starting scale (default 1),
+* -Dduel.autoScale=false keeps it fixed, and -Dduel.upscale=nearest or
+* bilinear (the default) picks the filter used to stretch the frame.
+*/
+
+import java.awt.RenderingHints;
+
+public class RenderScale {
+    private static final double[] LEVELS = {1.0, 0.85, 0.7, 0.6, 0.5};
+    private static final int DECISION_FRAMES = 30;
+    private static final double RAISE_HEADROOM = 0.75; // Share of the budget the level above must be expected to use
+    private final long budgetNanos;
+    private final boolean automatic;
+    private Object interpolation;
+    private int level;
+    private long frameNanosTotal = 0;
+    private int frameCount = 0;
+
+    public RenderScale(double startScale, boolean automatic, boolean bilinear, long budgetNanos) {
+        this.automatic = automatic;
+        this.budgetNanos = budgetNanos;
+        interpolation = bilinear ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+            : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+        level = LEVELS.length - 1;
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i] <= startScale + 1e-9) {
+                level = i;
+                break;
+            }
+        }
+    }
+
+    // Reads the duel.renderScale, duel.autoScale and duel.upscale properties; canScale false pins the scale at 1
+    public static RenderScale fromSystemProperties(boolean canScale, long budgetNanos) {
+        double start = 1.0;
+        String scale = System.getProperty("duel.renderScale");
+        if (scale != null && canScale) {
+            try {
+                start = Math.max(LEVELS[LEVELS.length - 1], Math.min(1.0, Double.parseDouble(scale)));
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid duel.renderScale value: " + scale);
+            }
+        }
+        boolean automatic = canScale && !"false".equalsIgnoreCase(System.getProperty("duel.autoScale"));
+        boolean bilinear = !"nearest".equalsIgnoreCase(System.getProperty("duel.upscale"));
+        return new RenderScale(start, automatic, bilinear, budgetNanos);
+    }
+
+    // Fraction of the game area's width and height the scene is drawn at
+    public double getScale() {
+        return LEVELS[level];
+    }
+
+    // Size of the frame the scene is drawn into
+    public int getWidth() {
+        return (int) Math.round(GamePanel.GAME_WIDTH * LEVELS[level]);
+    }
+
+    public int getHeight() {
+        return (int) Math.round(GamePanel.GAME_HEIGHT * LEVELS[level]);
+    }
+
+    // Rendering hint value for stretching frames to the window
+    public Object getInterpolation() {
+        return interpolation;
+    }
+
+    // Records how long a moving game frame took to paint; returns true if the scale or the filter changed
+    public boolean frameRendered(long nanos) {
+        if (!automatic) {
+            return false;
+        }
+        frameNanosTotal += nanos;
+        if (++frameCount < DECISION_FRAMES) {
+            return false;
+        }
+        long average = frameNanosTotal / frameCount;
+        frameNanosTotal = 0;
+        frameCount = 0;
+        if (average > budgetNanos) {
+            if (level < LEVELS.length - 1) {
+                level++;
+                return true;
+            }
+            if (interpolation != RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR) {
+                interpolation = RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR;
+                return true;
+            }
+            return false;
+        }
+        if (level > 0) {
+            double pixelRatio = (LEVELS[level - 1] * LEVELS[level - 1]) / (LEVELS[level] * LEVELS[level]);
+            if (average * pixelRatio < budgetNanos * RAISE_HEADROOM) {
+                level--;
+                return true;
+            }
+        }
+        return false;
+    }
+}
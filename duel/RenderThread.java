@@ -0,0 +1,128 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: RenderThread paints the game panel at the display's refresh
+* rate (or as fast as possible) independently of the 60 Hz simulation. Each
+* frame is painted synchronously on the Swing thread, which interpolates
+* between the last two simulation snapshots.
+* Set -Dduel.fps=<frames per second> or -Dduel.fps=uncapped to override.
+*/
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.*;
+
+public class RenderThread implements Runnable {
+    private final JComponent panel;
+    private final long frameNanos; // 0 means uncapped
+    private final Runnable paintFrame;
+    private volatile boolean running;
+    private Thread thread;
+
+    public RenderThread(JComponent panel) {
+        this.panel = panel;
+        this.frameNanos = chooseFrameNanos();
+        this.paintFrame = () -> panel.paintImmediately(0, 0, panel.getWidth(), panel.getHeight());
+    }
+
+    // Returns a tag describing how frames are paced, e.g. "interpolated@144"
+    public String getModeName() {
+        return frameNanos == 0 ? "interpolated@uncapped"
+            : "interpolated@" + Math.round(1e9 / frameNanos);
+    }
+
+    // Nanoseconds between frames, 0 if uncapped
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    // Starts (or resumes) painting
+    public synchronized void start() {
+        running = true;
+        if (thread == null) {
+            thread = new Thread(this, "Render");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        notifyAll();
+    }
+
+    // Pauses painting after the current frame
+    public void stop() {
+        running = false;
+    }
+
+    public void run() {
+        long nextFrame = System.nanoTime();
+        while (true) {
+            if (!running) {
+                if (!waitUntilStarted()) {
+                    return;
+                }
+                nextFrame = System.nanoTime();
+            }
+            try {
+                SwingUtilities.invokeAndWait(paintFrame);
+            } catch (InterruptedException e) {
+                return;
+            } catch (InvocationTargetException e) {
+                System.err.println("Error painting frame: " + e.getCause());
+            }
+            Toolkit.getDefaultToolkit().sync();
+
+            if (frameNanos > 0) {
+                nextFrame += frameNanos;
+                long wait = nextFrame - System.nanoTime();
+                if (wait > 0) {
+                    sleepNanos(wait);
+                } else {
+                    nextFrame = System.nanoTime(); // Fell behind, don't try to catch up
+                }
+            }
+        }
+    }
+
+    // Blocks while stopped; returns false if the thread was interrupted
+    private synchronized boolean waitUntilStarted() {
+        try {
+            while (!running) {
+                wait();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Uses -Dduel.fps if given, otherwise the display refresh rate, otherwise 60
+    private static long chooseFrameNanos() {
+        String fps = System.getProperty("duel.fps");
+        if ("uncapped".equalsIgnoreCase(fps)) {
+            return 0;
+        }
+        int rate = 0;
+        if (fps != null) {
+            try {
+                rate = Integer.parseInt(fps);
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid duel.fps value: " + fps);
+            }
+        }
+        if (rate <= 0 && !GraphicsEnvironment.isHeadless()) {
+            rate = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+        }
+        if (rate <= 0) {
+            rate = GamePanel.TICKS_PER_SECOND;
+        }
+        return 1000000000L / rate;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: ReplayCheck shows that a match can be replayed from its seed and
+* its key presses alone. It plays a seeded match headless with random key
+* presses, recording only the presses and a checksum of the state after every
+* tick, then plays a second match from the same seed and the recorded presses
+* and compares the checksums tick by tick. It prints how much smaller the press
+* log is than sending the full state every tick, and the final checksum, which
+* must be the same on every JVM and machine for the same arguments. Exits with
+* status 1 if the replay differs.
+* Usage: java ReplayCheck [simulated minutes] [seed]
+*/
+
+import java.awt.event.KeyEvent;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+public class ReplayCheck {
+    public static void main(String[] args) throws Exception {
+        long minutes = args.length > 0 ? Long.parseLong(args[0]) : 10;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int totalTicks = (int) (minutes * 60 * GamePanel.TICKS_PER_SECOND);
+
+        // Original run: random presses, logged as they happen
+        Match match = new Match(seed);
+        Random keys = new Random(seed);
+        boolean[] down = new boolean[2];
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        long[] checksums = new long[totalTicks];
+        long stateBytes = 0;
+        int lastLoggedTick = 0;
+        long start = System.nanoTime();
+        for (int tick = 0; tick < totalTicks; tick++) {
+            for (int player = 0; player < 2; player++) {
+                if (keys.nextInt(20) == 0) {
+                    down[player] = !down[player];
+                    press(match, player, down[player]);
+                    // A press is the ticks since the last one, then the player and whether the key went down
+                    writeVarInt(log, tick - lastLoggedTick);
+                    log.write(player << 1 | (down[player] ? 1 : 0));
+                    lastLoggedTick = tick;
+                }
+            }
+            advance(match);
+            checksums[tick] = match.checksum();
+            if (tick % 60 == 0) {
+                stateBytes += MatchSave.encode(match).length; // Sampled, encoding every tick is slow
+            }
+        }
+        long recordNanos = System.nanoTime() - start;
+
+        // Replay from the seed and the log alone
+        Match replay = new Match(seed);
+        byte[] presses = log.toByteArray();
+        int position = 0;
+        int nextPressTick = -1;
+        if (position < presses.length) {
+            int[] read = readVarInt(presses, position);
+            nextPressTick = read[0];
+            position = read[1];
+        }
+        int firstMismatch = -1;
+        start = System.nanoTime();
+        for (int tick = 0; tick < totalTicks; tick++) {
+            while (nextPressTick == tick) {
+                int flags = presses[position++];
+                press(replay, flags >> 1, (flags & 1) != 0);
+                if (position < presses.length) {
+                    int[] read = readVarInt(presses, position);
+                    nextPressTick += read[0];
+                    position = read[1];
+                } else {
+                    nextPressTick = -1;
+                }
+            }
+            advance(replay);
+            if (replay.checksum() != checksums[tick]) {
+                firstMismatch = tick;
+                break;
+            }
+        }
+        long replayNanos = System.nanoTime() - start;
+
+        double averageState = (double) stateBytes / ((totalTicks + 59) / 60);
+        System.out.println("Ticks: " + totalTicks + ", rounds: " + match.getRoundCount());
+        System.out.printf("Press log: %d bytes (%.3f bytes a tick)%n", presses.length, (double) presses.length / totalTicks);
+        System.out.printf("Full state: %.0f bytes a tick, %.0fx the press log%n", averageState,
+            averageState * totalTicks / Math.max(1, presses.length));
+        System.out.printf("Record: %.1f ms, replay: %.1f ms%n", recordNanos / 1e6, replayNanos / 1e6);
+        System.out.printf("Final checksum: %08x%n", checksums[totalTicks - 1]);
+        if (firstMismatch >= 0) {
+            System.out.println("FAIL: replay differs at tick " + firstMismatch);
+            System.exit(1);
+        }
+        System.out.println("PASS");
+    }
+
+    // Presses or releases a player's fire key
+    private static void press(Match match, int player, boolean pressed) {
+        match.offerInput(player == 0 ? KeyEvent.VK_W : KeyEvent.VK_UP, pressed, 0);
+    }
+
+    // Runs one tick and starts a new match when one is won
+    private static void advance(Match match) {
+        match.tick();
+        if (match.isOver()) {
+            match.startNewMatch(true);
+        }
+    }
+
+    // Seven bits a byte, low bits first
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    // Returns the value and the position after it
+    private static int[] readVarInt(byte[] data, int position) {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data[position++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return new int[] {value, position};
+    }
+}
@@ -0,0 +1,111 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: SaveResumeTest checks that a resumed match carries on exactly
+* like the original. It plays a seeded match headless with random key presses,
+* saves it at every round boundary and regularly in the middle of rounds, loads
+* each save into a new match, and runs both side by side on the same input,
+* comparing their complete encoded state after every tick. It prints the save
+* size and the encode and decode times, and exits with status 1 on a mismatch.
+* Usage: java SaveResumeTest [simulated minutes] [seed]
+*/
+
+import java.awt.event.KeyEvent;
+import java.util.Arrays;
+import java.util.Random;
+
+public class SaveResumeTest {
+    private static final int MID_ROUND_EVERY = 997; // Ticks between saves in the middle of a round
+    private static final int COMPARE_TICKS = 600; // Ticks both matches run after each load
+    private static final int WARMUP_SAVES = 50;
+
+    public static void main(String[] args) throws Exception {
+        long minutes = args.length > 0 ? Long.parseLong(args[0]) : 60;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        long totalTicks = minutes * 60 * GamePanel.TICKS_PER_SECOND;
+
+        Match match = new Match(seed);
+        Random keys = new Random(seed);
+        boolean[] down = new boolean[2];
+        int lastRound = match.getRoundCount();
+        long saves = 0;
+        long mismatches = 0;
+        long bytes = 0;
+        long encodeNanos = 0;
+        long decodeNanos = 0;
+        long worstEncode = 0;
+        long worstDecode = 0;
+
+        for (long tick = 0; tick < totalTicks; tick++) {
+            step(match, keys, down);
+            boolean roundBoundary = match.getRoundCount() != lastRound;
+            lastRound = match.getRoundCount();
+            if (!roundBoundary && tick % MID_ROUND_EVERY != 0) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            byte[] data = MatchSave.encode(match);
+            long encoded = System.nanoTime();
+            Match resumed = MatchSave.decode(data);
+            long decoded = System.nanoTime();
+            saves++;
+            if (saves > WARMUP_SAVES) {
+                bytes += data.length;
+                encodeNanos += encoded - start;
+                decodeNanos += decoded - encoded;
+                worstEncode = Math.max(worstEncode, encoded - start);
+                worstDecode = Math.max(worstDecode, decoded - encoded);
+            }
+
+            // Both matches must stay identical on identical input
+            if (!Arrays.equals(data, MatchSave.encode(resumed))) {
+                System.out.println("Tick " + match.getTickCount() + ": resumed match differs straight after loading");
+                mismatches++;
+                continue;
+            }
+            long inputSeed = keys.nextLong();
+            Random originalKeys = new Random(inputSeed);
+            Random resumedKeys = new Random(inputSeed);
+            boolean[] resumedDown = down.clone();
+            for (int i = 0; i < COMPARE_TICKS; i++) {
+                step(match, originalKeys, down);
+                step(resumed, resumedKeys, resumedDown);
+                if (!Arrays.equals(MatchSave.encode(match), MatchSave.encode(resumed))) {
+                    System.out.println("Tick " + match.getTickCount() + ": resumed match diverged after "
+                        + (i + 1) + " ticks");
+                    mismatches++;
+                    break;
+                }
+            }
+            lastRound = match.getRoundCount();
+        }
+
+        long measured = Math.max(1, saves - WARMUP_SAVES);
+        System.out.println("Saves checked: " + saves + ", mismatches: " + mismatches);
+        System.out.printf("Save size: %.0f bytes on average%n", (double) bytes / measured);
+        System.out.printf("Encode: %.1f us average, %.1f us worst%n", encodeNanos / 1e3 / measured, worstEncode / 1e3);
+        System.out.printf("Decode: %.1f us average, %.1f us worst%n", decodeNanos / 1e3 / measured, worstDecode / 1e3);
+        if (mismatches > 0) {
+            System.out.println("FAIL");
+            System.exit(1);
+        }
+        System.out.println("PASS");
+    }
+
+    // Runs one tick with random key presses and starts a new match when one is won
+    private static void step(Match match, Random keys, boolean[] down) {
+        if (keys.nextInt(20) == 0) {
+            down[0] = !down[0];
+            match.offerInput(KeyEvent.VK_W, down[0], 0);
+        }
+        if (keys.nextInt(20) == 0) {
+            down[1] = !down[1];
+            match.offerInput(KeyEvent.VK_UP, down[1], 0);
+        }
+        match.tick();
+        if (match.isOver()) {
+            match.startNewMatch(true);
+        }
+    }
+}
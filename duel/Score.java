@@ -4,9 +4,7 @@
 * Description: Score class to track and manage player scores in Top-Down Duel
 */
 
-import java.awt.*;
-
-public class Score {
+public class Score implements GameEventHandler {
     private int leftPlayerScore;
     private int rightPlayerScore;
 
@@ -35,22 +33,18 @@ public class Score {
         return rightPlayerScore;
     }
 
-    // Draw scores on the screen
-    public void draw(Graphics g, int screenWidth, int screenHeight) {
-        g.setColor(Color.BLACK);
-        g.setFont(new Font("Arial", Font.BOLD, 40));
-
-        // Format score as "LeftScore : RightScore"
-        String scoreText = String.format("%d : %d", leftPlayerScore, rightPlayerScore);
-
-        // Measure text width to center it
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(scoreText);
+    // Mirrors the score carried by gameplay events (used by the HUD copy of the score)
+    public void onEvent(GameEvent event) {
+        if (event.type == GameEvent.Type.PLAYER_HIT || event.type == GameEvent.Type.ROUND_RESET) {
+            leftPlayerScore = event.leftScore;
+            rightPlayerScore = event.rightScore;
+        }
+    }
 
-        // Draw score in top middle of screen
-        g.drawString(scoreText, 
-                     (screenWidth - textWidth) / 2, 
-                     575);
+    // Sets both scores (used when loading a saved match)
+    public void setScores(int leftPlayerScore, int rightPlayerScore) {
+        this.leftPlayerScore = leftPlayerScore;
+        this.rightPlayerScore = rightPlayerScore;
     }
 
     // Reset scores for a new game
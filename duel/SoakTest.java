@@ -0,0 +1,286 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: SoakTest runs the game simulation headless for a long stretch
+* of simulated time (24 hours by default) with random key presses, finished
+* matches and the startNewMatch() calls that resetGame() and returnToMainMenu()
+* make. That match is ticked as fast as it goes, without the game's threads.
+* Those are covered by a headless GamePanel next to it, which goes through the
+* real cycle every CYCLE_TICKS: resetGame() and returnToMainMenu() followed by
+* startGame(), in turn, each with a painted frame. Between cycles its own match
+* runs in real time on its game, render and event threads. Once every
+* simulated hour, with the panel on the main menu, SoakTest records heap after
+* GC, live instances of the game's classes, thread count and the size of the
+* per-entity timer state, then exits with status 1 if any of them grew.
+* Usage: java -Djava.awt.headless=true SoakTest [simulated hours] [seed]
+*/
+
+import java.awt.EventQueue;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+public class SoakTest {
+    private static final long TICKS_PER_HOUR = 3600L * GamePanel.TICKS_PER_SECOND;
+    // Simulated time between menu cycles
+    private static final long CYCLE_TICKS = 10L * 60 * GamePanel.TICKS_PER_SECOND;
+    // Classes whose live instance counts must not grow
+    private static final String[] WATCHED_CLASSES = {
+        "Match", "Player", "Bullet", "TimerWheel$Timer", "GameEvent", "java.awt.Point",
+        "java.util.HashMap$Node", "java.awt.image.BufferedImage", "java.lang.Thread"
+    };
+    // Allowed growth between the first and last samples
+    private static final long HEAP_SLACK_BYTES = 8L * 1024 * 1024;
+    private static final long INSTANCE_SLACK = 256;
+    // Upper bound for tracked entries per live obstacle or powerup
+    private static final int ENTRIES_PER_ENTITY = 3;
+    // Threads stopped by returnToMainMenu() are given this long to end before they are counted
+    private static final long THREAD_SETTLE_MILLIS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        int hours = args.length > 0 ? Integer.parseInt(args[0]) : 24;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+        Match match = new Match(seed);
+        // Same consumers as the game: statistics, the HUD copy of the score and render snapshots
+        MatchStats stats = new MatchStats();
+        Score hudScore = new Score();
+        GameEventQueue.Cursor statsCursor = match.getEvents().subscribe();
+        GameEventQueue.Cursor hudCursor = match.getEvents().subscribe();
+        FrameExchange frames = new FrameExchange();
+        PanelCycle panel = new PanelCycle();
+        panel.startGame();
+        Random keys = new Random(seed ^ 0x5DEECE66DL);
+        boolean leftDown = false;
+        boolean rightDown = false;
+        boolean newMap = true;
+        long matches = 0;
+
+        List<Sample> samples = new ArrayList<>();
+        long started = System.nanoTime();
+        System.out.println("hour,heapBytes,threads,trackedEntries,liveEntities,pendingTimers,"
+            + String.join(",", WATCHED_CLASSES));
+        for (long tick = 1; tick <= hours * TICKS_PER_HOUR; tick++) {
+            // Random presses and releases, a few per second for each player
+            if (keys.nextInt(20) == 0) {
+                leftDown = !leftDown;
+                match.offerInput(KeyEvent.VK_W, leftDown, System.nanoTime());
+            }
+            if (keys.nextInt(20) == 0) {
+                rightDown = !rightDown;
+                match.offerInput(KeyEvent.VK_UP, rightDown, System.nanoTime());
+            }
+
+            match.tick();
+            match.capture(frames.getBack());
+            frames.publish();
+            frames.acquire();
+            statsCursor.drain(stats);
+            hudCursor.drain(hudScore);
+
+            // Finished matches go straight to a new map, like the end screen's play again
+            if (match.isOver()) {
+                match.startNewMatch(true);
+                matches++;
+            } else if (tick % CYCLE_TICKS == 0) {
+                // Alternate resetGame() and returnToMainMenu() followed by startGame(): the panel's real
+                // ones, and the match calls they make on the long match
+                if (newMap) {
+                    panel.resetGame();
+                } else {
+                    panel.returnToMainMenu();
+                    panel.startGame();
+                }
+                match.startNewMatch(newMap);
+                if (!newMap) {
+                    match.startNewMatch(false);
+                }
+                newMap = !newMap;
+            }
+
+            if (tick % TICKS_PER_HOUR == 0) {
+                // Sampled on the main menu, where the game and render threads are stopped
+                panel.returnToMainMenu();
+                Sample sample = Sample.take(tick / TICKS_PER_HOUR, match);
+                samples.add(sample);
+                System.out.println(sample);
+                panel.startGame();
+            }
+        }
+        long seconds = (System.nanoTime() - started) / 1000000000L;
+        System.out.println("Simulated " + hours + " h (" + matches + " finished matches) in " + seconds
+            + " s; last match: " + stats.getRounds() + " rounds, " + stats.getLeftShots() + "/"
+            + stats.getRightShots() + " shots, score " + hudScore.getLeftPlayerScore() + ":"
+            + hudScore.getRightPlayerScore());
+
+        List<String> failures = check(samples);
+        for (String failure : failures) {
+            System.out.println("FAIL: " + failure);
+        }
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+        System.out.println("PASS");
+        System.exit(0); // The panel's game thread would keep the JVM running
+    }
+
+    // Compares the last sample against the first (which is past warm-up) and bounds every sample
+    private static List<String> check(List<Sample> samples) {
+        List<String> failures = new ArrayList<>();
+        for (Sample sample : samples) {
+            if (sample.trackedEntries > ENTRIES_PER_ENTITY * Math.max(1, sample.liveEntities)) {
+                failures.add("hour " + sample.hour + ": " + sample.trackedEntries
+                    + " tracked entries for " + sample.liveEntities + " live obstacles and powerups");
+            }
+        }
+        if (samples.size() < 2) {
+            return failures;
+        }
+        Sample first = samples.get(0);
+        Sample last = samples.get(samples.size() - 1);
+        if (last.heapBytes > first.heapBytes + Math.max(HEAP_SLACK_BYTES, first.heapBytes / 4)) {
+            failures.add("heap grew from " + first.heapBytes + " to " + last.heapBytes + " bytes");
+        }
+        if (last.threads > first.threads) {
+            failures.add("threads grew from " + first.threads + " to " + last.threads);
+        }
+        if (last.pendingTimers > first.pendingTimers + INSTANCE_SLACK) {
+            failures.add("pending timers grew from " + first.pendingTimers + " to " + last.pendingTimers);
+        }
+        for (int i = 0; i < WATCHED_CLASSES.length; i++) {
+            if (last.instances[i] > 2 * first.instances[i] + INSTANCE_SLACK) {
+                failures.add(WATCHED_CLASSES[i] + " instances grew from " + first.instances[i]
+                    + " to " + last.instances[i]);
+            }
+        }
+        return failures;
+    }
+
+    // A headless GamePanel driven through its menu cycle on the Swing thread, as the buttons drive it
+    private static class PanelCycle {
+        private final BufferedImage screen = new BufferedImage(GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT,
+            BufferedImage.TYPE_INT_RGB);
+        private GamePanel panel;
+
+        PanelCycle() throws Exception {
+            EventQueue.invokeAndWait(() -> {
+                // Without a screen Component.createImage returns null, so the panel's frame buffer is a plain image
+                panel = new GamePanel() {
+                    @Override
+                    public Image createImage(int width, int height) {
+                        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+                    }
+                };
+                panel.setSize(GamePanel.GAME_WIDTH, GamePanel.GAME_HEIGHT);
+            });
+        }
+
+        void startGame() throws Exception {
+            onSwingThread(panel::startGame);
+        }
+
+        void resetGame() throws Exception {
+            onSwingThread(panel::resetGame);
+        }
+
+        void returnToMainMenu() throws Exception {
+            onSwingThread(panel::returnToMainMenu);
+        }
+
+        // Runs one step of the cycle, then paints a frame as the render thread or a repaint would
+        private void onSwingThread(Runnable step) throws Exception {
+            EventQueue.invokeAndWait(() -> {
+                step.run();
+                Graphics g = screen.getGraphics();
+                panel.paint(g);
+                g.dispose();
+            });
+        }
+    }
+
+    // One set of measurements, taken after a full GC
+    private static class Sample {
+        long hour;
+        long heapBytes;
+        int threads;
+        int trackedEntries;
+        int liveEntities;
+        int pendingTimers;
+        long[] instances = new long[WATCHED_CLASSES.length];
+
+        static Sample take(long hour, Match match) throws Exception {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            memory.gc();
+
+            Sample sample = new Sample();
+            sample.hour = hour;
+            sample.heapBytes = memory.getHeapMemoryUsage().getUsed();
+            sample.threads = settledThreadCount(threadBean);
+            sample.trackedEntries = match.getObstacle().getTrackedEntryCount()
+                + match.getPowerup().getTrackedEntryCount();
+            sample.liveEntities = match.getObstacle().getObstaclePositions().size()
+                + match.getPowerup().getPowerupPositions().size();
+            sample.pendingTimers = match.getTimers().getPendingCount();
+
+            // The class histogram also forces a full GC, so it only counts live objects
+            Map<String, Long> histogram = classHistogram();
+            for (int i = 0; i < WATCHED_CLASSES.length; i++) {
+                sample.instances[i] = histogram.getOrDefault(WATCHED_CLASSES[i], 0L);
+            }
+            return sample;
+        }
+
+        // Thread count once it stops falling, so threads that were just told to stop are not counted
+        private static int settledThreadCount(ThreadMXBean threadBean) throws InterruptedException {
+            int count = threadBean.getThreadCount();
+            long giveUp = System.currentTimeMillis() + THREAD_SETTLE_MILLIS;
+            while (System.currentTimeMillis() < giveUp) {
+                Thread.sleep(100);
+                int now = threadBean.getThreadCount();
+                if (now == count) {
+                    break;
+                }
+                count = now;
+            }
+            return count;
+        }
+
+        // Reads live instance counts per class from the JVM's GC.class_histogram diagnostic command
+        private static Map<String, Long> classHistogram() throws Exception {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            String output = (String) server.invoke(new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram", new Object[] {new String[0]}, new String[] {String[].class.getName()});
+            Map<String, Long> counts = new HashMap<>();
+            for (String line : output.split("\n")) {
+                // Rows look like "   1:   1234   56789  java.lang.String (java.base@21)"
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length >= 4 && columns[0].endsWith(":")) {
+                    try {
+                        counts.put(columns[3], Long.parseLong(columns[1]));
+                    } catch (NumberFormatException e) {
+                        // Header or total line
+                    }
+                }
+            }
+            return counts;
+        }
+
+        public String toString() {
+            StringBuilder row = new StringBuilder();
+            row.append(hour).append(',').append(heapBytes).append(',').append(threads).append(',')
+                .append(trackedEntries).append(',').append(liveEntities).append(',').append(pendingTimers);
+            for (long count : instances) {
+                row.append(',').append(count);
+            }
+            return row.toString();
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: SoftwareRenderer draws a FrameState straight into the int[]
+* pixels of a TYPE_INT_ARGB_PRE image, without Java2D, for headless servers and
+* machines where Java2D acceleration is off. Sprites are converted once to
+* premultiplied pixels at the size they are drawn, then blended by hand. The
+* frame is split into horizontal strips that are rendered in parallel on a
+* fork-join pool. Select it with -Dduel.renderer=software.
+*/
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class SoftwareRenderer {
+    private final int width;
+    private final int height;
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final Graphics2D overlayGraphics;
+    private final ForkJoinPool pool;
+    private final int stripHeight;
+    // Premultiplied copies of source images, keyed by the source image
+    private final IdentityHashMap<BufferedImage, Sprite> sprites = new IdentityHashMap<>();
+    private static final int SPRITE_CACHE_LIMIT = 32;
+    private static final int SPRITE_IDLE_FRAMES = 120;
+    private long frameNumber;
+    private BufferedImage background;
+    private int[] backgroundPixels;
+    // This frame's draw list, in painting order
+    private int drawCount;
+    private Sprite[] drawSprite = new Sprite[32];
+    private int[] drawX = new int[32];
+    private int[] drawY = new int[32];
+    private double[] drawRotation = new double[32];
+
+    public SoftwareRenderer(int width, int height) {
+        this(width, height, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SoftwareRenderer(int width, int height, int threads) {
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.overlayGraphics = image.createGraphics();
+        this.pool = new ForkJoinPool(Math.max(1, threads));
+        // A few strips per thread keeps the work balanced when sprites bunch up
+        this.stripHeight = Math.max(8, height / (Math.max(1, threads) * 4));
+    }
+
+    // Returns true if -Dduel.renderer=software was given
+    public static boolean isSelected() {
+        return "software".equalsIgnoreCase(System.getProperty("duel.renderer"));
+    }
+
+    // Renders a snapshot and returns the image it was drawn into (reused every frame)
+    public BufferedImage render(FrameState frame, double alpha, BufferedImage backgroundImage,
+                                Obstacle obstacle, Player playerLeft, Player playerRight) {
+        frameNumber++;
+        prepareBackground(backgroundImage);
+        buildDrawList(frame, alpha, obstacle, playerLeft, playerRight);
+        evictIdleSprites();
+        pool.invoke(new StripTask(0, (height + stripHeight - 1) / stripHeight));
+        return image;
+    }
+
+    // Graphics for drawing on top of the rendered frame (such as the HUD), on the calling thread only
+    public Graphics2D getOverlayGraphics() {
+        return overlayGraphics;
+    }
+
+    // Stops the worker threads
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Scales the background to the frame size once per background image
+    private void prepareBackground(BufferedImage backgroundImage) {
+        if (backgroundImage == background && (backgroundPixels != null || backgroundImage == null)) {
+            return;
+        }
+        background = backgroundImage;
+        backgroundPixels = backgroundImage == null ? null : toPremultiplied(backgroundImage, width, height);
+    }
+
+    // Collects every sprite in the same order GamePanel.drawScene draws them
+    private void buildDrawList(FrameState frame, double alpha, Obstacle obstacle,
+                               Player playerLeft, Player playerRight) {
+        drawCount = 0;
+        if (frame.capturedNanos == 0) {
+            return;
+        }
+        BufferedImage obstacleImage = obstacle.getImage();
+        if (obstacleImage != null) {
+            Sprite sprite = sprite(obstacleImage, obstacleImage.getWidth(), obstacleImage.getHeight());
+            for (int i = 0; i < frame.obstacleCount; i++) {
+                add(sprite, frame.obstacleX[i], frame.obstacleY[i], 0);
+            }
+        }
+        for (int i = 0; i < frame.powerupCount; i++) {
+            BufferedImage powerupImage = frame.powerupImage[i];
+            if (powerupImage != null) {
+                add(sprite(powerupImage, powerupImage.getWidth() / 2, powerupImage.getHeight() / 2),
+                    frame.powerupX[i], frame.powerupY[i], 0);
+            }
+        }
+        addPlayer(playerLeft, frame, 0, alpha);
+        addPlayer(playerRight, frame, 1, alpha);
+        for (int i = 0; i < frame.bulletCount; i++) {
+            if (frame.bulletImage[i] != null) {
+                add(sprite(frame.bulletImage[i], frame.bulletWidth[i], frame.bulletHeight[i]),
+                    FrameState.lerp(frame.bulletPrevX[i], frame.bulletX[i], alpha),
+                    FrameState.lerp(frame.bulletPrevY[i], frame.bulletY[i], alpha),
+                    frame.bulletRotation[i]);
+            }
+        }
+    }
+
+    // Players are drawn height x height, centred on their collision box (as in Player.draw)
+    private void addPlayer(Player player, FrameState frame, int index, double alpha) {
+        BufferedImage playerImage = player.getImage(frame.playerFrozen[index], frame.playerHasGun[index]);
+        if (playerImage != null) {
+            int size = player.height;
+            add(sprite(playerImage, size, size), frame.playerX[index] + (player.width - size) / 2,
+                FrameState.lerp(frame.playerPrevY[index], frame.playerY[index], alpha), 0);
+        }
+    }
+
+    private void add(Sprite sprite, int x, int y, double rotation) {
+        if (drawCount == drawX.length) {
+            int capacity = drawCount * 2;
+            drawSprite = Arrays.copyOf(drawSprite, capacity);
+            drawX = Arrays.copyOf(drawX, capacity);
+            drawY = Arrays.copyOf(drawY, capacity);
+            drawRotation = Arrays.copyOf(drawRotation, capacity);
+        }
+        drawSprite[drawCount] = sprite;
+        drawX[drawCount] = x;
+        drawY[drawCount] = y;
+        drawRotation[drawCount] = rotation;
+        drawCount++;
+    }
+
+    // Returns the premultiplied copy of an image at a size, converting it on first use
+    private Sprite sprite(BufferedImage source, int spriteWidth, int spriteHeight) {
+        Sprite sprite = sprites.get(source);
+        if (sprite == null || sprite.width != spriteWidth || sprite.height != spriteHeight) {
+            sprite = new Sprite(spriteWidth, spriteHeight, toPremultiplied(source, spriteWidth, spriteHeight));
+            sprites.put(source, sprite);
+        }
+        sprite.lastUsedFrame = frameNumber;
+        return sprite;
+    }
+
+    // Drops sprites that have not been drawn for a while (resized Big Bullet images, old maps)
+    private void evictIdleSprites() {
+        if (sprites.size() > SPRITE_CACHE_LIMIT) {
+            sprites.values().removeIf(sprite -> frameNumber - sprite.lastUsedFrame > SPRITE_IDLE_FRAMES);
+        }
+    }
+
+    // Scales an image into a new premultiplied pixel array
+    private static int[] toPremultiplied(BufferedImage source, int targetWidth, int targetHeight) {
+        BufferedImage converted = new BufferedImage(Math.max(1, targetWidth), Math.max(1, targetHeight),
+            BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = converted.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        g.dispose();
+        return ((DataBufferInt) converted.getRaster().getDataBuffer()).getData();
+    }
+
+    // Renders rows [top, bottom) of the frame
+    private void renderStrip(int top, int bottom) {
+        if (backgroundPixels != null) {
+            System.arraycopy(backgroundPixels, top * width, pixels, top * width, (bottom - top) * width);
+        } else {
+            Arrays.fill(pixels, top * width, bottom * width, 0xFFFFFFFF);
+        }
+        for (int i = 0; i < drawCount; i++) {
+            if (drawRotation[i] == 0) {
+                blit(drawSprite[i], drawX[i], drawY[i], top, bottom);
+            } else {
+                blitRotated(drawSprite[i], drawX[i], drawY[i], drawRotation[i], top, bottom);
+            }
+        }
+    }
+
+    // Blends an unrotated sprite, clipped to the frame and the strip
+    private void blit(Sprite sprite, int x, int y, int top, int bottom) {
+        int rowStart = Math.max(y, top);
+        int rowEnd = Math.min(y + sprite.height, bottom);
+        int colStart = Math.max(x, 0);
+        int colEnd = Math.min(x + sprite.width, width);
+        for (int row = rowStart; row < rowEnd; row++) {
+            int src = (row - y) * sprite.width + (colStart - x);
+            int dst = row * width + colStart;
+            for (int col = colStart; col < colEnd; col++) {
+                pixels[dst] = blend(sprite.pixels[src++], pixels[dst]);
+                dst++;
+            }
+        }
+    }
+
+    // Blends a sprite rotated about its centre (as in Bullet.draw), sampling the nearest source pixel
+    private void blitRotated(Sprite sprite, int x, int y, double rotation, int top, int bottom) {
+        double centreX = x + sprite.width / 2;
+        double centreY = y + sprite.height / 2;
+        int reach = (int) Math.ceil(Math.sqrt(sprite.width * sprite.width + sprite.height * sprite.height) / 2);
+        int rowStart = Math.max((int) centreY - reach, top);
+        int rowEnd = Math.min((int) centreY + reach + 1, bottom);
+        int colStart = Math.max((int) centreX - reach, 0);
+        int colEnd = Math.min((int) centreX + reach + 1, width);
+        double cos = Math.cos(rotation);
+        double sin = Math.sin(rotation);
+        int halfWidth = sprite.width / 2;
+        int halfHeight = sprite.height / 2;
+        for (int row = rowStart; row < rowEnd; row++) {
+            double dy = row + 0.5 - centreY;
+            for (int col = colStart; col < colEnd; col++) {
+                double dx = col + 0.5 - centreX;
+                // Rotate the destination pixel back into sprite space
+                int u = (int) Math.floor(dx * cos + dy * sin) + halfWidth;
+                int v = (int) Math.floor(-dx * sin + dy * cos) + halfHeight;
+                if (u >= 0 && u < sprite.width && v >= 0 && v < sprite.height) {
+                    int dst = row * width + col;
+                    pixels[dst] = blend(sprite.pixels[v * sprite.width + u], pixels[dst]);
+                }
+            }
+        }
+    }
+
+    // Premultiplied source-over: result = source + destination * (1 - source alpha)
+    private static int blend(int source, int destination) {
+        int sourceAlpha = source >>> 24;
+        if (sourceAlpha == 255) {
+            return source;
+        }
+        if (sourceAlpha == 0) {
+            return destination;
+        }
+        int inverse = 256 - sourceAlpha;
+        int redBlue = ((destination & 0x00FF00FF) * inverse >>> 8) & 0x00FF00FF;
+        int alphaGreen = ((destination >>> 8) & 0x00FF00FF) * inverse & 0xFF00FF00;
+        return source + (redBlue | alphaGreen);
+    }
+
+    // Splits a range of strips in half until each task has one strip
+    private class StripTask extends RecursiveAction {
+        private final int first;
+        private final int last;
+
+        StripTask(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        protected void compute() {
+            if (last - first == 1) {
+                int top = first * stripHeight;
+                renderStrip(top, Math.min(top + stripHeight, height));
+            } else {
+                int middle = (first + last) >>> 1;
+                invokeAll(new StripTask(first, middle), new StripTask(middle, last));
+            }
+        }
+    }
+
+    // A sprite's premultiplied pixels at the size it is drawn
+    private static class Sprite {
+        final int width;
+        final int height;
+        final int[] pixels;
+        long lastUsedFrame;
+
+        Sprite(int width, int height, int[] pixels) {
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+        }
+    }
+}
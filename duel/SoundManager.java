@@ -9,7 +9,7 @@ import java.io.IOException;
 import java.net.URL;
 import javax.sound.sampled.*;
 
-public class SoundManager {
+public class SoundManager implements GameEventHandler {
     private Clip backgroundMusic;
     private Clip gameStartSound;
     private Clip pausePlaySound;
@@ -19,6 +19,7 @@ public class SoundManager {
     private Clip bombSound;
     private Clip freezeSound;
     private Clip bigBulletSound;
+    private volatile LatencyTracer latencyTracer; // Optional, measures key-to-sound latency; set after the audio thread starts
 
     //Constructor
     public SoundManager() {
@@ -75,6 +76,7 @@ public class SoundManager {
     }
     //Turning background music on or off
     public void playBackgroundMusic() {
+        FlightEvents.sound("BackgroundMusic");
         if (backgroundMusic != null) {
             backgroundMusic.loop(Clip.LOOP_CONTINUOUSLY);
         }
@@ -88,34 +90,72 @@ public class SoundManager {
     }
 
     public void playGameStart() {
-        playSound(gameStartSound);
+        playSound(gameStartSound, "GameStart");
     }
 
     public void playPauseAndPlay() {
-        playSound(pausePlaySound);
+        playSound(pausePlaySound, "PauseAndPlay");
     }
 
     public void playBulletSound() {
-        playSound(bulletSound);
+        playSound(bulletSound, "Bullet");
     }
 
     public void playObstacleBounce() {
-        playSound(obstacleBounceSound);
+        playSound(obstacleBounceSound, "ObstacleBounce");
     }
 
     public void playBombSound() {
-        playSound(bombSound);
+        playSound(bombSound, "Bomb");
     }
 
     public void playFreezeSound() {
-        playSound(freezeSound);
+        playSound(freezeSound, "Freeze");
     }
 
     public void playBigBulletSound() {
-        playSound(bigBulletSound);
+        playSound(bigBulletSound, "BigBullet");
     }
 
-    private void playSound(Clip clip) {
+    // Sets the tracer told when a shot's sound starts (null to disable)
+    public void setLatencyTracer(LatencyTracer latencyTracer) {
+        this.latencyTracer = latencyTracer;
+    }
+
+    // Plays the effect for a gameplay event (runs on the audio dispatcher thread)
+    public void onEvent(GameEvent event) {
+        switch (event.type) {
+            case SHOT:
+                playBulletSound();
+                LatencyTracer tracer = latencyTracer; // Read once, it can be cleared meanwhile
+                if (tracer != null && bulletSound != null) { // No clip, no sound to time
+                    tracer.soundStarted(event.tick);
+                }
+                break;
+            case BOUNCE:
+                playObstacleBounce();
+                break;
+            case POWERUP_ACTIVATED:
+                switch (event.detail) {
+                    case "Bomb":
+                        playBombSound();
+                        break;
+                    case "Freeze":
+                        playFreezeSound();
+                        break;
+                    case "BigBullet":
+                        playBigBulletSound();
+                        break;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Plays a clip from the start; the name is for the flight recorder's sound event
+    private void playSound(Clip clip, String name) {
+        FlightEvents.sound(name);
         if (clip != null) {
             clip.setFramePosition(0);
             clip.start();
@@ -0,0 +1,233 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: SpectatorLoadTest connects thousands of loopback spectators to
+* a SpectatorServer streaming a headless match at 60 ticks per second. Every
+* spectator decodes its stream, and a sample of the decoded states is compared
+* with the authoritative state of the same tick. A few spectators stop reading
+* for a while to exercise backpressure. It reports the server thread's CPU use
+* and exits with status 1 if a spectator decoded a wrong state or failed to
+* catch up.
+* Usage: java SpectatorLoadTest [spectators] [seconds, at least 30 to fill a stalled socket]
+*/
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+public class SpectatorLoadTest {
+    private static final int SLOW_EVERY = 50; // Every 50th spectator stalls
+    private static final int CHECK_EVERY = 97; // Compare roughly one decoded state in 97
+    private static final long KEEP_TICKS = 600;
+    private static final ConcurrentHashMap<Long, byte[]> truth = new ConcurrentHashMap<>();
+    private static volatile boolean running = true;
+    private static volatile long serverTick = -1;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        SpectatorServer server = new SpectatorServer(0);
+        server.start();
+        Thread simulation = new Thread(() -> simulate(server), "Simulation");
+
+        // Connect every spectator before the match starts
+        Selector selector = Selector.open();
+        Viewer[] viewers = new Viewer[count];
+        for (int i = 0; i < count; i++) {
+            SocketChannel channel = SocketChannel.open();
+            boolean slow = i % SLOW_EVERY == SLOW_EVERY - 1;
+            if (slow) {
+                channel.setOption(StandardSocketOptions.SO_RCVBUF, 4096);
+            }
+            channel.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+            channel.configureBlocking(false);
+            viewers[i] = new Viewer(channel, slow);
+            viewers[i].key = channel.register(selector, SelectionKey.OP_READ, viewers[i]);
+        }
+        while (server.getSpectatorCount() < count) {
+            Thread.sleep(10);
+        }
+        System.out.println(count + " spectators connected");
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long serverThreadId = findThread(threads, "Spectator server");
+        long cpuStart = threads.getThreadCpuTime(serverThreadId);
+        long start = System.nanoTime();
+        long end = start + seconds * 1000000000L;
+        simulation.start();
+
+        // Slow spectators stop reading from 10% to 80% of the run
+        long stallStart = start + seconds * 100000000L;
+        long stallEnd = start + seconds * 800000000L;
+        boolean stalled = false;
+        while (System.nanoTime() < end) {
+            long now = System.nanoTime();
+            if (!stalled && now >= stallStart && now < stallEnd) {
+                setSlowReading(viewers, 0);
+                stalled = true;
+            } else if (stalled && now >= stallEnd) {
+                setSlowReading(viewers, SelectionKey.OP_READ);
+                stalled = false;
+            }
+            selector.select(10);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                ((Viewer) key.attachment()).read();
+            }
+        }
+        running = false;
+        simulation.join();
+        long cpuMillis = (threads.getThreadCpuTime(serverThreadId) - cpuStart) / 1000000;
+        // Let every spectator read what is already on its way
+        long drainUntil = System.nanoTime() + 500000000L;
+        while (System.nanoTime() < drainUntil) {
+            selector.select(10);
+            for (SelectionKey key : selector.selectedKeys()) {
+                ((Viewer) key.attachment()).read();
+            }
+            selector.selectedKeys().clear();
+        }
+
+        long messages = 0;
+        long bytes = 0;
+        long checked = 0;
+        long mismatches = 0;
+        int behind = 0;
+        long lastTick = serverTick;
+        for (Viewer viewer : viewers) {
+            messages += viewer.messages;
+            bytes += viewer.bytes;
+            checked += viewer.checked;
+            mismatches += viewer.mismatches;
+            if (viewer.state.tick != lastTick) {
+                behind++;
+            }
+        }
+        System.out.println("Ticks broadcast: " + (lastTick + 1));
+        System.out.printf("Messages received: %d (%.1f bytes each)%n", messages, (double) bytes / Math.max(1, messages));
+        System.out.println("Backpressure resyncs: " + server.getResyncs() + ", dropped ticks: " + server.getDroppedUpdates());
+        System.out.printf("Server thread CPU: %d ms over %d s (%.1f%% of one core)%n",
+            cpuMillis, seconds, cpuMillis / (seconds * 10.0));
+        System.out.println("Decoded states checked: " + checked + ", mismatches: " + mismatches);
+        System.out.println("Spectators not on the last tick: " + behind);
+
+        server.stop();
+        if (mismatches > 0 || behind > 0) {
+            System.out.println("FAIL");
+            System.exit(1);
+        }
+        System.out.println("PASS");
+    }
+
+    // Runs a match at 60 ticks per second with random key presses, publishing every tick
+    private static void simulate(SpectatorServer server) {
+        Match match = new Match(7);
+        Random keys = new Random(7);
+        SpectatorState reference = new SpectatorState();
+        boolean leftDown = false;
+        boolean rightDown = false;
+        long nanosPerTick = 1000000000L / GamePanel.TICKS_PER_SECOND;
+        long next = System.nanoTime();
+        while (running) {
+            if (keys.nextInt(20) == 0) {
+                leftDown = !leftDown;
+                match.offerInput(KeyEvent.VK_W, leftDown, System.nanoTime());
+            }
+            if (keys.nextInt(20) == 0) {
+                rightDown = !rightDown;
+                match.offerInput(KeyEvent.VK_UP, rightDown, System.nanoTime());
+            }
+            match.tick();
+            if (match.isOver()) {
+                match.startNewMatch(true);
+            }
+            reference.capture(match);
+            truth.put(reference.tick, reference.encode(null));
+            truth.remove(reference.tick - KEEP_TICKS);
+            server.publish(match);
+            serverTick = reference.tick;
+
+            next += nanosPerTick;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+    }
+
+    private static void setSlowReading(Viewer[] viewers, int ops) {
+        for (Viewer viewer : viewers) {
+            if (viewer.slow) {
+                viewer.key.interestOps(ops);
+            }
+        }
+    }
+
+    private static long findThread(ThreadMXBean threads, String name) {
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && name.equals(info.getThreadName())) {
+                return info.getThreadId();
+            }
+        }
+        throw new IllegalStateException("No thread named " + name);
+    }
+
+    // One spectator connection and the state it has decoded
+    private static class Viewer {
+        final SocketChannel channel;
+        final boolean slow;
+        final ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+        final SpectatorState state = new SpectatorState();
+        SelectionKey key;
+        long messages;
+        long bytes;
+        long checked;
+        long mismatches;
+
+        Viewer(SocketChannel channel, boolean slow) {
+            this.channel = channel;
+            this.slow = slow;
+        }
+
+        // Reads and applies every complete message, comparing a sample of the decoded states with the truth
+        void read() throws IOException {
+            int read = channel.read(buffer);
+            if (read <= 0) {
+                return;
+            }
+            bytes += read;
+            buffer.flip();
+            while (buffer.remaining() >= 4 && buffer.remaining() >= 4 + buffer.getInt(buffer.position())) {
+                int length = buffer.getInt();
+                ByteBuffer message = buffer.slice();
+                message.limit(length);
+                buffer.position(buffer.position() + length);
+                messages++;
+                if (state.apply(message) && messages % CHECK_EVERY == 0) {
+                    byte[] expected = truth.get(state.tick);
+                    if (expected != null) {
+                        checked++;
+                        if (!Arrays.equals(expected, state.encode(null))) {
+                            mismatches++;
+                        }
+                    }
+                }
+            }
+            buffer.compact();
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: SpectatorServer streams one match to any number of local
+* spectators from a single NIO selector thread. Each tick the simulation thread
+* encodes a delta and a keyframe (SpectatorState) and hands them over through a
+* lock-free ring. The server sends deltas to spectators that are in sync and a
+* keyframe to new ones and to any that fell out of sync. Every spectator has a
+* bounded send queue: one that reads too slowly has its backlog discarded and is
+* brought back with the next keyframe, so it never holds up the others.
+* Start it with -Dduel.spectatorPort=<port>; it only listens on the loopback address.
+*/
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SpectatorServer implements Runnable {
+    // Every spectator also gets a keyframe this often, in case it missed a delta
+    private static final int KEYFRAME_INTERVAL = GamePanel.TICKS_PER_SECOND;
+    // Bytes a spectator may have waiting before its backlog is discarded
+    private static final int MAX_QUEUED_BYTES = 4096;
+    private static final int SEND_BUFFER_BYTES = 4096;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private volatile boolean running = true;
+    // Simulation thread side
+    private SpectatorState current = new SpectatorState();
+    private SpectatorState previous = new SpectatorState();
+    private boolean havePrevious = false;
+    // Ticks handed from the simulation thread to the server thread
+    private final Update[] updates = new Update[256];
+    private final AtomicLong head = new AtomicLong(0);
+    private final AtomicLong tail = new AtomicLong(0);
+    private volatile long droppedUpdates = 0;
+    // Server thread side
+    private final ArrayList<Spectator> spectators = new ArrayList<>();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(64 * 1024);
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(1024);
+    private volatile int spectatorCount = 0;
+    private volatile long resyncs = 0;
+    private volatile long bytesSent = 0;
+
+    // Returns a started server on -Dduel.spectatorPort, or null if spectating is off
+    public static SpectatorServer fromSystemProperty() {
+        String port = System.getProperty("duel.spectatorPort");
+        if (port == null) {
+            return null;
+        }
+        try {
+            SpectatorServer server = new SpectatorServer(Integer.parseInt(port));
+            server.start();
+            return server;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Error starting spectator server: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Opens the listening socket on the loopback address (port 0 picks a free port)
+    public SpectatorServer(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this, "Spectator server");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    // Stops the server and disconnects every spectator
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getSpectatorCount() {
+        return spectatorCount;
+    }
+
+    // Times a spectator's backlog was discarded and it had to wait for a keyframe
+    public long getResyncs() {
+        return resyncs;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    // Ticks the server thread could not keep up with (everyone gets a keyframe afterwards)
+    public long getDroppedUpdates() {
+        return droppedUpdates;
+    }
+
+    // Encodes the state after a tick and queues it for broadcast (simulation thread only)
+    public void publish(Match match) {
+        current.capture(match);
+        Update update = new Update(current.tick, current.encode(havePrevious ? previous : null),
+            current.encode(null), current.tick % KEYFRAME_INTERVAL == 0);
+        SpectatorState swap = previous;
+        previous = current;
+        current = swap;
+        havePrevious = true;
+
+        long h = head.get();
+        if (h - tail.get() >= updates.length) {
+            // The next delta would not follow anything the server sent, so force a keyframe
+            droppedUpdates++;
+            havePrevious = false;
+            return;
+        }
+        updates[(int) (h % updates.length)] = update;
+        head.lazySet(h + 1);
+        selector.wakeup();
+    }
+
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Spectator spectator = (Spectator) key.attachment();
+                        if (key.isReadable()) {
+                            read(spectator);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(spectator);
+                        }
+                    }
+                }
+                broadcastUpdates();
+            }
+        } catch (IOException e) {
+            System.err.println("Spectator server stopped: " + e.getMessage());
+        } finally {
+            for (Spectator spectator : spectators) {
+                closeQuietly(spectator.channel);
+            }
+            closeQuietly(serverChannel);
+            closeQuietly(selector);
+        }
+    }
+
+    // Accepts every pending connection; new spectators wait for a keyframe
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, SEND_BUFFER_BYTES);
+            Spectator spectator = new Spectator(channel);
+            spectator.key = channel.register(selector, SelectionKey.OP_READ, spectator);
+            spectators.add(spectator);
+        }
+        spectatorCount = spectators.size();
+    }
+
+    // Spectators send nothing; reading only notices when they disconnect
+    private void read(Spectator spectator) {
+        try {
+            readBuffer.clear();
+            if (spectator.channel.read(readBuffer) < 0) {
+                disconnect(spectator);
+            }
+        } catch (IOException e) {
+            disconnect(spectator);
+        }
+    }
+
+    // Queues every update handed over since the last pass, then writes to every spectator that can take it
+    private void broadcastUpdates() {
+        long t = tail.get();
+        long h = head.get();
+        if (t == h) {
+            return;
+        }
+        for (; t < h; t++) {
+            int index = (int) (t % updates.length);
+            Update update = updates[index];
+            updates[index] = null;
+            for (int i = 0; i < spectators.size(); i++) {
+                queue(spectators.get(i), update);
+            }
+        }
+        tail.lazySet(h);
+        for (int i = 0; i < spectators.size(); i++) {
+            Spectator spectator = spectators.get(i);
+            if (!spectator.waitingToWrite && !spectator.queue.isEmpty()) {
+                flush(spectator);
+            }
+        }
+        removeDisconnected();
+    }
+
+    // Adds one tick to a spectator's queue: a delta if it is in sync, otherwise a keyframe
+    private void queue(Spectator spectator, Update update) {
+        byte[] message;
+        if (spectator.inSync && !update.periodicKeyframe && update.tick == spectator.lastTick + 1) {
+            message = update.delta;
+        } else {
+            message = update.keyframe;
+        }
+        if (spectator.queuedBytes + message.length > MAX_QUEUED_BYTES) {
+            // Too slow: discard everything not yet started and resend a keyframe once it catches up
+            spectator.discardBacklog();
+            spectator.inSync = false;
+            resyncs++;
+            return;
+        }
+        spectator.queue.add(message);
+        spectator.queuedBytes += message.length;
+        spectator.inSync = true;
+        spectator.lastTick = update.tick;
+    }
+
+    // Writes as much of a spectator's queue as the socket takes, and waits for OP_WRITE if it is full
+    private void flush(Spectator spectator) {
+        writeBuffer.clear();
+        int offset = spectator.headOffset;
+        for (byte[] message : spectator.queue) {
+            int length = Math.min(message.length - offset, writeBuffer.remaining());
+            writeBuffer.put(message, offset, length);
+            offset = 0;
+            if (!writeBuffer.hasRemaining()) {
+                break;
+            }
+        }
+        writeBuffer.flip();
+        int written;
+        try {
+            written = spectator.channel.write(writeBuffer);
+        } catch (IOException e) {
+            disconnect(spectator);
+            return;
+        }
+        bytesSent += written;
+        spectator.consume(written);
+
+        boolean pending = !spectator.queue.isEmpty();
+        if (pending != spectator.waitingToWrite) {
+            spectator.waitingToWrite = pending;
+            spectator.key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    private void disconnect(Spectator spectator) {
+        spectator.closed = true;
+        spectator.key.cancel();
+        closeQuietly(spectator.channel);
+    }
+
+    private void removeDisconnected() {
+        if (spectators.removeIf(spectator -> spectator.closed)) {
+            spectatorCount = spectators.size();
+        }
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    // One tick's messages, shared by every spectator
+    private static class Update {
+        final long tick;
+        final byte[] delta;
+        final byte[] keyframe;
+        final boolean periodicKeyframe;
+
+        Update(long tick, byte[] delta, byte[] keyframe, boolean periodicKeyframe) {
+            this.tick = tick;
+            this.delta = delta;
+            this.keyframe = keyframe;
+            this.periodicKeyframe = periodicKeyframe;
+        }
+    }
+
+    // A connected spectator and its send queue (server thread only)
+    private static class Spectator {
+        final SocketChannel channel;
+        SelectionKey key;
+        final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+        int headOffset; // Bytes of the first queued message already written
+        int queuedBytes;
+        boolean inSync;
+        long lastTick = -1;
+        boolean waitingToWrite;
+        boolean closed;
+
+        Spectator(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Removes written bytes from the front of the queue
+        void consume(int written) {
+            queuedBytes -= written;
+            written += headOffset;
+            while (written > 0 && written >= queue.peekFirst().length) {
+                written -= queue.pollFirst().length;
+            }
+            headOffset = written;
+        }
+
+        // Drops every queued message except one that is partly written, which must be finished
+        void discardBacklog() {
+            if (headOffset > 0) {
+                byte[] started = queue.pollFirst();
+                queue.clear();
+                queue.add(started);
+                queuedBytes = started.length - headOffset;
+            } else {
+                queue.clear();
+                queuedBytes = 0;
+            }
+        }
+    }
+}
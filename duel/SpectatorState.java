@@ -0,0 +1,297 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: SpectatorState is the part of a match that spectators need
+* (player positions and flags, bullets, obstacles, powerups and score), with
+* the binary encoding the SpectatorServer broadcasts. A message is either a
+* keyframe holding everything, or a delta against the previous tick holding only
+* the sections that changed. Bullets are left out of a delta when every bullet
+* simply moved by its velocity, which the receiver repeats itself.
+* Message layout (big-endian): int length of the rest, byte kind, long tick,
+* byte section mask, then each section in mask order.
+*/
+
+import java.awt.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SpectatorState {
+    public static final byte KEYFRAME = 1;
+    public static final byte DELTA = 2;
+    // Section bits
+    private static final int PLAYERS = 1;
+    private static final int SCORE = 2;
+    private static final int BULLETS = 4;
+    private static final int OBSTACLES = 8;
+    private static final int POWERUPS = 16;
+    private static final int ALL = PLAYERS | SCORE | BULLETS | OBSTACLES | POWERUPS;
+    // Player flag bits
+    public static final int HAS_GUN = 1;
+    public static final int FROZEN = 2;
+    // Bullet flag bits
+    public static final int FROM_LEFT = 1;
+    public static final int FREEZE_EFFECT = 2;
+    // Powerup types, by image name
+    private static final String[] POWERUP_TYPES = {"Bomb.png", "Freeze.png", "BigBullet.png"};
+
+    public long tick = -1;
+    public final int[] playerY = new int[2];
+    public final int[] playerFlags = new int[2];
+    public int leftScore;
+    public int rightScore;
+    public int bulletCount;
+    public int[] bulletId = new int[8];
+    public int[] bulletX = new int[8];
+    public int[] bulletY = new int[8];
+    public int[] bulletVx = new int[8];
+    public int[] bulletVy = new int[8];
+    public int[] bulletSize = new int[8];
+    public int[] bulletFlags = new int[8];
+    public int obstacleCount;
+    public int[] obstacleX = new int[8];
+    public int[] obstacleY = new int[8];
+    public int powerupCount;
+    public int[] powerupX = new int[8];
+    public int[] powerupY = new int[8];
+    public int[] powerupType = new int[8];
+    private ByteBuffer scratch = ByteBuffer.allocate(2048);
+
+    // Copies the spectator-visible state of a match (simulation thread only)
+    public void capture(Match match) {
+        tick = match.getTickCount();
+        capturePlayer(0, match.getPlayerLeft());
+        capturePlayer(1, match.getPlayerRight());
+        leftScore = match.getScore().getLeftPlayerScore();
+        rightScore = match.getScore().getRightPlayerScore();
+
+        ArrayList<Bullet> projectiles = match.getProjectiles();
+        bulletCount = 0;
+        ensureBullets(projectiles.size());
+        for (int i = 0; i < projectiles.size(); i++) {
+            Bullet bullet = projectiles.get(i);
+            bulletId[i] = bullet.getId();
+            bulletX[i] = bullet.x;
+            bulletY[i] = bullet.y;
+            bulletVx[i] = bullet.getxVelocity();
+            bulletVy[i] = bullet.getyVelocity();
+            bulletSize[i] = bullet.width;
+            bulletFlags[i] = (bullet.isFromLeftPlayer() ? FROM_LEFT : 0) | (bullet.hasFreezeEffect() ? FREEZE_EFFECT : 0);
+            bulletCount++;
+        }
+
+        ArrayList<Point> obstacles = match.getObstacle().getObstaclePositions();
+        ensureObstacles(obstacles.size());
+        obstacleCount = obstacles.size();
+        for (int i = 0; i < obstacleCount; i++) {
+            obstacleX[i] = obstacles.get(i).x;
+            obstacleY[i] = obstacles.get(i).y;
+        }
+
+        Powerup powerup = match.getPowerup();
+        ArrayList<Point> powerups = powerup.getPowerupPositions();
+        ensurePowerups(powerups.size());
+        powerupCount = powerups.size();
+        for (int i = 0; i < powerupCount; i++) {
+            Point position = powerups.get(i);
+            powerupX[i] = position.x;
+            powerupY[i] = position.y;
+            powerupType[i] = typeIndex(powerup.getPowerupType(position));
+        }
+    }
+
+    private void capturePlayer(int index, Player player) {
+        playerY[index] = player.y;
+        playerFlags[index] = (player.hasGun() ? HAS_GUN : 0) | (player.isFrozen() ? FROZEN : 0);
+    }
+
+    private static int typeIndex(String type) {
+        for (int i = 0; i < POWERUP_TYPES.length; i++) {
+            if (POWERUP_TYPES[i].equals(type)) {
+                return i;
+            }
+        }
+        return POWERUP_TYPES.length;
+    }
+
+    // Encodes this state as a keyframe (previous == null) or as a delta from the previous tick's state
+    public byte[] encode(SpectatorState previous) {
+        int mask = previous == null ? ALL : changedSections(previous);
+        ByteBuffer out = scratch;
+        out.clear();
+        out.putInt(0); // Length, filled in below
+        out.put(previous == null ? KEYFRAME : DELTA);
+        out.putLong(tick);
+        out.put((byte) mask);
+        if ((mask & PLAYERS) != 0) {
+            for (int i = 0; i < 2; i++) {
+                out.putShort((short) playerY[i]);
+                out.put((byte) playerFlags[i]);
+            }
+        }
+        if ((mask & SCORE) != 0) {
+            out.putShort((short) leftScore);
+            out.putShort((short) rightScore);
+        }
+        if ((mask & BULLETS) != 0) {
+            out.put((byte) bulletCount);
+            for (int i = 0; i < bulletCount; i++) {
+                out.putInt(bulletId[i]);
+                out.putShort((short) bulletX[i]);
+                out.putShort((short) bulletY[i]);
+                out.put((byte) bulletVx[i]);
+                out.put((byte) bulletVy[i]);
+                out.putShort((short) bulletSize[i]);
+                out.put((byte) bulletFlags[i]);
+            }
+        }
+        if ((mask & OBSTACLES) != 0) {
+            out.put((byte) obstacleCount);
+            for (int i = 0; i < obstacleCount; i++) {
+                out.putShort((short) obstacleX[i]);
+                out.putShort((short) obstacleY[i]);
+            }
+        }
+        if ((mask & POWERUPS) != 0) {
+            out.put((byte) powerupCount);
+            for (int i = 0; i < powerupCount; i++) {
+                out.putShort((short) powerupX[i]);
+                out.putShort((short) powerupY[i]);
+                out.put((byte) powerupType[i]);
+            }
+        }
+        out.putInt(0, out.position() - 4);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    // Returns the sections that differ from what a receiver holding previous would predict
+    private int changedSections(SpectatorState previous) {
+        int mask = 0;
+        if (playerY[0] != previous.playerY[0] || playerY[1] != previous.playerY[1]
+                || playerFlags[0] != previous.playerFlags[0] || playerFlags[1] != previous.playerFlags[1]) {
+            mask |= PLAYERS;
+        }
+        if (leftScore != previous.leftScore || rightScore != previous.rightScore) {
+            mask |= SCORE;
+        }
+        if (!bulletsFollowVelocity(previous)) {
+            mask |= BULLETS;
+        }
+        if (obstacleCount != previous.obstacleCount
+                || !Arrays.equals(obstacleX, 0, obstacleCount, previous.obstacleX, 0, obstacleCount)
+                || !Arrays.equals(obstacleY, 0, obstacleCount, previous.obstacleY, 0, obstacleCount)) {
+            mask |= OBSTACLES;
+        }
+        if (powerupCount != previous.powerupCount
+                || !Arrays.equals(powerupX, 0, powerupCount, previous.powerupX, 0, powerupCount)
+                || !Arrays.equals(powerupY, 0, powerupCount, previous.powerupY, 0, powerupCount)
+                || !Arrays.equals(powerupType, 0, powerupCount, previous.powerupType, 0, powerupCount)) {
+            mask |= POWERUPS;
+        }
+        return mask;
+    }
+
+    // True if the bullets are the same as last tick, each moved by exactly its velocity
+    private boolean bulletsFollowVelocity(SpectatorState previous) {
+        if (bulletCount != previous.bulletCount) {
+            return false;
+        }
+        for (int i = 0; i < bulletCount; i++) {
+            if (bulletId[i] != previous.bulletId[i] || bulletVx[i] != previous.bulletVx[i]
+                    || bulletVy[i] != previous.bulletVy[i] || bulletSize[i] != previous.bulletSize[i]
+                    || bulletFlags[i] != previous.bulletFlags[i]
+                    || bulletX[i] != previous.bulletX[i] + previous.bulletVx[i]
+                    || bulletY[i] != previous.bulletY[i] + previous.bulletVy[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Applies one message (without its length prefix) on the receiving side.
+    // Returns false if it is a delta that does not follow this state's tick, so a keyframe is needed.
+    public boolean apply(ByteBuffer message) {
+        byte kind = message.get();
+        long messageTick = message.getLong();
+        if (kind != KEYFRAME && (tick < 0 || messageTick != tick + 1)) {
+            return false;
+        }
+        int mask = message.get();
+        tick = messageTick;
+        if ((mask & PLAYERS) != 0) {
+            for (int i = 0; i < 2; i++) {
+                playerY[i] = message.getShort();
+                playerFlags[i] = message.get();
+            }
+        }
+        if ((mask & SCORE) != 0) {
+            leftScore = message.getShort();
+            rightScore = message.getShort();
+        }
+        if ((mask & BULLETS) != 0) {
+            bulletCount = message.get();
+            ensureBullets(bulletCount);
+            for (int i = 0; i < bulletCount; i++) {
+                bulletId[i] = message.getInt();
+                bulletX[i] = message.getShort();
+                bulletY[i] = message.getShort();
+                bulletVx[i] = message.get();
+                bulletVy[i] = message.get();
+                bulletSize[i] = message.getShort();
+                bulletFlags[i] = message.get();
+            }
+        } else {
+            // Unchanged bullets kept moving in a straight line
+            for (int i = 0; i < bulletCount; i++) {
+                bulletX[i] += bulletVx[i];
+                bulletY[i] += bulletVy[i];
+            }
+        }
+        if ((mask & OBSTACLES) != 0) {
+            obstacleCount = message.get();
+            ensureObstacles(obstacleCount);
+            for (int i = 0; i < obstacleCount; i++) {
+                obstacleX[i] = message.getShort();
+                obstacleY[i] = message.getShort();
+            }
+        }
+        if ((mask & POWERUPS) != 0) {
+            powerupCount = message.get();
+            ensurePowerups(powerupCount);
+            for (int i = 0; i < powerupCount; i++) {
+                powerupX[i] = message.getShort();
+                powerupY[i] = message.getShort();
+                powerupType[i] = message.get();
+            }
+        }
+        return true;
+    }
+
+    private void ensureBullets(int count) {
+        if (count > bulletId.length) {
+            int capacity = Math.max(count, bulletId.length * 2);
+            bulletId = Arrays.copyOf(bulletId, capacity);
+            bulletX = Arrays.copyOf(bulletX, capacity);
+            bulletY = Arrays.copyOf(bulletY, capacity);
+            bulletVx = Arrays.copyOf(bulletVx, capacity);
+            bulletVy = Arrays.copyOf(bulletVy, capacity);
+            bulletSize = Arrays.copyOf(bulletSize, capacity);
+            bulletFlags = Arrays.copyOf(bulletFlags, capacity);
+        }
+    }
+
+    private void ensureObstacles(int count) {
+        if (count > obstacleX.length) {
+            obstacleX = Arrays.copyOf(obstacleX, count);
+            obstacleY = Arrays.copyOf(obstacleY, count);
+        }
+    }
+
+    private void ensurePowerups(int count) {
+        if (count > powerupX.length) {
+            powerupX = Arrays.copyOf(powerupX, count);
+            powerupY = Arrays.copyOf(powerupY, count);
+            powerupType = Arrays.copyOf(powerupType, count);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: Sprites turns decoded PNGs into the images the game draws:
+* copied once into the pixel layout of the screen (so Java2D can keep them in
+* video memory and blit them without converting) and resized once to the
+* exact size they are drawn at, so drawing one is a plain unscaled copy.
+* Large reductions are done in halving steps with bilinear filtering, which
+* keeps thin outlines that a single nearest-neighbour shrink would drop.
+* An image with no transparent pixels becomes opaque, which is the fastest
+* kind to draw. Without a screen (headless tools) the layout is premultiplied
+* ARGB, or RGB for opaque images.
+*/
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+
+public final class Sprites {
+    private Sprites() {
+    }
+
+    // A copy of an image at its own size, in the screen's layout
+    public static BufferedImage prepare(BufferedImage source) {
+        return prepare(source, source.getWidth(), source.getHeight());
+    }
+
+    // A copy of an image resized to width x height, in the screen's layout
+    public static BufferedImage prepare(BufferedImage source, int width, int height) {
+        int transparency = isOpaque(source) ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+        BufferedImage current = source;
+        // Halve while more than twice the target size, then one last bilinear step
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2,
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        BufferedImage result = createImage(width, height, transparency);
+        Graphics2D g = result.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(current, 0, 0, width, height, null);
+        g.dispose();
+        return result;
+    }
+
+    // An empty image in the screen's layout
+    public static BufferedImage createImage(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+            return configuration.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+            transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height, int type) {
+        BufferedImage result = new BufferedImage(width, height, type);
+        Graphics2D g = result.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return result;
+    }
+
+    // True if every pixel is fully opaque
+    private static boolean isOpaque(BufferedImage image) {
+        Raster alpha = image.getAlphaRaster();
+        if (alpha == null) {
+            return image.getColorModel().getTransparency() == Transparency.OPAQUE; // Indexed images have no alpha raster
+        }
+        ColorModel model = image.getColorModel();
+        int opaque = (1 << model.getComponentSize(model.getNumComponents() - 1)) - 1;
+        int width = image.getWidth();
+        int[] row = new int[width];
+        for (int y = 0; y < image.getHeight(); y++) {
+            alpha.getSamples(0, y, width, 1, 0, row);
+            for (int x = 0; x < width; x++) {
+                if (row[x] != opaque) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
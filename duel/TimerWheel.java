@@ -0,0 +1,235 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: TimerWheel is the tick-driven timer service for the game
+* (regeneration, freeze, shoot pauses and spawn invincibility). It is a
+* three-level hierarchical timing wheel: scheduling, cancelling and advancing
+* are O(1), and a timer costs nothing on the ticks before it is due. Timers
+* only run while the simulation ticks, so they stop while the game is paused.
+* All methods must be called from the simulation thread.
+*/
+
+import java.util.ArrayList;
+
+public class TimerWheel {
+    // Level 0 has one slot per tick, each higher level covers a whole turn of the level below
+    private static final int[] LEVEL_BITS = {8, 6, 6};
+    private static final int[] LEVEL_SHIFT = {0, 8, 14};
+    private static final long MAX_DELAY = (1L << 20) - 1;
+    private final Timer[][] slots;
+    private long currentTick = 0;
+    private int pendingCount = 0;
+
+    public TimerWheel() {
+        slots = new Timer[LEVEL_BITS.length][];
+        for (int level = 0; level < LEVEL_BITS.length; level++) {
+            slots[level] = new Timer[1 << LEVEL_BITS[level]];
+        }
+    }
+
+    // Converts a duration in milliseconds to a whole number of simulation ticks
+    public static long millisToTicks(long millis) {
+        return (millis * GamePanel.TICKS_PER_SECOND + 999) / 1000;
+    }
+
+    // Returns the number of ticks advanced so far
+    public long now() {
+        return currentTick;
+    }
+
+    // Creates and schedules a one-off timer that runs the action after delayTicks ticks
+    public Timer schedule(long delayTicks, Runnable action) {
+        Timer timer = new Timer(action);
+        schedule(timer, delayTicks);
+        return timer;
+    }
+
+    // (Re)schedules a timer to expire after delayTicks ticks (at least one)
+    public void schedule(Timer timer, long delayTicks) {
+        cancel(timer);
+        timer.deadline = currentTick + Math.max(1, delayTicks);
+        insert(timer);
+        pendingCount++;
+    }
+
+    // Cancels a pending timer; does nothing if it is null or not pending
+    public void cancel(Timer timer) {
+        if (timer == null || timer.level < 0) {
+            return;
+        }
+        Timer[] levelSlots = slots[timer.level];
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            levelSlots[timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.level = -1;
+        pendingCount--;
+    }
+
+    // Returns how many timers are currently scheduled
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    // Returns the ticks left until a timer runs, or 0 if it is not pending
+    public long remainingTicks(Timer timer) {
+        return timer.isPending() ? timer.deadline - currentTick : 0;
+    }
+
+    // Adds every pending timer in wheel order (by level, then slot, then position in the slot).
+    // Putting them back in this order with restore() makes timers due on the same tick run in the same order.
+    public void getPendingTimers(ArrayList<Timer> into) {
+        for (int level = 0; level < LEVEL_BITS.length; level++) {
+            for (Timer head : slots[level]) {
+                for (Timer timer = head; timer != null; timer = timer.next) {
+                    into.add(timer);
+                }
+            }
+        }
+    }
+
+    // Drops every pending timer and sets the current tick (used when loading a saved match)
+    public void reset(long tick) {
+        for (Timer[] levelSlots : slots) {
+            for (int slot = 0; slot < levelSlots.length; slot++) {
+                Timer timer = levelSlots[slot];
+                levelSlots[slot] = null;
+                while (timer != null) {
+                    Timer next = timer.next;
+                    timer.previous = null;
+                    timer.next = null;
+                    timer.level = -1;
+                    timer = next;
+                }
+            }
+        }
+        currentTick = tick;
+        pendingCount = 0;
+    }
+
+    // Returns true if a level and slot exist on this wheel (for checking saved timers)
+    public boolean isValidPlace(int level, int slot) {
+        return level >= 0 && level < LEVEL_BITS.length && slot >= 0 && slot < slots[level].length;
+    }
+
+    // Puts a saved timer back exactly where it was: at the end of the given slot with its deadline
+    public void restore(Timer timer, int level, int slot, long deadline) {
+        cancel(timer);
+        timer.deadline = deadline;
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = null;
+        Timer last = slots[level][slot];
+        if (last == null) {
+            timer.previous = null;
+            slots[level][slot] = timer;
+        } else {
+            while (last.next != null) {
+                last = last.next;
+            }
+            last.next = timer;
+            timer.previous = last;
+        }
+        pendingCount++;
+    }
+
+    // Moves time forward by one tick and runs every timer that is now due
+    public void advance() {
+        currentTick++;
+        // Entering a new turn of a lower level pulls the matching slot down from the level above
+        for (int level = 1; level < LEVEL_BITS.length; level++) {
+            if ((currentTick & ((1L << LEVEL_SHIFT[level]) - 1)) != 0) {
+                break;
+            }
+            cascade(level, slotIndex(level, currentTick));
+        }
+
+        // Take timers off the head one at a time, so an action may safely cancel or schedule others
+        int slot = slotIndex(0, currentTick);
+        Timer timer;
+        while ((timer = slots[0][slot]) != null) {
+            cancel(timer);
+            timer.run();
+        }
+    }
+
+    // Re-files every timer in one slot of a higher level into the levels below
+    private void cascade(int level, int slot) {
+        Timer timer = slots[level][slot];
+        slots[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+            timer.level = -1;
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    // Files a timer into the lowest level whose range covers its deadline
+    private void insert(Timer timer) {
+        long delay = Math.min(timer.deadline - currentTick, MAX_DELAY);
+        int level = 0;
+        while (level < LEVEL_BITS.length - 1 && delay >= (1L << LEVEL_SHIFT[level + 1])) {
+            level++;
+        }
+        long target = level == 0 ? timer.deadline : currentTick + delay;
+        int slot = slotIndex(level, target);
+        timer.level = level;
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = slots[level][slot];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        slots[level][slot] = timer;
+    }
+
+    private static int slotIndex(int level, long tick) {
+        return (int) ((tick >>> LEVEL_SHIFT[level]) & ((1 << LEVEL_BITS[level]) - 1));
+    }
+
+    // A schedulable action; timers can be kept and rescheduled without allocating
+    public static class Timer {
+        private final Runnable action;
+        private long deadline;
+        private int level = -1;
+        private int slot;
+        private Timer previous;
+        private Timer next;
+
+        public Timer(Runnable action) {
+            this.action = action;
+        }
+
+        // Returns true while the timer is scheduled and has not yet run
+        public boolean isPending() {
+            return level >= 0;
+        }
+
+        // Returns the tick this timer is (or was last) due on
+        public long getDeadline() {
+            return deadline;
+        }
+
+        // Wheel level and slot of a pending timer (for saving)
+        public int getLevel() {
+            return level;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        private void run() {
+            action.run();
+        }
+    }
+}
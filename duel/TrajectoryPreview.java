@@ -0,0 +1,235 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 18, 2026
+* Description: TrajectoryPreview draws the path one player's bullet would take
+* if it were fired now, for aim training. The path is worked out tick by tick
+* with a scratch Bullet, so it bounces off the top margin and the bottom edge
+* exactly like a real one and off obstacles with the same reflection as
+* a real bounce in Match (each obstacle once, since a bounce breaks it). It ends
+* where the bullet would leave the screen or cross a powerup, which is marked,
+* because what happens after that depends on the powerup. Players are not
+* obstacles to the preview, and it passes through freshly spawned, still
+* invincible obstacles and powerups just as bullets do.
+* The path only depends on the player's position and on the obstacles and
+* powerups in the snapshot, including which are invincible, so it is cached
+* per cell of the player's height: a player sweeping up and down works out
+* each cell's path once, and every cached path is dropped only when that
+* layout changes (an invincibility ending is a change).
+*/
+
+import java.awt.*;
+import java.util.Arrays;
+
+public class TrajectoryPreview {
+    // Players move 5 pixels a tick, so a cell is one tick of movement
+    private static final int CELL = 5;
+    // Longest path worked out, in ticks of bullet movement
+    private static final int MAX_TICKS = 300;
+    private static final int MARK_SIZE = 6; // Dots at every bounce
+    private final boolean isLeftPlayer;
+    private final int index; // Player index in a FrameState
+    private final Color color;
+    // Cached paths by cell; a path is current if it was worked out for the current layout
+    private final Path[] paths = new Path[GamePanel.GAME_HEIGHT / CELL + 1];
+    private int layoutVersion = 0;
+    // The layout the cached paths were worked out from
+    private int cachedPlayerX = Integer.MIN_VALUE;
+    private Image cachedObstacleImage;
+    private int cachedObstacleCount = -1;
+    private int[] cachedObstacleX = new int[8];
+    private int[] cachedObstacleY = new int[8];
+    private boolean[] cachedObstacleInvincible = new boolean[8];
+    private int cachedPowerupCount = -1;
+    private int[] cachedPowerupX = new int[8];
+    private int[] cachedPowerupY = new int[8];
+    private boolean[] cachedPowerupInvincible = new boolean[8];
+    private boolean[] bounced = new boolean[8]; // Obstacles already broken by the path
+    private long recomputeCount = 0;
+
+    public TrajectoryPreview(boolean isLeftPlayer, Color color) {
+        this.isLeftPlayer = isLeftPlayer;
+        this.index = isLeftPlayer ? 0 : 1;
+        this.color = color;
+    }
+
+    // Draws the path from a snapshot, working it out again only if the cache is stale
+    public void draw(Graphics g, FrameState frame, Player player, Obstacle obstacle,
+                     int bulletWidth, int bulletHeight) {
+        if (frame.capturedNanos == 0 || !frame.playerHasGun[index]) {
+            return;
+        }
+        if (!isSameLayout(frame, obstacle)) {
+            remember(frame, obstacle);
+            layoutVersion++;
+        }
+        int cell = Math.min(paths.length - 1, Math.max(0, frame.playerY[index] / CELL));
+        Path path = paths[cell];
+        if (path == null) {
+            path = paths[cell] = new Path();
+        }
+        if (path.version != layoutVersion) {
+            compute(path, frame, player, obstacle, bulletWidth, bulletHeight);
+        }
+
+        // A thin solid line: wide or dashed strokes cost tens of times more to draw
+        g.setColor(color);
+        g.drawPolyline(path.x, path.y, path.pointCount);
+        for (int i = 1; i < path.pointCount - 1; i++) {
+            g.fillOval(path.x[i] - MARK_SIZE / 2, path.y[i] - MARK_SIZE / 2, MARK_SIZE, MARK_SIZE);
+        }
+        if (path.endsAtPowerup) {
+            g.drawOval(path.powerupCenterX - path.powerupRadius, path.powerupCenterY - path.powerupRadius,
+                path.powerupRadius * 2, path.powerupRadius * 2);
+        }
+    }
+
+    // Number of paths worked out so far (cache misses)
+    public long getRecomputeCount() {
+        return recomputeCount;
+    }
+
+    // True if the cached paths were worked out for this obstacle and powerup layout
+    private boolean isSameLayout(FrameState frame, Obstacle obstacle) {
+        if (frame.playerX[index] != cachedPlayerX
+                || obstacle.getImage() != cachedObstacleImage
+                || frame.obstacleCount != cachedObstacleCount || frame.powerupCount != cachedPowerupCount) {
+            return false;
+        }
+        for (int i = 0; i < frame.obstacleCount; i++) {
+            if (frame.obstacleX[i] != cachedObstacleX[i] || frame.obstacleY[i] != cachedObstacleY[i]
+                    || frame.obstacleInvincible[i] != cachedObstacleInvincible[i]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < frame.powerupCount; i++) {
+            if (frame.powerupX[i] != cachedPowerupX[i] || frame.powerupY[i] != cachedPowerupY[i]
+                    || frame.powerupInvincible[i] != cachedPowerupInvincible[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Remembers the layout the next paths are worked out from
+    private void remember(FrameState frame, Obstacle obstacle) {
+        cachedPlayerX = frame.playerX[index];
+        cachedObstacleImage = obstacle.getImage();
+        cachedObstacleCount = frame.obstacleCount;
+        if (cachedObstacleX.length < frame.obstacleCount) {
+            cachedObstacleX = new int[frame.obstacleX.length];
+            cachedObstacleY = new int[frame.obstacleX.length];
+            cachedObstacleInvincible = new boolean[frame.obstacleX.length];
+            bounced = new boolean[frame.obstacleX.length];
+        }
+        System.arraycopy(frame.obstacleX, 0, cachedObstacleX, 0, frame.obstacleCount);
+        System.arraycopy(frame.obstacleY, 0, cachedObstacleY, 0, frame.obstacleCount);
+        System.arraycopy(frame.obstacleInvincible, 0, cachedObstacleInvincible, 0, frame.obstacleCount);
+        cachedPowerupCount = frame.powerupCount;
+        if (cachedPowerupX.length < frame.powerupCount) {
+            cachedPowerupX = new int[frame.powerupX.length];
+            cachedPowerupY = new int[frame.powerupX.length];
+            cachedPowerupInvincible = new boolean[frame.powerupX.length];
+        }
+        System.arraycopy(frame.powerupX, 0, cachedPowerupX, 0, frame.powerupCount);
+        System.arraycopy(frame.powerupY, 0, cachedPowerupY, 0, frame.powerupCount);
+        System.arraycopy(frame.powerupInvincible, 0, cachedPowerupInvincible, 0, frame.powerupCount);
+    }
+
+    // Moves a scratch bullet from the muzzle until it leaves the screen, crosses a powerup or runs out of ticks
+    private void compute(Path path, FrameState frame, Player player, Obstacle obstacle,
+                         int bulletWidth, int bulletHeight) {
+        recomputeCount++;
+        path.version = layoutVersion;
+        path.pointCount = 0;
+        path.endsAtPowerup = false;
+
+        // Fired from the same place Match fires it
+        int playerX = frame.playerX[index];
+        int playerY = frame.playerY[index];
+        Bullet bullet = new Bullet(isLeftPlayer ? playerX + player.width : playerX - bulletWidth,
+            playerY + player.height / 2, bulletWidth, bulletHeight, isLeftPlayer);
+        path.add(bullet);
+
+        Image obstacleImage = obstacle.getImage();
+        int obstacleRadius = obstacle.getCircleRadius();
+        for (int i = 0; i < frame.obstacleCount; i++) {
+            bounced[i] = false;
+        }
+        Point bulletCenter = new Point();
+        Point obstacleCenter = new Point();
+        for (int tick = 0; tick < MAX_TICKS; tick++) {
+            int yVelocity = bullet.getFixedYVelocity();
+            bullet.move();
+            if (bullet.getFixedYVelocity() != yVelocity) {
+                path.add(bullet); // Bounced off the top margin or the bottom edge
+            }
+            if (bullet.isOutOfBounds(GamePanel.GAME_WIDTH)) {
+                break;
+            }
+            int startX = bullet.getPreviousX() + bullet.width / 2;
+            int startY = bullet.getPreviousY() + bullet.height / 2;
+            bulletCenter.setLocation(bullet.x + bullet.width / 2, bullet.y + bullet.height / 2);
+
+            // Powerups are checked before obstacles, as in Match
+            for (int i = 0; i < frame.powerupCount; i++) {
+                Image image = frame.powerupImage[i];
+                if (image == null || frame.powerupInvincible[i]) {
+                    continue;
+                }
+                int width = image.getWidth(null);
+                int height = image.getHeight(null);
+                int centerX = frame.powerupX[i] + width / 4;
+                int centerY = frame.powerupY[i] + height / 4;
+                int radius = (int) (Math.min(width, height) * 0.45);
+                if (FixedPoint.segmentIntersectsCircle(centerX, centerY, radius, startX, startY,
+                        bulletCenter.x, bulletCenter.y)) {
+                    path.endsAtPowerup = true;
+                    path.powerupCenterX = centerX;
+                    path.powerupCenterY = centerY;
+                    path.powerupRadius = radius;
+                    path.add(bullet);
+                    return;
+                }
+            }
+
+            for (int i = 0; i < frame.obstacleCount && obstacleImage != null; i++) {
+                if (bounced[i] || frame.obstacleInvincible[i]) {
+                    continue;
+                }
+                obstacleCenter.setLocation(frame.obstacleX[i] + obstacleImage.getWidth(null) / 2,
+                    frame.obstacleY[i] + obstacleImage.getHeight(null) / 2);
+                if (FixedPoint.segmentIntersectsCircle(obstacleCenter.x, obstacleCenter.y, obstacleRadius,
+                        startX, startY, bulletCenter.x, bulletCenter.y)) {
+                    bullet.reflect(bulletCenter, obstacleCenter);
+                    bounced[i] = true;
+                    path.add(bullet);
+                    break;
+                }
+            }
+        }
+        path.add(bullet);
+    }
+
+    // One cell's path: its first point is the muzzle, then every bounce, then where it ends
+    private static class Path {
+        int version = -1;
+        int[] x = new int[16];
+        int[] y = new int[16];
+        int pointCount;
+        boolean endsAtPowerup;
+        int powerupCenterX;
+        int powerupCenterY;
+        int powerupRadius;
+
+        // Adds the bullet's center to the path
+        void add(Bullet bullet) {
+            if (pointCount == x.length) {
+                x = Arrays.copyOf(x, x.length * 2);
+                y = Arrays.copyOf(y, y.length * 2);
+            }
+            x[pointCount] = bullet.x + bullet.width / 2;
+            y[pointCount] = bullet.y + bullet.height / 2;
+            pointCount++;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+* Swapnil Kabir and Syed Bazif Shah
+* Date: October 19, 2026
+* Description: Ui is the small immediate-mode toolkit the menus are drawn with.
+* There are no components: each frame a screen draws its labels and calls
+* button(), which draws the button and returns true if it was clicked or
+* activated from the keyboard since the last frame. Mouse and key events come
+* from the panel's listeners and are kept until the next frame; listeners and
+* painting both run on the Swing thread, so nothing here is synchronized.
+* Text is rendered once into Labels, so drawing a menu creates no fonts or
+* strings. A menu over a game that is not moving (paused or finished) draws a
+* dimmed copy of the last game frame, made once, instead of the game.
+* Keys: Up and Down move the keyboard focus, Enter or Space press the focused
+* button.
+*/
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+
+public class Ui {
+    private static final Color BUTTON_FACE = new Color(238, 238, 238);
+    private static final Color BUTTON_HOVER = new Color(250, 250, 250);
+    private static final Color BUTTON_PRESSED = new Color(200, 205, 215);
+    private static final Color BUTTON_BORDER = new Color(122, 138, 153);
+    private static final Color BUTTON_FOCUS = new Color(99, 130, 191);
+    private static final Color DIM = new Color(0, 0, 0, 150);
+    private static final int MAX_EVENTS = 16;
+    // Mouse state and the clicks since the last frame (a click is a press and release)
+    private int mouseX = -1;
+    private int mouseY = -1;
+    private boolean mouseDown = false;
+    private int pressX;
+    private int pressY;
+    private final int[] clickPressX = new int[MAX_EVENTS];
+    private final int[] clickPressY = new int[MAX_EVENTS];
+    private final int[] clickReleaseX = new int[MAX_EVENTS];
+    private final int[] clickReleaseY = new int[MAX_EVENTS];
+    private int clickCount = 0;
+    // Keys pressed since the last frame
+    private final int[] keys = new int[MAX_EVENTS];
+    private int keyCount = 0;
+    // Keyboard focus, as the index of a button in drawing order (-1 for none)
+    private int focused = -1;
+    private int buttonIndex = 0;
+    private int lastButtonCount = 0;
+    private boolean activateFocused = false;
+    // Dimmed copy of the last game frame, shown under menus while the game is still
+    private BufferedImage backdrop;
+    private boolean hasBackdrop = false;
+
+    // Records a mouse move or drag
+    public void mouseMoved(int x, int y) {
+        mouseX = x;
+        mouseY = y;
+    }
+
+    // Records a mouse press
+    public void mousePressed(int x, int y) {
+        mouseMoved(x, y);
+        mouseDown = true;
+        pressX = x;
+        pressY = y;
+    }
+
+    // Records a mouse release, which with the press before it makes a click
+    public void mouseReleased(int x, int y) {
+        mouseMoved(x, y);
+        if (mouseDown && clickCount < MAX_EVENTS) {
+            clickPressX[clickCount] = pressX;
+            clickPressY[clickCount] = pressY;
+            clickReleaseX[clickCount] = x;
+            clickReleaseY[clickCount] = y;
+            clickCount++;
+        }
+        mouseDown = false;
+    }
+
+    // Records that the mouse left the panel
+    public void mouseExited() {
+        mouseX = -1;
+        mouseY = -1;
+    }
+
+    // Records a key press for the next frame
+    public void keyPressed(int keyCode) {
+        if (keyCount < MAX_EVENTS) {
+            keys[keyCount++] = keyCode;
+        }
+    }
+
+    // Applies the focus keys pressed since the last frame; call before drawing any screen
+    public void beginFrame() {
+        for (int i = 0; i < keyCount; i++) {
+            switch (keys[i]) {
+                case KeyEvent.VK_DOWN:
+                    focused = lastButtonCount == 0 ? -1 : (focused + 1) % lastButtonCount;
+                    break;
+                case KeyEvent.VK_UP:
+                    focused = lastButtonCount == 0 ? -1 : (focused <= 0 ? lastButtonCount : focused) - 1;
+                    break;
+                case KeyEvent.VK_ENTER:
+                case KeyEvent.VK_SPACE:
+                    activateFocused = focused >= 0;
+                    break;
+                default:
+                    break;
+            }
+        }
+        buttonIndex = 0;
+    }
+
+    // Drops this frame's input; call after every screen has been drawn
+    public void endFrame() {
+        lastButtonCount = buttonIndex;
+        if (focused >= lastButtonCount) {
+            focused = -1; // The screen changed
+        }
+        clickCount = 0;
+        keyCount = 0;
+        activateFocused = false;
+    }
+
+    // True if a key was pressed since the last frame
+    public boolean wasKeyPressed(int keyCode) {
+        for (int i = 0; i < keyCount; i++) {
+            if (keys[i] == keyCode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Draws a button and returns true if it was clicked or activated from the keyboard since the last frame
+    public boolean button(Graphics g, Label label, int x, int y, int width, int height) {
+        int index = buttonIndex++;
+        boolean clicked = index == focused && activateFocused;
+        for (int i = 0; i < clickCount && !clicked; i++) {
+            clicked = contains(x, y, width, height, clickPressX[i], clickPressY[i])
+                && contains(x, y, width, height, clickReleaseX[i], clickReleaseY[i]);
+        }
+        boolean hovered = contains(x, y, width, height, mouseX, mouseY);
+
+        if (hovered && mouseDown && contains(x, y, width, height, pressX, pressY)) {
+            g.setColor(BUTTON_PRESSED);
+        } else {
+            g.setColor(hovered ? BUTTON_HOVER : BUTTON_FACE);
+        }
+        g.fillRect(x, y, width, height);
+        g.setColor(BUTTON_BORDER);
+        g.drawRect(x, y, width - 1, height - 1);
+        if (index == focused) {
+            g.setColor(BUTTON_FOCUS);
+            g.drawRect(x + 3, y + 3, width - 7, height - 7);
+        }
+        label.draw(g, x + (width - label.width) / 2, y + (height - label.height) / 2);
+        return clicked;
+    }
+
+    // Draws an image as a button and returns true if it was clicked since the last frame
+    public boolean imageButton(Graphics g, Image image, int x, int y, int width, int height) {
+        if (image != null) {
+            g.drawImage(image, x, y, null);
+        }
+        for (int i = 0; i < clickCount; i++) {
+            if (contains(x, y, width, height, clickPressX[i], clickPressY[i])
+                    && contains(x, y, width, height, clickReleaseX[i], clickReleaseY[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int x, int y, int width, int height, int pointX, int pointY) {
+        return pointX >= x && pointY >= y && pointX < x + width && pointY < y + height;
+    }
+
+    // True if a dimmed game frame is ready to be drawn under a menu
+    public boolean hasBackdrop() {
+        return hasBackdrop;
+    }
+
+    // Keeps a dimmed copy of a game frame to draw under menus until clearBackdrop()
+    public void captureBackdrop(Image frame) {
+        int width = frame.getWidth(null);
+        int height = frame.getHeight(null);
+        if (backdrop == null || backdrop.getWidth() != width || backdrop.getHeight() != height) {
+            backdrop = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+        Graphics g = backdrop.getGraphics();
+        g.drawImage(frame, 0, 0, null);
+        g.setColor(DIM);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        hasBackdrop = true;
+    }
+
+    // Draws the backdrop stretched over width x height, whatever size the frame it came from was
+    public void drawBackdrop(Graphics g, int width, int height) {
+        g.drawImage(backdrop, 0, 0, width, height, null);
+    }
+
+    // Forgets the backdrop once the game moves again (the image is kept for reuse)
+    public void clearBackdrop() {
+        hasBackdrop = false;
+    }
+
+    // A piece of text rendered once into a translucent image
+    public static class Label {
+        private static final Graphics2D metricsGraphics =
+            new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE).createGraphics();
+        private final BufferedImage image;
+        public final int width;
+        public final int height;
+        public final int ascent;
+
+        public Label(String text, Font font, Color color) {
+            FontMetrics metrics = metrics(font);
+            width = Math.max(1, metrics.stringWidth(text));
+            height = metrics.getAscent() + metrics.getDescent();
+            ascent = metrics.getAscent();
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = image.createGraphics();
+            g.setFont(font);
+            g.setColor(color);
+            g.drawString(text, 0, ascent);
+            g.dispose();
+        }
+
+        // Font metrics for laying out text before it is made into labels
+        public static synchronized FontMetrics metrics(Font font) {
+            return metricsGraphics.getFontMetrics(font);
+        }
+
+        // Draws the label with its top-left corner at (x, y)
+        public void draw(Graphics g, int x, int y) {
+            g.drawImage(image, x, y, null);
+        }
+
+        // Draws the label centred on centerX with its baseline at y
+        public void drawCentered(Graphics g, int centerX, int baseline) {
+            g.drawImage(image, centerX - width / 2, baseline - ascent, null);
+        }
+    }
+}
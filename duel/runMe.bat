@@ -3,11 +3,51 @@ javac SoundManager.java
 javac PauseMenu.java
 javac EndScreen.java
 javac Score.java
+javac TimerWheel.java
 javac Player.java
 javac Bullet.java
 javac Obstacle.java
 javac Powerup.java
 javac Menu.java
+javac GameEvent.java
+javac GameEventHandler.java
+javac GameEventQueue.java
+javac EventDispatcher.java
+javac MatchStats.java
+javac InputQueue.java
+javac LatencyHistogram.java
+javac LatencyTracer.java
+javac FrameState.java
+javac FrameExchange.java
+javac RenderThread.java
+javac GameRandom.java
+javac Match.java
+javac SoakTest.java
+javac SoftwareRenderer.java
+javac RenderBenchmark.java
+javac FrameRecorder.java
+javac SpectatorState.java
+javac SpectatorServer.java
+javac SpectatorLoadTest.java
+javac MatchSave.java
+javac SaveResumeTest.java
+javac ProjectileBudgetTest.java
+javac MatchHistory.java
+javac HeatmapTool.java
+javac TrajectoryPreview.java
+javac AssetCache.java
+javac ParticleSystem.java
+javac FixedPoint.java
+javac ReplayCheck.java
+javac Hud.java
+javac Ui.java
+javac MatchHost.java
+javac FlightEvents.java
+javac DuelEnv.java
+javac CircleBatch.java
+javac CollisionBenchmark.java
+javac RenderScale.java
+javac Sprites.java
 javac GamePanel.java
 javac GameFrame.java
 javac Main.java